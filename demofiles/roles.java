@@ -0,0 +1,36 @@
+package roles.java;
+
+// Input for checking the roles IdentifierIndex gives identifiers. Each line
+// says the roles its identifiers should get. To see them, index the file with
+//   java batch.CommandLine --index roles.idx demofiles/roles.java
+// and look up a name with
+//   java parser.IdentifierIndex roles.idx name
+
+public class roles { // roles: DECLARATION
+
+    private List<String> fields = new ArrayList<String>(); // List, String, ArrayList: TYPE; fields: DECLARATION
+    int count, total = 0; // count, total: DECLARATION
+
+    public String first(List<String> names, int index) { // String, List: TYPE; first, names, index: DECLARATION
+        List<String> copy = new ArrayList<String>(); // List, String, ArrayList: TYPE; copy: DECLARATION
+        String name = names.get(index); // String: TYPE; name: DECLARATION; names, index: REFERENCE; get: CALL
+        String last; // String: TYPE; last: DECLARATION
+        String a, b = name; // String: TYPE; a, b: DECLARATION; name: REFERENCE
+        String[] parts = name.split(","); // String: TYPE; parts: DECLARATION; split: CALL
+        Map.Entry<String, Integer> entry = null; // Map, Entry, String, Integer: TYPE; entry: DECLARATION
+        int length = 0; // length: DECLARATION
+
+        for (String part : parts) { // String: TYPE; part: DECLARATION; parts: REFERENCE
+            length = length + part.length(); // length, part: REFERENCE; length: CALL
+        }
+
+        for (Integer i = 0; i < count; i++) { // Integer: TYPE; i: DECLARATION; i, count: REFERENCE
+            copy.add(name); // copy, name: REFERENCE; add: CALL
+        }
+
+        parts[0] = name; // parts, name: REFERENCE
+        last = name; // last, name: REFERENCE
+        return last;
+    } // end first
+
+} // end class
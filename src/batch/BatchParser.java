@@ -0,0 +1,429 @@
+/**
+ * Parses a batch of Java files on a work stealing ForkJoin pool. Every worker
+ * thread gets one Parser from a ParserPool, which it resets for each file it
+ * parses, and the results are collected into a BatchReport. Files can also be
+ * read ahead by separate reader threads, so that slow reads do not leave the
+ * parser threads waiting, results can be kept between runs in a ParseCache,
+ * the identifiers of the files can be recorded in an IdentifierIndex, and a
+ * Bloom filter of the identifiers of each file can be kept in a FilterStore.
+ *
+ * Usage: java batch.BatchParser <file or directory>...
+ */
+
+package batch;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+import parser.IdentifierIndex;
+import parser.Parser;
+import parser.ParserPool;
+import parser.RuleProfile;
+import types.InvalidInputException;
+
+public class BatchParser {
+
+	private final int parallelism;
+	private boolean trace; // true to keep the output of the parser of every file
+	private int readThreads; // threads that read files ahead of the parsers, 0 for none
+	private ParseCache cache; // null unless results are cached
+	private IdentifierIndex index; // null unless identifiers are indexed
+	private FilterStore filters; // null unless filters are kept
+	private RuleProfile profile = RuleProfile.getDefault(); // null unless rules are profiled
+
+	/**
+	 * Constructor for a pool with a thread per processor
+	 */
+	public BatchParser() {
+		this(Runtime.getRuntime().availableProcessors());
+	} // end constructor
+
+	/**
+	 * Constructor for a pool with a given number of threads
+	 * @param parallelism Number of threads
+	 */
+	public BatchParser(int parallelism) {
+		if (parallelism < 1) throw new IllegalArgumentException("parallelism must be at least 1");
+		this.parallelism = parallelism;
+	} // end constructor
+
+	/**
+	 * Enables or disables keeping the output of the parser in every FileResult
+	 * @param enabled True to keep the output
+	 */
+	public void setTraceMode(boolean enabled) {
+		trace = enabled;
+	} // end setTraceMode()
+
+	/**
+	 * Sets the cache to take the results of files from, and to add the
+	 * results of files that are parsed to. The cache is not used in trace
+	 * mode, because it does not keep the output of the parser.
+	 *
+	 * @param cache The cache, or null to parse every file
+	 */
+	public void setCache(ParseCache cache) {
+		this.cache = cache;
+	} // end setCache()
+
+	/**
+	 * Sets the index to record the identifiers of the files in. Files that
+	 * are already indexed with the same content are not parsed again if the
+	 * cache has them, and files that do not parse are removed from the index.
+	 *
+	 * @param index The index, or null to not index identifiers
+	 */
+	public void setIdentifierIndex(IdentifierIndex index) {
+		this.index = index;
+	} // end setIdentifierIndex()
+
+	/**
+	 * Sets the store to keep a Bloom filter of the identifiers of every file
+	 * in. Filters are only made again for files that changed since theirs was.
+	 *
+	 * @param filters The store, or null to not keep filters
+	 */
+	public void setFilters(FilterStore filters) {
+		this.filters = filters;
+	} // end setFilters()
+
+	/**
+	 * Sets the profile the parsers add the counts of their rules to
+	 * @param profile The profile, or null to not profile
+	 */
+	public void setProfile(RuleProfile profile) {
+		this.profile = profile;
+	} // end setProfile()
+
+	/**
+	 * Sets the number of threads that read files ahead of the parser threads,
+	 * for file systems where reading a file takes longer than parsing it. No
+	 * more than this many files are open at once, and only a few more are
+	 * kept in memory waiting to be parsed. With 0, the default, every parser
+	 * thread reads its own files.
+	 *
+	 * @param threads Number of reader threads
+	 */
+	public void setReadThreads(int threads) {
+		if (threads < 0) throw new IllegalArgumentException("read threads must not be negative");
+		readThreads = threads;
+	} // end setReadThreads()
+
+	public static void main(String[] args) throws IOException {
+		if (args.length == 0) {
+			System.err.println("Usage: java batch.BatchParser <file or directory>...");
+			System.exit(2);
+		} // end if
+
+		List<Path> roots = new ArrayList<Path>();
+		for (String arg : args) roots.add(Paths.get(arg));
+
+		BatchReport report = new BatchParser().parse(findJavaFiles(roots));
+		report.print(System.out);
+		System.exit(report.getFailedCount() == 0 ? 0 : 1);
+	} // end main()
+
+	/**
+	 * Finds the files to parse: every ".java" file under each directory, in
+	 * name order, and every other path as it is
+	 *
+	 * @param roots Files and directories
+	 * @return The files
+	 * @throws IOException if a directory cannot be read
+	 */
+	public static List<Path> findJavaFiles(List<Path> roots) throws IOException {
+		List<Path> files = new ArrayList<Path>();
+
+		for (Path root : roots) {
+			if (!Files.isDirectory(root)) {
+				files.add(root);
+				continue;
+			} // end if
+
+			List<Path> found = new ArrayList<Path>();
+
+			try (Stream<Path> walk = Files.walk(root)) {
+				walk.filter(path -> path.toString().endsWith(".java") && Files.isRegularFile(path))
+						.forEach(found::add);
+			} // end try
+
+			Collections.sort(found);
+			files.addAll(found);
+		} // end for
+
+		return files;
+	} // end findJavaFiles()
+
+	/**
+	 * Parses files in parallel
+	 *
+	 * @param files Files to parse
+	 * @return The results, in the order of the files
+	 */
+	public BatchReport parse(List<Path> files) {
+		FileResult[] results = new FileResult[files.size()];
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		Run run = new Run(trace, trace ? null : cache, index, filters, profile);
+		long start = System.nanoTime();
+
+		try {
+			if (readThreads > 0) parseReadAhead(files, results, pool, run);
+			else if (!files.isEmpty()) pool.invoke(new Batch(files, results, run, 0, files.size()));
+		} finally {
+			pool.shutdown();
+		} // end try/finally
+
+		return new BatchReport(Arrays.asList(results), System.nanoTime() - start, parallelism);
+	} // end parse()
+
+	// reads files on the reader threads and parses each one on the pool once it is read
+	private void parseReadAhead(List<Path> files, FileResult[] results, ForkJoinPool pool, Run run) {
+		ExecutorService readers = Executors.newFixedThreadPool(readThreads, runnable -> {
+			Thread thread = new Thread(runnable, "BatchParser reader");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		// files that are being read or waiting to be parsed
+		Semaphore loaded = new Semaphore(readThreads + 2 * parallelism);
+		CompletableFuture<?>[] parsed = new CompletableFuture<?>[files.size()];
+
+		try {
+			for (int i = 0; i < files.size(); i++) {
+				Path file = files.get(i);
+				int index = i;
+
+				loaded.acquireUninterruptibly();
+				parsed[i] = CompletableFuture.supplyAsync(() -> new Input(file), readers)
+						.thenAcceptAsync(input -> results[index] = input.parse(run), pool)
+						.whenComplete((ignored, exception) -> loaded.release());
+			} // end for
+
+			CompletableFuture.allOf(parsed).join();
+		} finally {
+			readers.shutdown();
+		} // end try/finally
+	} // end parseReadAhead()
+
+	/**
+	 * Reads and parses one file
+	 *
+	 * @param parser Parser to reset for the file
+	 * @param file File to parse
+	 * @return The result
+	 */
+	public static FileResult parseFile(Parser parser, Path file) {
+		return parseFile(file, (source, attributes, start) -> parseSource(parser, file, source, start));
+	} // end parseFile()
+
+	// reads one file and parses it as the run does
+	private static FileResult parseFile(Run run, Path file) {
+		return parseFile(file, (source, attributes, start) -> run.parse(file, attributes, source, start));
+	} // end parseFile()
+
+	/**
+	 * Makes the result of a file the parser failed on with an exception
+	 * other than a syntax error, which is reported like a file that could not
+	 * be read, so it is not mistaken for a syntax error or cached
+	 *
+	 * @param file The file
+	 * @param e The exception
+	 * @param start System.nanoTime() when reading the file started
+	 * @return The result
+	 */
+	static FileResult internalError(Path file, RuntimeException e, long start) {
+		StackTraceElement[] stack = e.getStackTrace();
+		return new FileResult(file, "ERROR: Internal error: " + e + (stack.length > 0 ? " at " + stack[0] : ""),
+				true, System.nanoTime() - start, 0, null);
+	} // end internalError()
+
+	// reads one file and parses it with a function of its source, attributes and start time
+	private static FileResult parseFile(Path file, SourceParser parse) {
+		long start = System.nanoTime();
+		BasicFileAttributes attributes;
+		String source;
+
+		try {
+			// before the source, so a save while it is read makes the attributes out of date, not the source
+			attributes = Files.readAttributes(file, BasicFileAttributes.class);
+			source = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			return new FileResult(file, "ERROR: Cannot read file: " + e, true, System.nanoTime() - start, 0, null);
+		} // end try/catch
+
+		try {
+			return parse.parse(source, attributes, start);
+		} catch (RuntimeException e) {
+			return internalError(file, e, start);
+		} // end try/catch
+	} // end parseFile()
+
+	/**
+	 * Parses a source that was already read. Syntax errors, and nesting too
+	 * deep for the stack of the thread, make a result that did not parse.
+	 *
+	 * @param parser Parser to reset for the source
+	 * @param name Name of the source in the result
+	 * @param source The source
+	 * @param start System.nanoTime() when reading the source started
+	 * @return The result, with the output of the parser if it is in trace mode
+	 * @throws RuntimeException if the parser fails for another reason, which is a bug
+	 */
+	public static FileResult parseSource(Parser parser, Path name, String source, long start) {
+		String errorMessage = null;
+		boolean tooDeep = false;
+
+		try {
+			parser.reset(source);
+			parser.start();
+		} catch (InvalidInputException e) {
+			errorMessage = e.getMessage().trim();
+		} catch (StackOverflowError e) {
+			// the parser recurses once for each level of nesting
+			errorMessage = "ERROR: Invalid input: nesting too deep";
+			tooDeep = true;
+		} // end try/catch
+
+		long nanos = System.nanoTime() - start;
+		List<String> trace = parser.isTraceMode() ? new ArrayList<String>(parser.getOutputQueue()) : null;
+
+		FileResult result = new FileResult(name, errorMessage, false, nanos, source.length(), trace);
+		return tooDeep ? result.markTooDeep() : result;
+	} // end parseSource()
+
+	// parses a source that was read, given the attributes its file had before it was read
+	private interface SourceParser {
+		FileResult parse(String source, BasicFileAttributes attributes, long start);
+	} // end SourceParser
+
+	// what the tasks of one call to parse() share
+	private static class Run {
+
+		private final ParserPool parsers;
+		private final ParseCache cache;
+		private final IdentifierIndex index;
+		private final FilterStore filters;
+
+		Run(boolean trace, ParseCache cache, IdentifierIndex index, FilterStore filters, RuleProfile profile) {
+			this.cache = cache;
+			this.index = index;
+			this.filters = filters;
+			parsers = new ParserPool(() -> {
+				Parser parser = new Parser("");
+				parser.setTraceMode(trace);
+				parser.setTreeMode(index != null);
+				parser.setProfile(profile);
+				return parser;
+			});
+		} // end constructor
+
+		// parses a source on the parser of the thread, with the cache, and indexes and filters it if it changed
+		FileResult parse(Path file, BasicFileAttributes attributes, String source, long start) {
+			Parser parser = parsers.get();
+			boolean indexed = index == null || index.isIndexed(file, source);
+			FileResult result = cache != null && indexed ? cache.parse(parser, file, source, start)
+					: parseSource(parser, file, source, start);
+
+			if (!indexed) {
+				if (result.passed()) index.update(file, source, parser);
+				else index.remove(file);
+			} // end if
+
+			if (filters != null && !filters.isCurrent(file, attributes)) {
+				try {
+					filters.write(file, attributes, source);
+				} catch (IOException e) {
+					// without its sidecar, the file is opened by every search
+				} // end try/catch
+			} // end if
+
+			return result;
+		} // end parse()
+
+	} // end Run
+
+	// a file read by a reader thread, waiting to be parsed
+	private static class Input {
+
+		private final Path file;
+		private final long readNanos;
+		private BasicFileAttributes attributes;
+		private String source;
+		private String errorMessage;
+
+		Input(Path file) {
+			long start = System.nanoTime();
+			this.file = file;
+
+			try {
+				attributes = Files.readAttributes(file, BasicFileAttributes.class);
+				source = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+			} catch (IOException e) {
+				errorMessage = "ERROR: Cannot read file: " + e;
+			} // end try/catch
+
+			readNanos = System.nanoTime() - start;
+		} // end constructor
+
+		// parses the file, counting the time it was read in but not the time it waited
+		FileResult parse(Run run) {
+			if (source == null) return new FileResult(file, errorMessage, true, readNanos, 0, null);
+
+			long start = System.nanoTime() - readNanos;
+
+			try {
+				return run.parse(file, attributes, source, start);
+			} catch (RuntimeException e) {
+				return internalError(file, e, start);
+			} // end try/catch
+		} // end parse()
+
+	} // end Input
+
+	// task that parses a range of files, splitting it until it has a single file
+	@SuppressWarnings("serial")
+	private static class Batch extends RecursiveAction {
+
+		private final List<Path> files;
+		private final FileResult[] results;
+		private final Run run;
+		private final int start;
+		private final int end;
+
+		Batch(List<Path> files, FileResult[] results, Run run, int start, int end) {
+			this.files = files;
+			this.results = results;
+			this.run = run;
+			this.start = start;
+			this.end = end;
+		} // end constructor
+
+		@Override
+		protected void compute() {
+			if (end - start > 1) {
+				int middle = (start + end) >>> 1;
+				invokeAll(new Batch(files, results, run, start, middle), new Batch(files, results, run, middle, end));
+				return;
+			} // end if
+
+			results[start] = parseFile(run, files.get(start));
+		} // end compute()
+
+	} // end Batch
+
+} // end BatchParser
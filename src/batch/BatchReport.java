@@ -0,0 +1,87 @@
+/**
+ * Results of parsing a batch of files, in the order the files were given
+ */
+
+package batch;
+
+import java.io.PrintStream;
+import java.util.Collections;
+import java.util.List;
+
+public class BatchReport {
+
+	private final List<FileResult> results;
+	private final long wallNanos; // time for the whole batch
+	private final int threads;
+	private int passed;
+	private int cached; // files whose result was taken from a ParseCache
+	private long parseNanos; // time of all files added together
+	private long characters;
+
+	BatchReport(List<FileResult> results, long wallNanos, int threads) {
+		this.results = results;
+		this.wallNanos = wallNanos;
+		this.threads = threads;
+
+		for (FileResult result : results) {
+			if (result.passed()) passed++;
+			if (result.isCached()) cached++;
+			parseNanos += result.getNanos();
+			characters += result.getLength();
+		} // end for
+	} // end constructor
+
+	public List<FileResult> getResults() {
+		return Collections.unmodifiableList(results);
+	}
+
+	public int getFileCount() {
+		return results.size();
+	}
+
+	public int getPassedCount() {
+		return passed;
+	}
+
+	public int getFailedCount() {
+		return results.size() - passed;
+	}
+
+	public int getCachedCount() {
+		return cached;
+	}
+
+	public long getWallNanos() {
+		return wallNanos;
+	}
+
+	public long getParseNanos() {
+		return parseNanos;
+	}
+
+	/**
+	 * Prints every failed file with its error message, then a summary
+	 * @param out Stream to print to
+	 */
+	public void print(PrintStream out) {
+		for (FileResult result : results) {
+			if (!result.passed()) out.println(result);
+		} // end for
+
+		out.println(summary());
+	} // end print()
+
+	/**
+	 * Gets a one line summary of the batch
+	 * @return The summary
+	 */
+	public String summary() {
+		double seconds = wallNanos / 1e9;
+
+		return String.format("%d files, %d passed, %d failed, %d characters in %.3f s on %d threads"
+				+ " (%.0f files/s, %.3f s parsing%s)", results.size(), passed, results.size() - passed,
+				characters, seconds, threads, seconds > 0 ? results.size() / seconds : 0.0, parseNanos / 1e9,
+				cached > 0 ? ", " + cached + " cached" : "");
+	} // end summary()
+
+} // end BatchReport
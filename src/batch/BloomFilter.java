@@ -0,0 +1,108 @@
+/**
+ * Bloom filter of the identifiers of a file, which answers whether the file
+ * might contain an identifier. It never misses an identifier that was added,
+ * and wrongly answers yes for about the false positive rate it was sized for.
+ */
+
+package batch;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import parser.Fnv;
+
+public class BloomFilter {
+
+	private final long[] bits;
+	private final int hashes; // bits set for each identifier
+
+	/**
+	 * Constructor for a filter sized for a number of identifiers
+	 *
+	 * @param identifiers Number of distinct identifiers to be added
+	 * @param falsePositiveRate Rate of wrong answers, such as 0.01
+	 * @param maxBytes Largest size of the filter, which raises the rate if it is reached
+	 */
+	public BloomFilter(int identifiers, double falsePositiveRate, int maxBytes) {
+		int n = Math.max(identifiers, 1);
+		double bitCount = -n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+		int words = (int) Math.max(1, Math.min(Math.ceil(bitCount / 64), Math.max(1, maxBytes / 8)));
+
+		bits = new long[words];
+		hashes = (int) Math.max(1, Math.min(16, Math.round(words * 64.0 / n * Math.log(2))));
+	} // end constructor
+
+	// constructor for a filter that was read
+	private BloomFilter(long[] bits, int hashes) {
+		this.bits = bits;
+		this.hashes = hashes;
+	} // end constructor
+
+	public void add(String identifier) {
+		long hash = hash(identifier);
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32) | 1;
+		long size = bits.length * 64L;
+
+		for (int i = 0; i < hashes; i++) {
+			long bit = Integer.toUnsignedLong(h1 + i * h2) % size;
+			bits[(int) (bit >>> 6)] |= 1L << bit;
+		} // end for
+	} // end add()
+
+	/**
+	 * Checks if an identifier might have been added
+	 * @param identifier The identifier
+	 * @return False if it was certainly not added
+	 */
+	public boolean mightContain(String identifier) {
+		long hash = hash(identifier);
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32) | 1;
+		long size = bits.length * 64L;
+
+		for (int i = 0; i < hashes; i++) {
+			long bit = Integer.toUnsignedLong(h1 + i * h2) % size;
+			if ((bits[(int) (bit >>> 6)] & 1L << bit) == 0) return false;
+		} // end for
+
+		return true;
+	} // end mightContain()
+
+	void write(DataOutputStream out) throws IOException {
+		out.writeByte(hashes);
+		out.writeInt(bits.length);
+		for (long word : bits) out.writeLong(word);
+	} // end write()
+
+	/**
+	 * Reads a filter written by write()
+	 *
+	 * @param in Stream to read from
+	 * @param maxWords Most words of bits the stream can have
+	 * @return The filter
+	 * @throws IOException if it cannot be read, or its counts are not those of a filter
+	 */
+	static BloomFilter read(DataInputStream in, long maxWords) throws IOException {
+		int hashes = in.readByte();
+		int words = in.readInt();
+
+		if (hashes < 1 || hashes > 16 || words < 1 || words > maxWords) {
+			throw new IOException("Damaged filter of " + hashes + " hashes and " + words + " words");
+		} // end if
+
+		long[] bits = new long[words];
+		for (int i = 0; i < bits.length; i++) bits[i] = in.readLong();
+		return new BloomFilter(bits, hashes);
+	} // end read()
+
+	// FNV-1a hash of an identifier, mixed so both halves are usable
+	private static long hash(String identifier) {
+		long hash = Fnv.hash(identifier);
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		return hash ^ hash >>> 33;
+	} // end hash()
+
+} // end BloomFilter
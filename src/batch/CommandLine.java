@@ -0,0 +1,462 @@
+/**
+ * Command line syntax checker, which never loads the Swing classes of the
+ * ParserWindow, so it starts quickly and runs without a display.
+ *
+ * Usage: java batch.CommandLine [options] [file | directory | -]...
+ *
+ *   --format text|json|ndjson  how results are printed (default text)
+ *   --trace                    include the output of the parser
+ *   --threads n                number of threads for files (default one per processor)
+ *   --read-threads n           number of threads reading files ahead of the parsers,
+ *                              for slow file systems (default 0, parsers read their own)
+ *   --cache file               keep results in a file between runs, and only parse
+ *                              files whose content changed
+ *   --index file               record the identifiers of the files in an index,
+ *                              searched with java parser.IdentifierIndex
+ *   --filters directory        keep a Bloom filter of the identifiers of each file,
+ *                              searched with java batch.FilterStore
+ *   --filter-rate p            false positive rate of new filters (default 0.01)
+ *   --filter-bytes n           largest size of a new filter, past which files with many
+ *                              identifiers get a higher rate (default 4096)
+ *   --watch                    keep running, and parse files again when they change
+ *   --profile n                count the entries and tokens of every rule, time 1 in n
+ *                              entries (0 for none), and print the counts to the
+ *                              standard error at the end; the counts are also an
+ *                              MXBean named parser:type=RuleProfile,name=batch
+ *   --profile-dump seconds     also print the counts every so many seconds
+ *
+ * Directories are searched for ".java" files, and "-" or no inputs reads the
+ * standard input. Exits with 0 if every input parsed, 1 if any had a syntax
+ * error, and 2 for bad arguments or inputs that could not be read. With
+ * --watch, the files and directories are checked again on every change, and
+ * only the changed files are printed, followed by a summary of all of them,
+ * until the process is stopped.
+ */
+
+package batch;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import parser.IdentifierIndex;
+import parser.Parser;
+import parser.RuleProfile;
+
+public class CommandLine {
+
+	public static final int EXIT_PASSED = 0;
+	public static final int EXIT_FAILED = 1;
+	public static final int EXIT_ERROR = 2;
+
+	private static final String USAGE = "Usage: java batch.CommandLine [--format text|json|ndjson] [--trace]"
+			+ " [--threads n] [--read-threads n]"
+			+ " [--cache file] [--index file] [--filters directory] [--filter-rate p]"
+			+ " [--filter-bytes n]"
+			+ " [--watch] [--profile n] [--profile-dump seconds] [file | directory | -]...";
+
+	private static final Path STANDARD_INPUT = Paths.get("-");
+
+	public static void main(String[] args) {
+		System.exit(run(args, System.in, System.out, System.err));
+	} // end main()
+
+	/**
+	 * Checks the inputs named by the arguments and prints the results
+	 *
+	 * @param args Command line arguments
+	 * @param in Standard input
+	 * @param out Stream for results
+	 * @param err Stream for usage errors
+	 * @return The exit code
+	 */
+	public static int run(String[] args, InputStream in, PrintStream out, PrintStream err) {
+		String format = "text";
+		boolean trace = false;
+		boolean watch = false;
+		int threads = Runtime.getRuntime().availableProcessors();
+		int readThreads = 0;
+		Path cacheFile = null;
+		Path indexFile = null;
+		Path filterDirectory = null;
+		double filterRate = FilterStore.DEFAULT_FALSE_POSITIVE_RATE;
+		int filterBytes = FilterStore.DEFAULT_MAX_BYTES;
+		int sampleInterval = -1; // -1 unless rules are profiled
+		long dumpSeconds = 0;
+		List<Path> inputs = new ArrayList<Path>();
+
+		// read the options
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+
+			case "--format":
+				if (++i == args.length || !args[i].matches("text|json|ndjson")) return usage(err);
+				format = args[i];
+				break;
+
+			case "--trace":
+				trace = true;
+				break;
+
+			case "--threads":
+				try {
+					threads = Integer.parseInt(args[++i]);
+				} catch (RuntimeException e) {
+					return usage(err);
+				} // end try/catch
+				if (threads < 1) return usage(err);
+				break;
+
+			case "--read-threads":
+				try {
+					readThreads = Integer.parseInt(args[++i]);
+				} catch (RuntimeException e) {
+					return usage(err);
+				} // end try/catch
+				if (readThreads < 0) return usage(err);
+				break;
+
+			case "--cache":
+				if (++i == args.length) return usage(err);
+				cacheFile = Paths.get(args[i]);
+				break;
+
+			case "--index":
+				if (++i == args.length) return usage(err);
+				indexFile = Paths.get(args[i]);
+				break;
+
+			case "--filters":
+				if (++i == args.length) return usage(err);
+				filterDirectory = Paths.get(args[i]);
+				break;
+
+			case "--filter-rate":
+				try {
+					filterRate = Double.parseDouble(args[++i]);
+				} catch (RuntimeException e) {
+					return usage(err);
+				} // end try/catch
+				if (!(filterRate > 0 && filterRate < 1)) return usage(err);
+				break;
+
+			case "--filter-bytes":
+				try {
+					filterBytes = Integer.parseInt(args[++i]);
+				} catch (RuntimeException e) {
+					return usage(err);
+				} // end try/catch
+				if (filterBytes < 8) return usage(err);
+				break;
+
+			case "--watch":
+				watch = true;
+				break;
+
+			case "--profile":
+				try {
+					sampleInterval = Integer.parseInt(args[++i]);
+				} catch (RuntimeException e) {
+					return usage(err);
+				} // end try/catch
+				if (sampleInterval < 0) return usage(err);
+				break;
+
+			case "--profile-dump":
+				try {
+					dumpSeconds = Long.parseLong(args[++i]);
+				} catch (RuntimeException e) {
+					return usage(err);
+				} // end try/catch
+				if (dumpSeconds < 1) return usage(err);
+				break;
+
+			case "--help":
+				out.println(USAGE);
+				return EXIT_PASSED;
+
+			default:
+				if (args[i].startsWith("--")) return usage(err);
+				inputs.add(Paths.get(args[i]));
+			} // end switch
+		} // end for
+
+		// watching needs files and a format that can be printed a batch at a time
+		if (watch && (inputs.isEmpty() || inputs.contains(STANDARD_INPUT) || format.equals("json"))) return usage(err);
+		if (inputs.isEmpty()) inputs.add(STANDARD_INPUT);
+
+		// check the files, then the standard input
+		List<FileResult> results = new ArrayList<FileResult>();
+		List<Path> files = new ArrayList<Path>();
+		boolean standardInput = inputs.remove(STANDARD_INPUT);
+		long start = System.nanoTime();
+
+		try {
+			files = BatchParser.findJavaFiles(inputs);
+		} catch (IOException e) {
+			err.println("ERROR: Cannot read directory: " + e);
+			return EXIT_ERROR;
+		} // end try/catch
+
+		BatchParser batch = new BatchParser(threads);
+		batch.setTraceMode(trace);
+		batch.setReadThreads(readThreads);
+		ParseCache cache = null;
+
+		if (cacheFile != null) {
+			try {
+				cache = new ParseCache(cacheFile, ParseCache.DEFAULT_MAX_BYTES);
+			} catch (IOException e) {
+				err.println("ERROR: Cannot read cache: " + e);
+				return EXIT_ERROR;
+			} // end try/catch
+			batch.setCache(cache);
+		} // end if
+
+		IdentifierIndex index = null;
+
+		if (indexFile != null) {
+			try {
+				index = IdentifierIndex.load(indexFile);
+			} catch (IOException e) {
+				err.println("ERROR: Cannot read index: " + e);
+				return EXIT_ERROR;
+			} // end try/catch
+			batch.setIdentifierIndex(index);
+		} // end if
+
+		if (filterDirectory != null) {
+			batch.setFilters(new FilterStore(filterDirectory, filterRate, filterBytes));
+		} // end if
+
+		RuleProfile profile = null;
+
+		if (sampleInterval >= 0) {
+			profile = new RuleProfile(sampleInterval);
+			profile.register("batch");
+			if (dumpSeconds > 0) profile.startDumps(err, dumpSeconds * 1000);
+			batch.setProfile(profile);
+		} else if (dumpSeconds > 0) {
+			return usage(err);
+		} // end if/else
+
+		if (watch) return watch(batch, inputs, format, trace, cache, index, indexFile, out, err);
+
+		results.addAll(batch.parse(files).getResults());
+		save(cache, index, indexFile, trace, err);
+
+		if (standardInput) results.add(parseStandardInput(in, trace, profile));
+
+		if (profile != null) {
+			profile.close();
+			err.print(profile.dump());
+		} // end if
+
+		BatchReport report = new BatchReport(results, System.nanoTime() - start, threads);
+
+		switch (format) {
+		case "json":
+			printJson(report, out);
+			break;
+		case "ndjson":
+			for (FileResult result : results) out.println(json(result));
+			out.println("{\"summary\":" + json(report) + "}");
+			break;
+		default:
+			printText(report, trace, out);
+		} // end switch
+
+		out.flush();
+
+		for (FileResult result : results) {
+			if (result.isReadError()) return EXIT_ERROR;
+		} // end for
+
+		return report.getFailedCount() == 0 ? EXIT_PASSED : EXIT_FAILED;
+	} // end run()
+
+	// checks the files, and prints the results of the files that change until the process is stopped
+	private static int watch(BatchParser batch, List<Path> roots, String format, boolean trace, ParseCache cache,
+			IdentifierIndex index, Path indexFile, PrintStream out, PrintStream err) {
+		AtomicBoolean first = new AtomicBoolean(true); // the first batch has every file, so only failures are printed
+
+		Watcher.Listener listener = (changed, removed, results) -> {
+			boolean passes = !first.getAndSet(false);
+			BatchReport report = new BatchReport(results, changed.getWallNanos(), 1);
+
+			if (format.equals("ndjson")) {
+				for (FileResult result : changed.getResults()) out.println(json(result));
+				for (Path file : removed) out.println("{\"path\":" + quote(file.toString()) + ",\"removed\":true}");
+				out.println("{\"summary\":" + json(report) + "}");
+			} else {
+				for (FileResult result : changed.getResults()) {
+					if (trace) {
+						out.println("==> " + result.getPath());
+						for (String line : result.getTrace()) out.print(line);
+					} // end if
+
+					if (trace || passes || !result.passed()) out.println(result);
+				} // end for
+
+				for (Path file : removed) out.println("GONE " + file);
+				out.printf("%d files, %d passed, %d failed (%d parsed in %.3f s)%n", report.getFileCount(),
+						report.getPassedCount(), report.getFailedCount(), changed.getFileCount(),
+						changed.getWallNanos() / 1e9);
+			} // end if/else
+
+			out.flush();
+			save(cache, index, indexFile, trace, err);
+		};
+
+		try (Watcher watcher = new Watcher(batch, roots, listener)) {
+			watcher.run();
+		} catch (IOException e) {
+			err.println("ERROR: Cannot watch files: " + e);
+			return EXIT_ERROR;
+		} // end try/catch
+
+		return EXIT_PASSED;
+	} // end watch()
+
+	// saves the cache and index, which only warns if they cannot be written
+	private static void save(ParseCache cache, IdentifierIndex index, Path indexFile, boolean trace, PrintStream err) {
+		if (cache != null && !trace) {
+			try {
+				cache.save();
+			} catch (IOException e) {
+				err.println("WARNING: Cannot save cache: " + e);
+			} // end try/catch
+		} // end if
+
+		if (index != null) {
+			try {
+				index.save(indexFile);
+			} catch (IOException e) {
+				err.println("WARNING: Cannot save index: " + e);
+			} // end try/catch
+		} // end if
+	} // end save()
+
+	// prints the usage and returns the exit code for bad arguments
+	private static int usage(PrintStream err) {
+		err.println(USAGE);
+		return EXIT_ERROR;
+	} // end usage()
+
+	// reads and parses the standard input
+	private static FileResult parseStandardInput(InputStream in, boolean trace, RuleProfile profile) {
+		long start = System.nanoTime();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+
+		try {
+			for (int count = in.read(buffer); count >= 0; count = in.read(buffer)) {
+				bytes.write(buffer, 0, count);
+			} // end for
+		} catch (IOException e) {
+			return new FileResult(STANDARD_INPUT, "ERROR: Cannot read standard input: " + e, true,
+					System.nanoTime() - start, 0, null);
+		} // end try/catch
+
+		Parser parser = new Parser("");
+		parser.setTraceMode(trace);
+		if (profile != null) parser.setProfile(profile);
+
+		try {
+			return BatchParser.parseSource(parser, STANDARD_INPUT,
+					new String(bytes.toByteArray(), StandardCharsets.UTF_8), start);
+		} catch (RuntimeException e) {
+			return BatchParser.internalError(STANDARD_INPUT, e, start);
+		} // end try/catch
+	} // end parseStandardInput()
+
+	// prints the failed inputs, or every trace, then a summary
+	private static void printText(BatchReport report, boolean trace, PrintStream out) {
+		for (FileResult result : report.getResults()) {
+			if (trace) {
+				out.println("==> " + result.getPath());
+				for (String line : result.getTrace()) out.print(line);
+			} // end if
+
+			if (trace || !result.passed()) out.println(result);
+		} // end for
+
+		out.println(report.summary());
+	} // end printText()
+
+	// prints the whole report as one JSON object
+	private static void printJson(BatchReport report, PrintStream out) {
+		out.println("{\"files\":[");
+
+		List<FileResult> results = report.getResults();
+		for (int i = 0; i < results.size(); i++) {
+			out.println(json(results.get(i)) + (i < results.size() - 1 ? "," : ""));
+		} // end for
+
+		out.println("],\"summary\":" + json(report) + "}");
+	} // end printJson()
+
+	// JSON object of the result of an input
+	private static String json(FileResult result) {
+		StringBuilder json = new StringBuilder();
+
+		json.append("{\"path\":").append(quote(result.getPath().toString()));
+		json.append(",\"passed\":").append(result.passed());
+
+		if (!result.passed()) {
+			json.append(",\"error\":{\"line\":").append(result.getErrorLine());
+			json.append(",\"message\":").append(quote(result.getErrorMessage())).append('}');
+		} // end if
+
+		if (result.isCached()) json.append(",\"cached\":true");
+		json.append(",\"millis\":").append(String.format(Locale.ROOT, "%.3f", result.getNanos() / 1e6));
+
+		if (result.getTrace() != null) {
+			json.append(",\"trace\":[");
+			for (int i = 0; i < result.getTrace().size(); i++) {
+				if (i > 0) json.append(',');
+				json.append(quote(result.getTrace().get(i)));
+			} // end for
+			json.append(']');
+		} // end if
+
+		return json.append('}').toString();
+	} // end json()
+
+	// JSON object of the counts and times of a report
+	private static String json(BatchReport report) {
+		return String.format(Locale.ROOT, "{\"files\":%d,\"passed\":%d,\"failed\":%d,\"millis\":%.3f}",
+				report.getFileCount(), report.getPassedCount(), report.getFailedCount(), report.getWallNanos() / 1e6);
+	} // end json()
+
+	// JSON string literal
+	private static String quote(String text) {
+		StringBuilder quoted = new StringBuilder("\"");
+
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+
+			switch (c) {
+			case '"':	quoted.append("\\\""); break;
+			case '\\':	quoted.append("\\\\"); break;
+			case '\n':	quoted.append("\\n"); break;
+			case '\r':	quoted.append("\\r"); break;
+			case '\t':	quoted.append("\\t"); break;
+			default:
+				if (c < 0x20) quoted.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+				else quoted.append(c);
+			} // end switch
+		} // end for
+
+		return quoted.append('"').toString();
+	} // end quote()
+
+} // end CommandLine
@@ -0,0 +1,118 @@
+/**
+ * Result of parsing one file in a batch
+ */
+
+package batch;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class FileResult {
+
+	private static final Pattern ERROR_LINE = Pattern.compile("^ERROR: Line (\\d+):");
+
+	private final Path path;
+	private final String errorMessage; // null if the file parsed
+	private final boolean readError;	// true if the file could not be read
+	private final long nanos;	// time to read and parse the file
+	private final int length;	// characters in the file
+	private final List<String> trace; // parser output, null unless asked for
+	private boolean cached;	// true if the result was taken from a ParseCache
+	private boolean tooDeep;	// true if the nesting was too deep for the stack of the thread
+
+	FileResult(Path path, String errorMessage, boolean readError, long nanos, int length, List<String> trace) {
+		this.path = path;
+		this.errorMessage = errorMessage;
+		this.readError = readError;
+		this.nanos = nanos;
+		this.length = length;
+		this.trace = trace;
+	} // end constructor
+
+	public Path getPath() {
+		return path;
+	}
+
+	public boolean passed() {
+		return errorMessage == null;
+	}
+
+	/**
+	 * Gets the error message of a file that did not parse
+	 * @return The message, such as "ERROR: Line 3: Invalid input: }", or null if the file parsed
+	 */
+	public String getErrorMessage() {
+		return errorMessage;
+	}
+
+	/**
+	 * Gets the line of the error of a file that did not parse
+	 * @return The line number, or 0 if the file parsed or the error has no line
+	 */
+	public int getErrorLine() {
+		if (errorMessage == null) return 0;
+		Matcher matcher = ERROR_LINE.matcher(errorMessage);
+		return matcher.find() ? Integer.parseInt(matcher.group(1)) : 0;
+	}
+
+	/**
+	 * Checks if the file could not be read, as opposed to not parsing
+	 * @return True if reading the file failed
+	 */
+	public boolean isReadError() {
+		return readError;
+	}
+
+	/**
+	 * Gets the output of the parser, up to the error if the file did not parse
+	 * @return The lines of output, or null unless the batch was run in trace mode
+	 */
+	public List<String> getTrace() {
+		return trace;
+	}
+
+	/**
+	 * Checks if the result was taken from a ParseCache instead of parsing the file
+	 * @return True if the file was not parsed
+	 */
+	public boolean isCached() {
+		return cached;
+	}
+
+	// marks the result as taken from a ParseCache
+	FileResult markCached() {
+		cached = true;
+		return this;
+	}
+
+	/**
+	 * Checks if the file did not parse because its nesting was too deep for
+	 * the stack of the thread, which depends on -Xss and not only on the file
+	 * @return True if the parser ran out of stack
+	 */
+	public boolean isTooDeep() {
+		return tooDeep;
+	}
+
+	// marks the result as failed for lack of stack
+	FileResult markTooDeep() {
+		tooDeep = true;
+		return this;
+	}
+
+	public long getNanos() {
+		return nanos;
+	}
+
+	public int getLength() {
+		return length;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s %s%s", passed() ? "PASS" : "FAIL", path, passed() ? "" : ": " + errorMessage);
+	}
+
+} // end FileResult
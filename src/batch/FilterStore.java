@@ -0,0 +1,211 @@
+/**
+ * Directory of Bloom filter sidecars, one for each source file, holding the
+ * identifiers of the file with the size and modification time it had when the
+ * filter was made. A search for an identifier reads only the small sidecars,
+ * and opens just the files whose filter might contain it or whose sidecar is
+ * missing or out of date.
+ *
+ * Usage: java batch.FilterStore <directory> <identifier> <file or directory>...
+ */
+
+package batch;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import parser.Fnv;
+import parser.LexicalAnalyzer;
+import parser.Parser;
+import types.Lexeme;
+import types.Token;
+
+public class FilterStore {
+
+	public static final double DEFAULT_FALSE_POSITIVE_RATE = 0.01;
+	public static final int DEFAULT_MAX_BYTES = 4096;
+
+	private static final int MAGIC = 0x4a424631; // "JBF1"
+
+	private final Path directory;
+	private final double falsePositiveRate;
+	private final int maxBytes;
+
+	/**
+	 * Constructor for a directory of sidecars, which is created when the first one is written
+	 *
+	 * @param directory Directory of the sidecars
+	 * @param falsePositiveRate Rate of files wrongly opened by a search, such as 0.01
+	 * @param maxBytes Largest size of a filter, which raises the rate for files with many identifiers
+	 */
+	public FilterStore(Path directory, double falsePositiveRate, int maxBytes) {
+		if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+			throw new IllegalArgumentException("false positive rate must be between 0 and 1");
+		} // end if
+		if (maxBytes < 8) throw new IllegalArgumentException("filters must have at least 8 bytes");
+
+		this.directory = directory;
+		this.falsePositiveRate = falsePositiveRate;
+		this.maxBytes = maxBytes;
+	} // end constructor
+
+	/**
+	 * Checks if the sidecar of a file was made for a size and modification time
+	 *
+	 * @param file Source file
+	 * @param attributes Attributes of the file, read before its source was
+	 * @return True if the sidecar is up to date
+	 */
+	public boolean isCurrent(Path file, BasicFileAttributes attributes) {
+		try {
+			return read(file, attributes) != null;
+		} catch (IOException e) {
+			return false;
+		} // end try/catch
+	} // end isCurrent()
+
+	/**
+	 * Makes the filter of the identifiers of a source and writes it as the
+	 * sidecar of its file. A source the lexical analyzer cannot read to the
+	 * end gets no sidecar, so searches always open it.
+	 *
+	 * The attributes must be read before the source, so a file saved in
+	 * between gets a sidecar that is out of date, instead of one that is up
+	 * to date with the identifiers of the old source.
+	 *
+	 * @param file Source file
+	 * @param attributes Attributes of the file, whose size and modification time are stored
+	 * @param source Source of the file
+	 * @throws IOException if the sidecar cannot be written
+	 */
+	public void write(Path file, BasicFileAttributes attributes, String source) throws IOException {
+		HashSet<String> identifiers = new HashSet<String>();
+
+		try {
+			LexicalAnalyzer lex = new LexicalAnalyzer(source);
+			for (Lexeme lexeme = lex.nextLexeme(); lexeme != null; lexeme = lex.nextLexeme()) {
+				if (lexeme.getToken() == Token.IDENTIFIER) identifiers.add(lexeme.getLexeme());
+			} // end for
+		} catch (RuntimeException e) {
+			Files.deleteIfExists(sidecar(file));
+			return;
+		} // end try/catch
+
+		BloomFilter filter = new BloomFilter(identifiers.size(), falsePositiveRate, maxBytes);
+		for (String identifier : identifiers) filter.add(identifier);
+
+		// write a new sidecar and move it over the old one, so readers never see half of one
+		Files.createDirectories(directory);
+		Path sidecar = sidecar(file);
+		Path temp = Files.createTempFile(directory, sidecar.getFileName().toString(), ".tmp");
+
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(Parser.VERSION);
+				out.writeUTF(file.toAbsolutePath().toString());
+				out.writeLong(attributes.size());
+				out.writeLong(attributes.lastModifiedTime().toMillis());
+				filter.write(out);
+			} // end try
+
+			Files.move(temp, sidecar, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temp);
+		} // end try/finally
+	} // end write()
+
+	/**
+	 * Finds the files that might contain an identifier, leaving out those
+	 * whose up to date filter does not have it. Files without an up to date
+	 * sidecar are always included.
+	 *
+	 * @param files Source files
+	 * @param identifier Identifier to search for
+	 * @return The files to open, in the order given
+	 */
+	public List<Path> candidates(List<Path> files, String identifier) {
+		List<Path> candidates = new ArrayList<Path>();
+
+		for (Path file : files) {
+			try {
+				BloomFilter filter = read(file, Files.readAttributes(file, BasicFileAttributes.class));
+				if (filter != null && !filter.mightContain(identifier)) continue;
+			} catch (IOException e) {
+				// a damaged sidecar, or a file that is opened, and its own error reported, by whoever searches it
+			} // end try/catch
+
+			candidates.add(file);
+		} // end for
+
+		return candidates;
+	} // end candidates()
+
+	/**
+	 * Reads the filter of a file
+	 *
+	 * @param file Source file
+	 * @param attributes Current attributes of the file
+	 * @return The filter, or null if the sidecar is missing or out of date
+	 * @throws IOException if the sidecar cannot be read or is damaged
+	 */
+	private BloomFilter read(Path file, BasicFileAttributes attributes) throws IOException {
+		Path sidecar = sidecar(file);
+		long sidecarBytes;
+
+		try {
+			sidecarBytes = Files.size(sidecar);
+		} catch (NoSuchFileException e) {
+			return null;
+		} // end try/catch
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(sidecar)))) {
+			if (in.readInt() != MAGIC || in.readInt() != Parser.VERSION) return null;
+			if (!in.readUTF().equals(file.toAbsolutePath().toString())) return null;
+			if (in.readLong() != attributes.size() || in.readLong() != attributes.lastModifiedTime().toMillis()) {
+				return null;
+			} // end if
+
+			// the filter cannot have more words than the sidecar has bytes for
+			return BloomFilter.read(in, sidecarBytes / 8);
+		} catch (NoSuchFileException | EOFException e) {
+			return null;
+		} // end try/catch
+	} // end read()
+
+	// sidecar of a file, named by the hash of its absolute path
+	private Path sidecar(Path file) {
+		return directory.resolve(String.format("%016x.bloom", Fnv.hash(file.toAbsolutePath().toString())));
+	} // end sidecar()
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 3) {
+			System.err.println("Usage: java batch.FilterStore <directory> <identifier> <file or directory>...");
+			System.exit(2);
+		} // end if
+
+		FilterStore filters = new FilterStore(Paths.get(args[0]), DEFAULT_FALSE_POSITIVE_RATE, DEFAULT_MAX_BYTES);
+		List<Path> inputs = new ArrayList<Path>();
+		for (String arg : Arrays.asList(args).subList(2, args.length)) inputs.add(Paths.get(arg));
+
+		List<Path> files = BatchParser.findJavaFiles(inputs);
+		List<Path> candidates = filters.candidates(files, args[1]);
+
+		for (Path file : candidates) System.out.println(file);
+		System.err.printf("%d of %d files might contain %s%n", candidates.size(), files.size(), args[1]);
+	} // end main()
+
+} // end FilterStore
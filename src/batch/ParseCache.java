@@ -0,0 +1,233 @@
+/**
+ * Results of parsing files, kept on disk between runs and looked up by the
+ * content of a file rather than its path, so a file is only parsed again
+ * when its content changes, and files with the same content are parsed once.
+ * The cache is dropped when Parser.VERSION changes. When it is saved, the
+ * entries used longest ago are left out to keep the file under a size limit.
+ * Sources nested too deep for the stack of the thread are not cached, since
+ * a run with a larger -Xss may parse them.
+ *
+ * A cache is shared by the threads of a batch. Runs that save the same file
+ * at the same time do not corrupt it, but only the last one is kept.
+ */
+
+package batch;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import parser.Fnv;
+import parser.Parser;
+
+public class ParseCache {
+
+	public static final long DEFAULT_MAX_BYTES = 16L << 20;
+
+	private static final int MAGIC = 0x4a504332; // "JPC2", messages as an int length and UTF-8 bytes
+	private static final int ENTRY_BYTES = 21; // bytes of an entry besides its message
+
+	private final Path file;
+	private final long maxBytes;
+	private final long now; // time of this run, stored with every entry it uses
+	private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<Key, Entry>();
+
+	/**
+	 * Constructor reads the cache file, if there is one for the same version
+	 * of the parser
+	 *
+	 * @param file Cache file
+	 * @param maxBytes Largest size of the file when it is saved
+	 * @throws IOException if the file exists but cannot be read
+	 */
+	public ParseCache(Path file, long maxBytes) throws IOException {
+		this.file = file;
+		this.maxBytes = maxBytes;
+		this.now = System.currentTimeMillis();
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			long fileBytes = Files.size(file);
+			if (in.readInt() != MAGIC || in.readInt() != Parser.VERSION) return;
+
+			for (int count = in.readInt(); count > 0; count--) {
+				Key key = new Key(in.readLong(), in.readInt());
+				Entry entry = new Entry(in.readLong());
+				String errorMessage = null;
+
+				if (in.readBoolean()) {
+					int length = in.readInt();
+					if (length < 0 || length > fileBytes) break; // a damaged cache file is used up to the damage
+					byte[] bytes = new byte[length];
+					in.readFully(bytes);
+					errorMessage = new String(bytes, StandardCharsets.UTF_8);
+				} // end if
+
+				entry.errorMessage.complete(errorMessage);
+				entries.put(key, entry);
+			} // end for
+		} catch (NoSuchFileException e) {
+			// the first run starts with an empty cache
+		} catch (EOFException e) {
+			// a damaged cache file is used up to the damage
+		} // end try/catch
+	} // end constructor
+
+	/**
+	 * Gets the result of a source from the cache, or parses it and adds it
+	 *
+	 * @param parser Parser to reset for the source
+	 * @param name Name of the source in the result
+	 * @param source The source
+	 * @param start System.nanoTime() when reading the source started
+	 * @return The result, marked as cached if the source was not parsed
+	 */
+	public FileResult parse(Parser parser, Path name, String source, long start) {
+		Key key = new Key(Fnv.hash(source), source.length());
+		Entry entry = new Entry(now);
+		Entry found = entries.putIfAbsent(key, entry);
+
+		if (found != null) {
+			// another thread may still be parsing the same content
+			found.lastUsed = now;
+			String errorMessage = found.errorMessage.join();
+			return new FileResult(name, errorMessage, false, System.nanoTime() - start, source.length(), null)
+					.markCached();
+		} // end if
+
+		try {
+			FileResult result = BatchParser.parseSource(parser, name, source, start);
+			// running out of stack depends on -Xss, so another run may parse the source
+			if (result.isTooDeep()) entries.remove(key, entry);
+			entry.errorMessage.complete(result.getErrorMessage());
+			return result;
+		} catch (RuntimeException | Error e) {
+			entries.remove(key, entry);
+			entry.errorMessage.completeExceptionally(e);
+			throw e;
+		} // end try/catch
+	} // end parse()
+
+	/**
+	 * Writes the cache file, leaving out the entries used longest ago if
+	 * they do not all fit
+	 *
+	 * @throws IOException if the file cannot be written
+	 */
+	public void save() throws IOException {
+		List<Map.Entry<Key, Entry>> kept = new ArrayList<Map.Entry<Key, Entry>>();
+
+		for (Map.Entry<Key, Entry> entry : entries.entrySet()) {
+			if (entry.getValue().errorMessage.isDone()) kept.add(entry);
+		} // end for
+
+		kept.sort((a, b) -> Long.compare(b.getValue().lastUsed, a.getValue().lastUsed));
+
+		// messages of the kept entries, encoded once for their size and for writing them
+		List<byte[]> messages = new ArrayList<byte[]>();
+		long bytes = 12;
+
+		while (messages.size() < kept.size()) {
+			byte[] message = encode(kept.get(messages.size()).getValue().errorMessage.join());
+			bytes += ENTRY_BYTES + (message == null ? 0 : 4 + message.length);
+			if (bytes > maxBytes) break;
+			messages.add(message);
+		} // end while
+
+		int count = messages.size();
+
+		// write a new file and move it over the old one, so a failed save leaves the old one
+		Path parent = file.toAbsolutePath().getParent();
+		Files.createDirectories(parent);
+		Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(Parser.VERSION);
+				out.writeInt(count);
+
+				for (int i = 0; i < count; i++) {
+					Key key = kept.get(i).getKey();
+					Entry entry = kept.get(i).getValue();
+					byte[] message = messages.get(i);
+
+					out.writeLong(key.hash);
+					out.writeInt(key.length);
+					out.writeLong(entry.lastUsed);
+					out.writeBoolean(message != null);
+
+					if (message != null) {
+						out.writeInt(message.length);
+						out.write(message);
+					} // end if
+				} // end for
+			} // end try
+
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temp);
+		} // end try/finally
+	} // end save()
+
+	/**
+	 * Gets the number of sources in the cache
+	 * @return Number of entries
+	 */
+	public int size() {
+		return entries.size();
+	} // end size()
+
+	// UTF-8 bytes of a message in the cache file, which may be longer than writeUTF() allows
+	private static byte[] encode(String errorMessage) {
+		return errorMessage == null ? null : errorMessage.getBytes(StandardCharsets.UTF_8);
+	} // end encode()
+
+	// content of a source: its hash and length
+	private static final class Key {
+
+		final long hash;
+		final int length;
+
+		Key(long hash, int length) {
+			this.hash = hash;
+			this.length = length;
+		} // end constructor
+
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof Key && ((Key) other).hash == hash && ((Key) other).length == length;
+		}
+
+		@Override
+		public int hashCode() {
+			return Long.hashCode(hash);
+		}
+
+	} // end Key
+
+	// result of a source, completed once it is parsed
+	private static final class Entry {
+
+		final CompletableFuture<String> errorMessage = new CompletableFuture<String>(); // null if it parsed
+		volatile long lastUsed; // time of the last run that used the entry
+
+		Entry(long lastUsed) {
+			this.lastUsed = lastUsed;
+		} // end constructor
+
+	} // end Entry
+
+} // end ParseCache
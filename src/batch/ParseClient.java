@@ -0,0 +1,244 @@
+/**
+ * Thin client of a ParseServer. It only frames requests and reads responses,
+ * and never loads the parser, so checking a file costs little more than
+ * starting a small JVM and one round trip.
+ *
+ * Usage: java batch.ParseClient [--trace] [--outline] <socket file | port> <file>...
+ *
+ * Prints the result of each file as the CommandLine does, and exits with 0
+ * if every file parsed, 1 if any had a syntax error, and 2 for bad arguments,
+ * unreadable files or no server.
+ */
+
+package batch;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class ParseClient implements Closeable {
+
+	// flags of a request
+	public static final int TRACE = 1;
+	public static final int OUTLINE = 2;
+
+	// status of a response
+	public static final int PASSED = 0;
+	public static final int FAILED = 1;
+	public static final int BAD_REQUEST = 2;
+
+	static final int MAX_FRAME_BYTES = 64 << 20;
+
+	private final SocketChannel channel;
+	private final DataInputStream in;
+	private final DataOutputStream out;
+
+	/**
+	 * Constructor connects to a server
+	 *
+	 * @param address Address of the server, from address()
+	 * @throws IOException if the server cannot be reached
+	 */
+	public ParseClient(SocketAddress address) throws IOException {
+		channel = SocketChannel.open(address);
+		in = new DataInputStream(Channels.newInputStream(channel));
+		out = new DataOutputStream(Channels.newOutputStream(channel));
+	} // end constructor
+
+	/**
+	 * Gets the address of a server: a loopback port if the argument is a
+	 * number, otherwise a Unix domain socket file
+	 *
+	 * @param socket Port number or socket file
+	 * @return The address
+	 */
+	public static SocketAddress address(String socket) {
+		if (!socket.matches("\\d{1,5}")) return UnixDomainSocketAddress.of(socket);
+		return new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(socket));
+	} // end address()
+
+	/**
+	 * Gets the protocol family of an address
+	 * @param address Address from address()
+	 * @return UNIX or INET
+	 */
+	static StandardProtocolFamily family(SocketAddress address) {
+		return address instanceof UnixDomainSocketAddress ? StandardProtocolFamily.UNIX : StandardProtocolFamily.INET;
+	} // end family()
+
+	/**
+	 * Sends a source to the server and waits for its result. Requests on one
+	 * client are answered in order, so a client is used by one thread at a time.
+	 *
+	 * @param name Name of the source, returned in the response
+	 * @param source The source
+	 * @param flags TRACE and OUTLINE, or 0 for only the result
+	 * @return The response
+	 * @throws IOException if the connection fails
+	 */
+	public synchronized Response parse(String name, String source, int flags) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(source.length() + 64);
+		DataOutputStream request = new DataOutputStream(bytes);
+		request.writeByte(flags);
+		writeString(request, name);
+		request.write(source.getBytes(StandardCharsets.UTF_8));
+
+		out.writeInt(bytes.size());
+		bytes.writeTo(out);
+		out.flush();
+
+		int length = in.readInt();
+		if (length < 0 || length > MAX_FRAME_BYTES) throw new IOException("Bad frame length " + length);
+		byte[] frame = new byte[length];
+		in.readFully(frame);
+
+		return new Response(frame);
+	} // end parse()
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	} // end close()
+
+	public static void main(String[] args) {
+		int flags = 0;
+		int i = 0;
+
+		for (; i < args.length && (args[i].equals("--trace") || args[i].equals("--outline")); i++) {
+			flags |= args[i].equals("--trace") ? TRACE : OUTLINE;
+		} // end for
+
+		if (args.length - i < 2 || args[i].startsWith("--")) {
+			System.err.println("Usage: java batch.ParseClient [--trace] [--outline] <socket file | port> <file>...");
+			System.exit(2);
+		} // end if
+
+		int exitCode = 0;
+
+		try (ParseClient client = new ParseClient(address(args[i]))) {
+			for (i++; i < args.length; i++) {
+				String source;
+
+				try {
+					source = new String(Files.readAllBytes(Paths.get(args[i])), StandardCharsets.UTF_8);
+				} catch (IOException e) {
+					System.out.println("FAIL " + args[i] + ": ERROR: Cannot read file: " + e);
+					exitCode = 2;
+					continue;
+				} // end try/catch
+
+				Response response = client.parse(args[i], source, flags);
+
+				if ((flags & TRACE) != 0) {
+					System.out.println("==> " + args[i]);
+					for (String line : response.getTrace()) System.out.print(line);
+				} // end if
+
+				for (String declaration : response.getOutline()) System.out.println(declaration);
+				if (flags != 0 || !response.passed()) System.out.println(response);
+
+				if (response.getStatus() == BAD_REQUEST) exitCode = 2;
+				else if (!response.passed() && exitCode == 0) exitCode = 1;
+			} // end for
+		} catch (IOException e) {
+			System.err.println("ERROR: Cannot reach server: " + e);
+			exitCode = 2;
+		} // end try/catch
+
+		System.exit(exitCode);
+	} // end main()
+
+	// writes a string as its length and UTF-8 bytes
+	static void writeString(DataOutputStream out, String text) throws IOException {
+		byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	} // end writeString()
+
+	// reads a string from a frame in memory, whose available bytes are the rest of the frame
+	static String readString(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 0 || length > in.available()) throw new IOException("Bad string length " + length);
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	} // end readString()
+
+	/**
+	 * Result of one request
+	 */
+	public static class Response {
+
+		private final int status;
+		private final String name;
+		private final int errorLine;
+		private final String errorMessage; // null if the source parsed
+		private final List<String> outline = new ArrayList<String>();
+		private final List<String> trace = new ArrayList<String>();
+
+		// reads a response frame
+		Response(byte[] frame) throws IOException {
+			DataInputStream in = new DataInputStream(new ByteArrayInputStream(frame));
+			status = in.readByte();
+			name = readString(in);
+			errorLine = in.readInt();
+			errorMessage = status == PASSED ? null : readString(in);
+			for (int count = in.readInt(); count > 0; count--) outline.add(readString(in));
+			for (int count = in.readInt(); count > 0; count--) trace.add(readString(in));
+		} // end constructor
+
+		public int getStatus() {
+			return status;
+		}
+
+		public boolean passed() {
+			return status == PASSED;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		// line of the syntax error, or 0 if there is none
+		public int getErrorLine() {
+			return errorLine;
+		}
+
+		public String getErrorMessage() {
+			return errorMessage;
+		}
+
+		// declarations as Outline.Declaration.toString() gives them, if asked for and the source parsed
+		public List<String> getOutline() {
+			return Collections.unmodifiableList(outline);
+		}
+
+		// output of the parser, if asked for
+		public List<String> getTrace() {
+			return Collections.unmodifiableList(trace);
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%s %s%s", passed() ? "PASS" : "FAIL", name, passed() ? "" : ": " + errorMessage);
+		}
+
+	} // end Response
+
+} // end ParseClient
@@ -0,0 +1,318 @@
+/**
+ * Parse server that keeps a JVM running, so a check does not pay for
+ * starting one and for running the parser in the interpreter before the JIT
+ * compiles it. The server parses a sample source until the parser is
+ * compiled before it takes connections, and each connection thread keeps
+ * its parser in a ParserPool. A ParseClient sends requests over a Unix
+ * domain socket or a loopback port.
+ *
+ * Every message is a frame: a big endian int length, then that many bytes.
+ * Strings are an int length and UTF-8 bytes.
+ *
+ *   request   flags byte (ParseClient.TRACE, ParseClient.OUTLINE), name,
+ *             then the UTF-8 source to the end of the frame
+ *   response  status byte (ParseClient.PASSED, FAILED or BAD_REQUEST), name,
+ *             int error line, error message unless passed, int count and
+ *             declarations of the outline, int count and lines of the trace
+ *
+ * A connection can send any number of requests, and gets the responses in
+ * order. A request the parser fails on with an exception gets a FAILED
+ * response with an internal error, and a trace that would make the response
+ * longer than ParseClient.MAX_FRAME_BYTES is cut short, ending with a line
+ * that says how many lines were left out.
+ *
+ * Usage: java batch.ParseServer [--threads n] <socket file | port>
+ */
+
+package batch;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import parser.Outline;
+import parser.Parser;
+import parser.ParserPool;
+import types.InvalidInputException;
+
+public class ParseServer implements Closeable {
+
+	private static final int WARM_UP_ROUNDS = 2000;
+	private static final Path REQUEST = Paths.get("-");
+	private static final int TRUNCATED_LINE_BYTES = 64; // most bytes of the line ending a trace that was cut short
+
+	// sample source that goes through most rules of the grammar
+	private static final String WARM_UP = String.join("\n",
+			"package warm.up;",
+			"import java.util.*;",
+			"public class Sample<T extends Comparable<T>> extends Base implements Runnable {",
+			"	private static final int[] VALUES = { 1, 2, 3 };",
+			"	protected List<Map<String, T>> items = new ArrayList<>();",
+			"	public Sample(int size) { super(size); this.size = size; }",
+			"	@Override public void run() {",
+			"		for (int i = 0; i < VALUES.length; i++) { total += VALUES[i] * 2 - (i % 3); }",
+			"		for (Map<String, T> item : items) { if (item != null && !item.isEmpty()) continue; else break; }",
+			"		while (total > 10) total >>= 1;",
+			"		do { total++; } while (total < 5);",
+			"		switch (total) { case 1: total = 2; break; default: total = 0; }",
+			"		try { Object o = items.get(0); String s = o instanceof String ? \"a\" : \"b\"; }",
+			"		catch (IndexOutOfBoundsException e) { throw new IllegalStateException(e); }",
+			"		finally { synchronized (this) { total = total == 0 ? 1 : total; } }",
+			"		Runnable r = new Runnable() { public void run() { System.out.println('x'); } };",
+			"	}",
+			"	private int size, total;",
+			"}",
+			"interface Shape { double area(); }",
+			"enum Color { RED, GREEN; Color() {} }",
+			"");
+
+	private final SocketAddress address;
+	private final ServerSocketChannel server;
+	private final ExecutorService connections;
+	private final ParserPool parsers = new ParserPool();
+
+	/**
+	 * Constructor opens the socket, replacing a Unix domain socket file left
+	 * by a server that did not close
+	 *
+	 * @param address Address from ParseClient.address()
+	 * @param threads Number of connections served at once
+	 * @throws IOException if the address cannot be bound
+	 */
+	public ParseServer(SocketAddress address, int threads) throws IOException {
+		if (threads < 1) throw new IllegalArgumentException("threads must be at least 1");
+
+		if (address instanceof UnixDomainSocketAddress) {
+			Path file = ((UnixDomainSocketAddress) address).getPath();
+			if (Files.exists(file, LinkOption.NOFOLLOW_LINKS)
+					&& Files.readAttributes(file, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS).isOther()) {
+				Files.delete(file);
+			} // end if
+		} // end if
+
+		this.address = address;
+		server = ServerSocketChannel.open(ParseClient.family(address));
+		server.bind(address);
+
+		connections = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "ParseServer connection");
+			thread.setDaemon(true);
+			return thread;
+		});
+	} // end constructor
+
+	/**
+	 * Serves connections until close() is called
+	 * @throws IOException if accepting a connection fails
+	 */
+	public void serve() throws IOException {
+		try {
+			while (true) {
+				SocketChannel channel = server.accept();
+				connections.execute(() -> handle(channel));
+			} // end while
+		} catch (ClosedChannelException e) {
+			// closed
+		} // end try/catch
+	} // end serve()
+
+	/**
+	 * Stops taking connections and removes the socket file
+	 */
+	@Override
+	public void close() throws IOException {
+		server.close();
+		connections.shutdownNow();
+		if (address instanceof UnixDomainSocketAddress) Files.deleteIfExists(((UnixDomainSocketAddress) address).getPath());
+	} // end close()
+
+	/**
+	 * Parses a sample source until the parser is compiled, so the first
+	 * requests are as fast as the rest
+	 */
+	public void warmUp() {
+		Parser parser = parsers.get();
+
+		for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+			parser.setTraceMode(i % 2 == 0);
+			BatchParser.parseSource(parser, REQUEST, WARM_UP, System.nanoTime());
+		} // end for
+
+		parser.setTraceMode(false);
+	} // end warmUp()
+
+	// answers the requests of a connection until it closes
+	private void handle(SocketChannel channel) {
+		try (channel) {
+			DataInputStream in = new DataInputStream(Channels.newInputStream(channel));
+			DataOutputStream out = new DataOutputStream(Channels.newOutputStream(channel));
+
+			while (true) {
+				int length;
+
+				try {
+					length = in.readInt();
+				} catch (EOFException e) {
+					return;
+				} // end try/catch
+
+				if (length < 0 || length > ParseClient.MAX_FRAME_BYTES) {
+					// the rest of the stream cannot be trusted
+					write(out, errorResponse(ParseClient.BAD_REQUEST, "",
+							"ERROR: Bad request: frame of " + length + " bytes"));
+					return;
+				} // end if
+
+				byte[] frame = new byte[length];
+				in.readFully(frame);
+				write(out, respond(frame));
+			} // end while
+		} catch (IOException e) {
+			// the client went away
+		} // end try/catch
+	} // end handle()
+
+	// parses the source of a request
+	private byte[] respond(byte[] frame) throws IOException {
+		long start = System.nanoTime();
+		DataInputStream request = new DataInputStream(new ByteArrayInputStream(frame));
+		int flags;
+		String name;
+
+		try {
+			flags = request.readByte();
+			name = ParseClient.readString(request);
+		} catch (IOException e) {
+			return errorResponse(ParseClient.BAD_REQUEST, "", "ERROR: Bad request: " + e.getMessage());
+		} // end try/catch
+
+		String source = new String(request.readAllBytes(), StandardCharsets.UTF_8);
+
+		try {
+			return respond(flags, name, source, start);
+		} catch (RuntimeException | StackOverflowError e) {
+			// a bug in the parser fails this request, not the connection
+			return errorResponse(ParseClient.FAILED, name, "ERROR: Internal error: " + e);
+		} // end try/catch
+	} // end respond()
+
+	// parses the source of a request that was read
+	private byte[] respond(int flags, String name, String source, long start) throws IOException {
+		Parser parser = parsers.get();
+		parser.setTraceMode((flags & ParseClient.TRACE) != 0);
+
+		FileResult result = BatchParser.parseSource(parser, REQUEST, source, start);
+		List<String> trace = result.getTrace() != null ? result.getTrace() : Collections.<String>emptyList();
+		List<Outline.Declaration> declarations = Collections.emptyList();
+
+		if (result.passed() && (flags & ParseClient.OUTLINE) != 0) {
+			try {
+				declarations = Outline.extract(parser, source).getDeclarations();
+			} catch (InvalidInputException e) {
+				// cannot happen to a source that parsed
+			} // end try/catch
+		} // end if
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream response = new DataOutputStream(bytes);
+		response.writeByte(result.passed() ? ParseClient.PASSED : ParseClient.FAILED);
+		ParseClient.writeString(response, name);
+		response.writeInt(result.getErrorLine());
+		if (!result.passed()) ParseClient.writeString(response, result.getErrorMessage());
+
+		response.writeInt(declarations.size());
+		for (Outline.Declaration declaration : declarations) ParseClient.writeString(response, declaration.toString());
+
+		// the trace lines that fit in a frame, leaving room for a line that says the rest were left out
+		ByteArrayOutputStream traceBytes = new ByteArrayOutputStream();
+		DataOutputStream traceLines = new DataOutputStream(traceBytes);
+		int room = ParseClient.MAX_FRAME_BYTES - bytes.size() - 4 - TRUNCATED_LINE_BYTES;
+		int count = 0;
+
+		if (room < 0) return errorResponse(ParseClient.BAD_REQUEST, name, "ERROR: Bad request: response is too long");
+
+		for (String line : trace) {
+			if (traceBytes.size() + 4 + line.getBytes(StandardCharsets.UTF_8).length > room) break;
+			ParseClient.writeString(traceLines, line);
+			count++;
+		} // end for
+
+		if (count < trace.size()) {
+			ParseClient.writeString(traceLines, "... " + (trace.size() - count) + " more lines left out\n");
+			count++;
+		} // end if
+
+		response.writeInt(count);
+		traceBytes.writeTo(response);
+		return bytes.toByteArray();
+	} // end respond()
+
+	// response to a request that could not be read or parsed
+	private static byte[] errorResponse(int status, String name, String errorMessage) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream response = new DataOutputStream(bytes);
+		response.writeByte(status);
+		ParseClient.writeString(response, name);
+		response.writeInt(0);
+		ParseClient.writeString(response, errorMessage);
+		response.writeInt(0);
+		response.writeInt(0);
+		return bytes.toByteArray();
+	} // end errorResponse()
+
+	// writes a frame
+	private static void write(DataOutputStream out, byte[] frame) throws IOException {
+		out.writeInt(frame.length);
+		out.write(frame);
+		out.flush();
+	} // end write()
+
+	public static void main(String[] args) throws IOException {
+		int threads = Runtime.getRuntime().availableProcessors();
+		int i = 0;
+
+		if (args.length == 3 && args[0].equals("--threads") && args[1].matches("[1-9]\\d*")) {
+			threads = Integer.parseInt(args[1]);
+			i = 2;
+		} // end if
+
+		if (args.length != i + 1) {
+			System.err.println("Usage: java batch.ParseServer [--threads n] <socket file | port>");
+			System.exit(2);
+		} // end if
+
+		ParseServer server = new ParseServer(ParseClient.address(args[i]), threads);
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			try {
+				server.close();
+			} catch (IOException e) {
+				// exiting anyway
+			} // end try/catch
+		}));
+
+		server.warmUp();
+		System.err.println("Listening on " + args[i]);
+		server.serve();
+	} // end main()
+
+} // end ParseServer
@@ -0,0 +1,235 @@
+/**
+ * Keeps the results of parsing every file under a set of roots up to date.
+ * The whole tree is parsed once, then a WatchService reports the files that
+ * change, and only those are parsed again. Changes are collected until none
+ * has come for the debounce time, so a save that touches a file several
+ * times, or a checkout that touches many, is parsed as one batch with each
+ * file in it once.
+ */
+
+package batch;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+public class Watcher implements Closeable {
+
+	public static final long DEFAULT_DEBOUNCE_MILLIS = 100;
+
+	private final BatchParser batch;
+	private final List<Path> roots;
+	private final Listener listener;
+	private final WatchService service;
+	private final HashMap<WatchKey, Path> directories = new HashMap<WatchKey, Path>();
+	private final TreeMap<Path, FileResult> results = new TreeMap<Path, FileResult>(); // by path, guarded by this
+	private long debounceMillis = DEFAULT_DEBOUNCE_MILLIS;
+
+	/**
+	 * Constructor for a watcher of files and directories, which does nothing until it is run
+	 *
+	 * @param batch Parser of the files that change
+	 * @param roots Files, and directories whose ".java" files are watched
+	 * @param listener Receiver of the results of each batch
+	 * @throws IOException if the file system cannot be watched
+	 */
+	public Watcher(BatchParser batch, List<Path> roots, Listener listener) throws IOException {
+		if (roots.isEmpty()) throw new IllegalArgumentException("nothing to watch");
+
+		this.batch = batch;
+		this.roots = new ArrayList<Path>(roots);
+		this.listener = listener;
+		service = FileSystems.getDefault().newWatchService();
+	} // end constructor
+
+	/**
+	 * Sets how long no change must come before the changed files are parsed
+	 * @param millis Debounce time in milliseconds
+	 */
+	public void setDebounceMillis(long millis) {
+		if (millis < 0) throw new IllegalArgumentException("debounce time must not be negative");
+		debounceMillis = millis;
+	} // end setDebounceMillis()
+
+	/**
+	 * Parses every file, then parses the files that change until close() is
+	 * called or the thread is interrupted
+	 *
+	 * @throws IOException if a directory cannot be read
+	 */
+	public void run() throws IOException {
+		// register before the first batch, so changes made during it are not missed
+		for (Path root : roots) {
+			if (Files.isDirectory(root)) register(root);
+			else watch(root.getParent() != null ? root.getParent() : Paths.get(""));
+		} // end for
+
+		parse(new TreeSet<Path>(BatchParser.findJavaFiles(roots)));
+
+		Set<Path> changed = new TreeSet<Path>();
+		long firstChange = 0;
+
+		try {
+			while (true) {
+				WatchKey key = changed.isEmpty() ? service.take() : service.poll(debounceMillis, TimeUnit.MILLISECONDS);
+
+				if (key != null) {
+					if (changed.isEmpty()) firstChange = System.nanoTime();
+					collect(key, changed);
+				} // end if
+
+				// parse when the changes stop, or when they have not stopped for a while
+				boolean waitedLong = System.nanoTime() - firstChange > TimeUnit.MILLISECONDS.toNanos(10 * debounceMillis);
+				if (!changed.isEmpty() && (key == null || waitedLong)) {
+					parse(changed);
+					changed.clear();
+				} // end if
+			} // end while
+		} catch (ClosedWatchServiceException e) {
+			// closed
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} // end try/catch
+	} // end run()
+
+	/**
+	 * Stops watching, which makes run() return
+	 */
+	@Override
+	public void close() throws IOException {
+		service.close();
+	} // end close()
+
+	/**
+	 * Gets the latest result of every file
+	 * @return The results, in path order
+	 */
+	public synchronized List<FileResult> getResults() {
+		return new ArrayList<FileResult>(results.values());
+	} // end getResults()
+
+	// registers a directory and the directories under it
+	private void register(Path root) throws IOException {
+		try (Stream<Path> walk = Files.walk(root)) {
+			for (Path directory : (Iterable<Path>) walk.filter(path -> Files.isDirectory(path))::iterator) {
+				watch(directory);
+			} // end for
+		} // end try
+	} // end register()
+
+	// registers one directory
+	private void watch(Path directory) throws IOException {
+		directories.put(directory.register(service, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY), directory);
+	} // end watch()
+
+	// adds the files of the events of a key to the changed files
+	private void collect(WatchKey key, Set<Path> changed) throws IOException {
+		Path directory = directories.get(key);
+
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (event.kind() == OVERFLOW || directory == null) {
+				// events were lost, so every file may have changed
+				changed.addAll(BatchParser.findJavaFiles(roots));
+				synchronized (this) {
+					changed.addAll(results.keySet());
+				} // end synchronized
+				continue;
+			} // end if
+
+			Path path = directory.resolve((Path) event.context());
+
+			if (event.kind() == ENTRY_CREATE && Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+				// files can be made in a new directory before it is registered
+				if (!isUnderDirectoryRoot(path)) continue;
+				register(path);
+				changed.addAll(BatchParser.findJavaFiles(List.of(path)));
+			} else if (event.kind() == ENTRY_DELETE) {
+				// a deleted directory takes the files under it along
+				synchronized (this) {
+					for (Path file : results.tailMap(path).keySet()) {
+						if (!file.toString().startsWith(path.toString())) break;
+						if (file.startsWith(path)) changed.add(file);
+					} // end for
+				} // end synchronized
+			} // end if/else
+
+			if (isWatched(path)) changed.add(path);
+		} // end for
+
+		if (!key.reset()) directories.remove(key);
+	} // end collect()
+
+	// checks if a path is a root file or a ".java" file under a root directory
+	private boolean isWatched(Path path) {
+		return roots.contains(path) || path.toString().endsWith(".java") && isUnderDirectoryRoot(path);
+	} // end isWatched()
+
+	// checks if a path is inside one of the root directories
+	private boolean isUnderDirectoryRoot(Path path) {
+		for (Path root : roots) {
+			if (!path.equals(root) && path.startsWith(root) && Files.isDirectory(root)) return true;
+		} // end for
+
+		return false;
+	} // end isUnderDirectoryRoot()
+
+	// parses the changed files that still exist and drops the results of the rest
+	private void parse(Set<Path> changed) {
+		List<Path> files = new ArrayList<Path>();
+		List<Path> removed = new ArrayList<Path>();
+
+		for (Path file : changed) {
+			if (Files.isRegularFile(file)) files.add(file);
+			else removed.add(file);
+		} // end for
+
+		BatchReport report = batch.parse(files);
+		List<FileResult> all;
+
+		synchronized (this) {
+			for (FileResult result : report.getResults()) results.put(result.getPath(), result);
+			removed.removeIf(file -> results.remove(file) == null);
+			all = new ArrayList<FileResult>(results.values());
+		} // end synchronized
+
+		listener.update(report, removed, all);
+	} // end parse()
+
+	/**
+	 * Receiver of the results of the files parsed in each batch
+	 */
+	public interface Listener {
+
+		/**
+		 * Called after a batch, on the thread running the watcher
+		 *
+		 * @param changed Results of the files that were parsed
+		 * @param removed Files that had results and no longer exist
+		 * @param results Latest result of every file, in path order
+		 */
+		void update(BatchReport changed, List<Path> removed, List<FileResult> results);
+
+	} // end Listener
+
+} // end Watcher
@@ -0,0 +1,279 @@
+/**
+ * Throughput benchmarks of the lexical analyzer and parser, reported in MB/s
+ * of source and tokens/s so runs of different versions can be compared.
+ * Each benchmark runs on each input for some warm-up iterations, whose
+ * results are dropped, then for some measured iterations of a fixed time,
+ * and the mean and relative standard deviation of the measured iterations
+ * are printed.
+ *
+ *   lex     LexicalAnalyzer.nextLexeme() to the end of the input
+ *   parse   Parser.start() without output
+ *   trace   Parser.start() with output
+ *   output  cost of the output alone, from the difference of trace and parse
+ *   load    reading the file as the ParserWindow does, line by line with a Scanner
+ *   read    reading the file with Files.readAllBytes(), for comparison
+ *
+ * The inputs are the files given, or else the demofiles, and synthetic
+ * inputs of increasing size and nesting depth.
+ *
+ * Usage: java bench.Benchmark [--warmup n] [--iterations n] [--millis n]
+ *                             [--only regex] [--csv] [file]...
+ */
+
+package bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Scanner;
+import java.util.stream.Stream;
+
+import parser.LexicalAnalyzer;
+import parser.Parser;
+import types.InvalidInputException;
+
+public class Benchmark {
+
+	private static final int MAX_LOAD_BYTES = 256 << 10; // the window's loading is quadratic, so larger files are skipped
+	private static final int[] SIZES = { 16 << 10, 256 << 10, 4 << 20 };
+	private static final int[] DEPTHS = { 16, 64, 256 };
+
+	private static volatile long sink; // results of the benchmarks, so they are not optimized away
+
+	private int warmup = 3;
+	private int iterations = 5;
+	private long millis = 500;
+	private String only = ".*";
+	private boolean csv;
+
+	/**
+	 * An operation on an input, timed by the benchmark
+	 */
+	private interface Operation {
+		long run(Input input) throws IOException;
+	}
+
+	public static void main(String[] args) throws Exception {
+		Benchmark benchmark = new Benchmark();
+		List<Path> files = new ArrayList<Path>();
+
+		try {
+			for (int i = 0; i < args.length; i++) {
+				switch (args[i]) {
+				case "--warmup":		benchmark.warmup = Integer.parseInt(args[++i]); break;
+				case "--iterations":	benchmark.iterations = Integer.parseInt(args[++i]); break;
+				case "--millis":		benchmark.millis = Long.parseLong(args[++i]); break;
+				case "--only":			benchmark.only = args[++i]; break;
+				case "--csv":			benchmark.csv = true; break;
+				default:
+					if (args[i].startsWith("--")) throw new IllegalArgumentException(args[i]);
+					files.add(Paths.get(args[i]));
+				} // end switch
+			} // end for
+
+			if (benchmark.iterations < 1 || benchmark.warmup < 0 || benchmark.millis < 1) {
+				throw new IllegalArgumentException("counts must be positive");
+			} // end if
+		} catch (RuntimeException e) {
+			System.err.println("Usage: java bench.Benchmark [--warmup n] [--iterations n] [--millis n]"
+					+ " [--only regex] [--csv] [file]...");
+			System.exit(2);
+		} // end try/catch
+
+		List<Input> inputs = inputs(files);
+
+		// deep inputs need a deep stack
+		Thread thread = new Thread(null, () -> {
+			try {
+				benchmark.run(inputs);
+			} catch (IOException e) {
+				throw new RuntimeException(e);
+			} // end try/catch
+		}, "Benchmark", 1L << 30);
+
+		thread.start();
+		thread.join();
+	} // end main()
+
+	// the inputs: the files, or the demofiles and synthetic inputs
+	private static List<Input> inputs(List<Path> files) throws IOException {
+		List<Input> inputs = new ArrayList<Input>();
+		boolean defaults = files.isEmpty();
+
+		if (defaults && Files.isDirectory(Paths.get("demofiles"))) {
+			try (Stream<Path> list = Files.list(Paths.get("demofiles"))) {
+				list.filter(path -> path.toString().endsWith(".java")).sorted().forEach(files::add);
+			} // end try
+		} // end if
+
+		for (Path file : files) inputs.add(new Input(file.toString(), file));
+		if (!defaults) return inputs;
+
+		for (int size : SIZES) inputs.add(new Input("size-" + (size >> 10) + "k", Synthetic.sized(size)));
+		for (int depth : DEPTHS) inputs.add(new Input("depth-" + depth, Synthetic.nested(depth)));
+		return inputs;
+	} // end inputs()
+
+	// runs every benchmark on every input
+	private void run(List<Input> inputs) throws IOException {
+		if (csv) System.out.println("benchmark,input,bytes,tokens,mb_per_s,tokens_per_s,rsd_percent");
+
+		for (Input input : inputs) {
+			measure("lex", input, Benchmark::lex);
+
+			double parse = measure("parse", input, in -> parse(in, false));
+			double trace = measure("trace", input, in -> parse(in, true));
+
+			// seconds per byte of the output alone is the difference of the two
+			if (parse > 0 && trace > 0 && trace < parse && only("output")) {
+				report("output", input, 1 / (1 / trace - 1 / parse), Double.NaN);
+			} // end if
+
+			if (input.bytes <= MAX_LOAD_BYTES) measure("load", input, Benchmark::load);
+			measure("read", input, in -> Files.readAllBytes(in.file()).length);
+		} // end for
+
+		// delete the files of the synthetic inputs
+		for (Input input : inputs) {
+			if (input.temporary) Files.deleteIfExists(input.file);
+		} // end for
+	} // end run()
+
+	private boolean only(String name) {
+		return name.matches(only);
+	} // end only()
+
+	/**
+	 * Times an operation on an input and prints its throughput
+	 *
+	 * @param name Name of the benchmark
+	 * @param input The input
+	 * @param operation The operation
+	 * @return Mean bytes per second, or 0 if the benchmark was not run
+	 * @throws IOException if the operation fails to read its input
+	 */
+	private double measure(String name, Input input, Operation operation) throws IOException {
+		if (!only(name)) return 0;
+
+		double[] rates = new double[iterations];
+
+		for (int i = -warmup; i < iterations; i++) {
+			long operations = 0;
+			long start = System.nanoTime();
+			long end = start + millis * 1_000_000;
+			long now;
+
+			do {
+				sink += operation.run(input);
+				operations++;
+				now = System.nanoTime();
+			} while (now < end);
+
+			if (i >= 0) rates[i] = operations * (double) input.bytes / ((now - start) / 1e9);
+		} // end for
+
+		double mean = 0;
+		for (double rate : rates) mean += rate / iterations;
+
+		double variance = 0;
+		for (double rate : rates) variance += (rate - mean) * (rate - mean) / iterations;
+
+		report(name, input, mean, 100 * Math.sqrt(variance) / mean);
+		return mean;
+	} // end measure()
+
+	// prints the throughput of a benchmark in MB/s and tokens/s
+	private void report(String name, Input input, double bytesPerSecond, double deviation) {
+		double megabytes = bytesPerSecond / (1 << 20);
+		double tokens = bytesPerSecond * input.tokens / input.bytes;
+
+		if (csv) {
+			// CSV is read by programs, so numbers do not follow the locale
+			System.out.printf(Locale.ROOT, "%s,%s,%d,%d,%.3f,%.0f,%s%n", name, input.name, input.bytes, input.tokens,
+					megabytes, tokens, Double.isNaN(deviation) ? "" : String.format(Locale.ROOT, "%.1f", deviation));
+		} else {
+			System.out.printf("%-7s %-28s %10.2f MB/s %14.0f tokens/s %s%n", name, input.name, megabytes, tokens,
+					Double.isNaN(deviation) ? "" : String.format("+-%.1f%%", deviation));
+		} // end if/else
+	} // end report()
+
+	private static long lex(Input input) {
+		LexicalAnalyzer lex = new LexicalAnalyzer(input.source);
+		long count = 0;
+
+		while (lex.nextLexeme() != null) {
+			count++;
+		} // end while
+
+		return count;
+	} // end lex()
+
+	// parses the input, up to its syntax error if it has one
+	private static long parse(Input input, boolean trace) {
+		Parser parser = new Parser(input.source);
+		parser.setTraceMode(trace);
+
+		try {
+			parser.start();
+		} catch (InvalidInputException e) {
+			// the demofiles include one with an error
+		} // end try/catch
+
+		return parser.getOutputQueue().size();
+	} // end parse()
+
+	// reads the file line by line as ParserWindow.fileToString() does
+	private static long load(Input input) throws IOException {
+		String returnString = "";
+
+		try (Scanner fileReader = new Scanner(new File(input.file().toString()))) {
+			while (fileReader.hasNext()) {
+				returnString = returnString + fileReader.nextLine() + '\n';
+			} // end while
+		} // end try
+
+		return returnString.length();
+	} // end load()
+
+	// a source to benchmark, with its file
+	private static class Input {
+
+		final String name;
+		final String source;
+		final int bytes;
+		final long tokens;
+		Path file;
+		boolean temporary; // true for a synthetic input written to a temporary file
+
+		Input(String name, Path file) throws IOException {
+			this(name, new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+			this.file = file;
+		} // end constructor
+
+		Input(String name, String source) {
+			this.name = name;
+			this.source = source;
+			bytes = source.getBytes(StandardCharsets.UTF_8).length;
+			tokens = lex(this);
+		} // end constructor
+
+		// the file of the input, written when it is first needed
+		Path file() throws IOException {
+			if (file == null) {
+				file = Files.createTempFile("benchmark", ".java");
+				temporary = true;
+				Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+			} // end if
+
+			return file;
+		} // end file()
+
+	} // end Input
+
+} // end Benchmark
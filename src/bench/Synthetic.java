@@ -0,0 +1,56 @@
+/**
+ * Synthetic inputs for the benchmarks: a class of a given size made of
+ * ordinary methods, and a method with blocks nested to a given depth.
+ */
+
+package bench;
+
+class Synthetic {
+
+	/**
+	 * Makes a class of about a number of bytes
+	 * @param bytes Size of the source
+	 * @return The source
+	 */
+	static String sized(int bytes) {
+		StringBuilder source = new StringBuilder("package bench.synthetic;\n\nimport java.util.List;\n\n");
+		source.append("public class Sized {\n");
+
+		for (int i = 0; source.length() < bytes; i++) {
+			source.append("\tprivate int count").append(i).append(" = ").append(i).append(";\n\n");
+			source.append("\t/* method ").append(i).append(" */\n");
+			source.append("\tpublic int method").append(i).append("(int a, List<String> names) {\n");
+			source.append("\t\tint sum = a * ").append(i).append(" + count").append(i).append(";\n");
+			source.append("\t\tfor (int j = 0; j < names.size(); j++) {\n");
+			source.append("\t\t\tif (names.get(j).length() > sum) sum += j; else sum -= a % 3;\n");
+			source.append("\t\t} // end for\n");
+			source.append("\t\tString text = \"method ").append(i).append("\" + sum;\n");
+			source.append("\t\treturn text.length() == 0 ? -1 : sum;\n");
+			source.append("\t} // end method").append(i).append("()\n\n");
+		} // end for
+
+		return source.append("}\n").toString();
+	} // end sized()
+
+	/**
+	 * Makes a method with if statements nested to a depth
+	 * @param depth Number of nested blocks
+	 * @return The source
+	 */
+	static String nested(int depth) {
+		StringBuilder source = new StringBuilder("public class Nested {\n\tint f(int x) {\n");
+
+		for (int i = 0; i < depth; i++) {
+			source.append("\t\tif (x > ").append(i).append(") {\n");
+		} // end for
+
+		source.append("\t\treturn x;\n");
+
+		for (int i = 0; i < depth; i++) {
+			source.append("\t\t}\n");
+		} // end for
+
+		return source.append("\t\treturn 0;\n\t}\n}\n").toString();
+	} // end nested()
+
+} // end Synthetic
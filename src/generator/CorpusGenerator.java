@@ -0,0 +1,539 @@
+/**
+ * Generates random Java compilation units by walking the rules of the EBNF
+ * grammar, for testing the parser at scale. Each rule is expanded by picking
+ * among its alternatives, options and repetitions at random; past a nesting
+ * depth, the shortest expansion is always picked, so every unit ends. The
+ * members of the outermost class are repeated until the unit reaches its
+ * size. Identifiers are drawn from a vocabulary with a Zipf distribution, so
+ * a few are common and most are rare, as in real code. The same seed always
+ * gives the same corpus.
+ *
+ * The grammar accepts more than the parser does (parser.TableParser lists
+ * the differences), and many of its expansions are rejected by both parsers,
+ * such as a "." after an integer literal, which is read as the start of a
+ * fraction. So the class header and each member of the outermost class are
+ * parsed as they are made, and made again if the parser rejects them. The
+ * corpus then only holds inputs the parser accepts. This is what bounds the
+ * speed: with the defaults, about one member in seven is made again, and a
+ * 20 MB corpus takes about 25 s, some 0.8 MB/s.
+ *
+ * Usage: java generator.CorpusGenerator [options] <output directory>
+ *
+ *   --grammar file       EBNF grammar (default src/EBNF)
+ *   --seed n             seed of the random choices (default 1)
+ *   --bytes n            total size of the corpus, with k, m or g suffixes (default 1m)
+ *   --file-bytes n       size of each file (default 64k)
+ *   --depth n            rule nesting depth before expansions are cut short (default 24)
+ *   --expression-depth n rule nesting depth within an expression (default 6)
+ *   --repeat p           chance of each further repetition (default 0.5)
+ *   --vocabulary n       number of distinct identifiers (default 2000)
+ *   --zipf s             exponent of the identifier distribution (default 1.1)
+ *   --deep n             instead, write one file with blocks and expressions nested n deep
+ */
+
+package generator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import parser.LexicalAnalyzer;
+import parser.Parser;
+import types.InvalidInputException;
+import types.Lexeme;
+import types.Token;
+
+public class CorpusGenerator {
+
+	private static final int MAX_ATTEMPTS = 1000; // tries at a part of a unit the parser accepts
+
+	// rules whose lexemes are written without spaces between them
+	private static final Set<String> JOINED = new HashSet<String>(Arrays.asList(
+			"assignment_operator", "infix_operator", "literal", "MODIFIER"));
+
+	private static final String[] SYLLABLES = { "ab", "ac", "al", "an", "ar", "ba", "be", "ca", "co", "da", "de",
+			"el", "en", "er", "fa", "fi", "ge", "ha", "in", "is", "ka", "la", "le", "li", "lo", "ma", "me", "mi", "mo",
+			"na", "ne", "no", "or", "pa", "pe", "po", "ra", "re", "ri", "ro", "sa", "se", "si", "ta", "te", "ti", "to",
+			"un", "va", "ve", "vi", "za" };
+
+	private final Map<String, GrammarNode> rules;
+	private final Map<GrammarNode, Integer> costs = new HashMap<GrammarNode, Integer>(); // fewest lexemes of each node
+	private final Random random;
+	private final String[] vocabulary;
+	private final double[] cumulative; // Zipf distribution over the vocabulary
+
+	private int maxDepth = 24;
+	private int maxExpressionDepth = 6;
+	private double repeat = 0.5;
+	private Parser checker; // reused for each check
+	private long rejected;
+
+	// state of the unit being made
+	private StringBuilder unit;
+	private int targetLength;
+	private int depth;
+	private int expressionDepth; // rule depth within the outermost expression, 0 outside of one
+	private int indentation;
+	private int outermostClassBody; // rule depth of the outermost class body, -1 before it and -2 after it
+	private int joinedFrom; // length of the unit where the rule of JOINED being expanded starts, or -1
+	private boolean lineStart;
+
+	/**
+	 * Constructor for a generator of a grammar
+	 *
+	 * @param rules Rules as read by the EbnfReader
+	 * @param seed Seed of the random choices
+	 * @param vocabularySize Number of distinct identifiers
+	 * @param zipf Exponent of the identifier distribution, 0 for uniform
+	 */
+	public CorpusGenerator(Map<String, GrammarNode> rules, long seed, int vocabularySize, double zipf) {
+		if (!rules.containsKey("program")) throw new IllegalArgumentException("grammar has no <program> rule");
+		if (vocabularySize < 1) throw new IllegalArgumentException("vocabulary must have an identifier");
+
+		this.rules = rules;
+		random = new Random(seed);
+
+		// identifiers of syllables, without digits so they can follow "@"
+		vocabulary = new String[vocabularySize];
+		Set<String> used = new HashSet<String>();
+
+		for (int i = 0; i < vocabularySize; i++) {
+			String name;
+
+			do {
+				StringBuilder builder = new StringBuilder();
+				int syllables = 1 + random.nextInt(2) + used.size() / 1000;
+				for (int s = 0; s < syllables; s++) builder.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+				name = builder.toString();
+			} while (!isIdentifier(name) || !used.add(name));
+
+			vocabulary[i] = name;
+		} // end for
+
+		cumulative = new double[vocabularySize];
+		double total = 0;
+
+		for (int i = 0; i < vocabularySize; i++) {
+			total += 1 / Math.pow(i + 1, zipf);
+			cumulative[i] = total;
+		} // end for
+
+		for (int i = 0; i < vocabularySize; i++) cumulative[i] /= total;
+
+		computeCosts();
+	} // end constructor
+
+	/**
+	 * Sets the rule nesting depths past which the shortest expansion is picked
+	 *
+	 * @param depth Depth of any rule
+	 * @param expressionDepth Depth of rules within an expression
+	 */
+	public void setDepths(int depth, int expressionDepth) {
+		if (depth < 1 || expressionDepth < 1) throw new IllegalArgumentException("depths must be at least 1");
+		maxDepth = depth;
+		maxExpressionDepth = expressionDepth;
+	} // end setDepths()
+
+	/**
+	 * Sets the chance of each further repetition of a {x}, which sets how
+	 * long statement lists and expressions are
+	 *
+	 * @param chance Chance from 0 to less than 1
+	 */
+	public void setRepeat(double chance) {
+		if (!(chance >= 0 && chance < 1)) throw new IllegalArgumentException("repeat chance must be from 0 to less than 1");
+		repeat = chance;
+	} // end setRepeat()
+
+	/**
+	 * Gets the number of parts of units the parser rejected
+	 * @return The number of class members and class headers made again
+	 */
+	public long getRejected() {
+		return rejected;
+	} // end getRejected()
+
+	/**
+	 * Makes a compilation unit
+	 * @param length Size in characters the outermost class grows to
+	 * @return The source
+	 * @throws IllegalStateException if the parser rejects every attempt at a part
+	 */
+	public String generate(int length) {
+		for (int attempt = 1; ; attempt++) {
+			unit = new StringBuilder(length + 1024);
+			targetLength = length;
+			depth = 0;
+			expressionDepth = 0;
+			indentation = 0;
+			outermostClassBody = -1;
+			joinedFrom = -1;
+			lineStart = true;
+
+			try {
+				expand(rules.get("program"), false);
+				unit.append('\n');
+				return unit.toString();
+			} catch (Rejected e) {
+				if (attempt == MAX_ATTEMPTS) throw new IllegalStateException("the parser rejects the class headers of this grammar");
+			} // end try/catch
+		} // end for
+	} // end generate()
+
+	/**
+	 * Makes a compilation unit with blocks, and expressions in parentheses,
+	 * nested to a depth, for testing the stack use of the parser
+	 *
+	 * @param nesting Depth of the blocks and of the parentheses
+	 * @return The source
+	 */
+	public String generateDeep(int nesting) {
+		StringBuilder source = new StringBuilder("class Deep {\n\tint deep(int " + identifier() + ") {\n");
+
+		for (int i = 0; i < nesting; i++) source.append("if (").append(identifier()).append(" > ").append(i).append(") {\n");
+		source.append("return ");
+		for (int i = 0; i < nesting; i++) source.append('(');
+		source.append(identifier());
+		for (int i = 0; i < nesting; i++) source.append(" + ").append(i).append(')');
+		source.append(";\n");
+		for (int i = 0; i < nesting; i++) source.append("}\n");
+
+		return source.append("\t\treturn 0;\n\t}\n}\n").toString();
+	} // end generateDeep()
+
+	// writes the expansion of a node, cut short if cut is true
+	private void expand(GrammarNode node, boolean cut) {
+		switch (node.getKind()) {
+
+		case NAME:
+			name(node.getText(), cut);
+			break;
+
+		case LEXEME:
+			lexeme(node.getText());
+			break;
+
+		case SEQUENCE:
+			for (GrammarNode child : node.getChildren()) expand(child, cut);
+			break;
+
+		case CHOICE:
+			expand(cut ? cheapest(node.getChildren()) : node.getChildren().get(random.nextInt(node.getChildren().size())), cut);
+			break;
+
+		case OPTION:
+			if (!cut && random.nextBoolean()) expand(node.getChildren().get(0), false);
+			break;
+
+		case REPEAT:
+			if (depth == outermostClassBody) {
+				members(node.getChildren().get(0));
+				break;
+			} // end if
+
+			while (!cut && random.nextDouble() < repeat) expand(node.getChildren().get(0), isCut());
+			break;
+
+		} // end switch
+	} // end expand()
+
+	// writes the members of the outermost class, until the unit is long enough
+	private void members(GrammarNode member) {
+		// the parser reads each member the same way in any class body, so
+		// the header and each member can be checked on their own
+		if (!parses(unit + "}")) {
+			rejected++;
+			throw new Rejected();
+		} // end if
+
+		int attempts = 0;
+
+		while (unit.length() < targetLength) {
+			int mark = unit.length();
+			int markIndentation = indentation;
+			boolean markLineStart = lineStart;
+
+			expand(member, false);
+
+			if (!parses("class C {\n" + unit.substring(mark) + "}")) {
+				if (++attempts == MAX_ATTEMPTS) throw new IllegalStateException("the parser rejects the class members of this grammar");
+				rejected++;
+				unit.setLength(mark);
+				indentation = markIndentation;
+				lineStart = markLineStart;
+			} else {
+				attempts = 0;
+			} // end if/else
+		} // end while
+	} // end members()
+
+	// writes the expansion of a rule, or a token that has no rule
+	private void name(String name, boolean cut) {
+		GrammarNode body = rules.get(name);
+
+		if (body == null) {
+			token(name);
+			return;
+		} // end if
+
+		int wasJoinedFrom = joinedFrom;
+		boolean expression = name.equals("expression") || expressionDepth > 0;
+		if (joinedFrom < 0 && JOINED.contains(name)) joinedFrom = unit.length();
+		if (expression) expressionDepth++;
+		depth++;
+
+		if (name.equals("class_body") && outermostClassBody == -1) outermostClassBody = depth;
+
+		expand(body, cut || isCut());
+
+		if (depth == outermostClassBody) outermostClassBody = -2;
+
+		depth--;
+		if (expression) expressionDepth--;
+		joinedFrom = wasJoinedFrom;
+	} // end name()
+
+	// checks if expansions must be cut short at the current depth
+	private boolean isCut() {
+		return depth >= maxDepth || expressionDepth >= maxExpressionDepth;
+	} // end isCut()
+
+	// the alternative with the fewest lexemes
+	private GrammarNode cheapest(List<GrammarNode> alternatives) {
+		GrammarNode cheapest = alternatives.get(0);
+
+		for (GrammarNode alternative : alternatives) {
+			if (cost(alternative) < cost(cheapest)) cheapest = alternative;
+		} // end for
+
+		return cheapest;
+	} // end cheapest()
+
+	// writes a token of a kind with no rule
+	private void token(String name) {
+		switch (name) {
+		case "IDENTIFIER":
+			lexeme(identifier());
+			break;
+		case "INT_LITERAL":
+			lexeme(Integer.toString(random.nextInt(10) < 7 ? random.nextInt(10) : random.nextInt(100000)));
+			break;
+		case "CHAR_LITERAL":
+			lexeme("'" + (char) ('a' + random.nextInt(26)) + "'");
+			break;
+		case "STRING_LITERAL":
+			lexeme("\"" + identifier() + "\"");
+			break;
+		default:
+			throw new IllegalArgumentException("grammar uses <" + name + ">, which has no rule and no lexemes");
+		} // end switch
+	} // end token()
+
+	// an identifier of the vocabulary, by its Zipf probability
+	private String identifier() {
+		int index = Arrays.binarySearch(cumulative, random.nextDouble());
+		return vocabulary[Math.min(index < 0 ? -index - 1 : index, vocabulary.length - 1)];
+	} // end identifier()
+
+	// writes a lexeme, laid out with a statement on each line
+	private void lexeme(String lexeme) {
+		if (lexeme.equals("}")) indentation = Math.max(0, indentation - 1);
+
+		if (lineStart) {
+			for (int i = 0; i < indentation; i++) unit.append('\t');
+		} else if ((joinedFrom < 0 || unit.length() == joinedFrom) && !lexeme.equals(";") && !lexeme.equals(",") && !lexeme.equals(")")
+				&& !lexeme.equals(".") && !lexeme.equals("[]")) {
+			char last = unit.charAt(unit.length() - 1);
+			if (last != '(' && last != '.') unit.append(' ');
+		} // end if/else
+
+		unit.append(lexeme);
+		lineStart = false;
+
+		if (lexeme.equals("{")) indentation++;
+
+		if (lexeme.equals("{") || lexeme.equals("}") || (lexeme.equals(";") && expressionDepth == 0)) {
+			unit.append('\n');
+			lineStart = true;
+		} // end if
+	} // end lexeme()
+
+	// fewest lexemes a node expands to
+	private int cost(GrammarNode node) {
+		Integer cost = costs.get(node);
+		return cost == null ? 1 : cost;
+	} // end cost()
+
+	// finds the fewest lexemes of every node, repeating until no cost goes down
+	private void computeCosts() {
+		boolean changed = true;
+
+		while (changed) {
+			changed = false;
+
+			for (GrammarNode body : rules.values()) {
+				changed |= computeCost(body);
+			} // end for
+		} // end while
+	} // end computeCosts()
+
+	// updates the cost of a node and its children, returning true if any went down
+	private boolean computeCost(GrammarNode node) {
+		boolean changed = false;
+		for (GrammarNode child : node.getChildren()) changed |= computeCost(child);
+
+		int cost;
+
+		switch (node.getKind()) {
+		case NAME:
+			GrammarNode body = rules.get(node.getText());
+			cost = body == null ? 1 : costs.getOrDefault(body, Integer.MAX_VALUE / 4);
+			break;
+		case SEQUENCE:
+			cost = 0;
+			for (GrammarNode child : node.getChildren()) cost += costs.getOrDefault(child, Integer.MAX_VALUE / 4);
+			break;
+		case CHOICE:
+			cost = Integer.MAX_VALUE / 4;
+			for (GrammarNode child : node.getChildren()) cost = Math.min(cost, costs.getOrDefault(child, Integer.MAX_VALUE / 4));
+			break;
+		case OPTION:
+		case REPEAT:
+			cost = 0;
+			break;
+		default:
+			cost = 1;
+		} // end switch
+
+		Integer old = costs.get(node);
+		if (old != null && old <= cost) return changed;
+
+		costs.put(node, cost);
+		return true;
+	} // end computeCost()
+
+	// checks if a word is read as an identifier rather than a keyword
+	private static boolean isIdentifier(String word) {
+		Lexeme lexeme = new LexicalAnalyzer(word).nextLexeme();
+		return lexeme != null && lexeme.getToken() == Token.IDENTIFIER;
+	} // end isIdentifier()
+
+	/**
+	 * Thrown when the parser rejects the header of a unit, to start it again
+	 */
+	private static class Rejected extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+	} // end Rejected
+
+	// checks if the parser accepts a unit
+	private boolean parses(String unit) {
+		if (checker == null) {
+			checker = new Parser(unit);
+			checker.setTraceMode(false);
+		} else {
+			checker.reset(unit);
+		} // end if/else
+
+		try {
+			checker.start();
+			return true;
+		} catch (InvalidInputException | RuntimeException e) {
+			return false;
+		} // end try/catch
+	} // end parses()
+
+	public static void main(String[] args) throws IOException, InvalidInputException {
+		Path grammar = Paths.get("src/EBNF");
+		long seed = 1;
+		long bytes = 1 << 20;
+		int fileBytes = 64 << 10;
+		int depth = 24;
+		int expressionDepth = 6;
+		double repeat = 0.5;
+		int vocabulary = 2000;
+		double zipf = 1.1;
+		int deep = 0;
+		Path output = null;
+
+		try {
+			for (int i = 0; i < args.length; i++) {
+				switch (args[i]) {
+				case "--grammar":			grammar = Paths.get(args[++i]); break;
+				case "--seed":				seed = Long.parseLong(args[++i]); break;
+				case "--bytes":				bytes = size(args[++i]); break;
+				case "--file-bytes":		fileBytes = (int) size(args[++i]); break;
+				case "--depth":				depth = Integer.parseInt(args[++i]); break;
+				case "--expression-depth":	expressionDepth = Integer.parseInt(args[++i]); break;
+				case "--repeat":			repeat = Double.parseDouble(args[++i]); break;
+				case "--vocabulary":		vocabulary = Integer.parseInt(args[++i]); break;
+				case "--zipf":				zipf = Double.parseDouble(args[++i]); break;
+				case "--deep":				deep = Integer.parseInt(args[++i]); break;
+				default:
+					if (args[i].startsWith("--") || output != null) throw new IllegalArgumentException(args[i]);
+					output = Paths.get(args[i]);
+				} // end switch
+			} // end for
+
+			if (output == null || bytes < 1 || fileBytes < 1 || deep < 0) throw new IllegalArgumentException();
+		} catch (RuntimeException e) {
+			System.err.println("Usage: java generator.CorpusGenerator [--grammar file] [--seed n] [--bytes n]"
+					+ " [--file-bytes n] [--depth n] [--expression-depth n] [--repeat p] [--vocabulary n]"
+					+ " [--zipf s] [--deep n] <output directory>");
+			System.exit(2);
+		} // end try/catch
+
+		String text = new String(Files.readAllBytes(grammar), StandardCharsets.UTF_8);
+		CorpusGenerator generator = new CorpusGenerator(new EbnfReader(text).read(), seed, vocabulary, zipf);
+		generator.setDepths(depth, expressionDepth);
+		generator.setRepeat(repeat);
+		Files.createDirectories(output);
+
+		if (deep > 0) {
+			Path file = output.resolve("Deep" + deep + ".java");
+			Files.write(file, generator.generateDeep(deep).getBytes(StandardCharsets.UTF_8));
+			System.out.println(file);
+			return;
+		} // end if
+
+		long written = 0;
+		int files = 0;
+
+		while (written < bytes) {
+			String unit = generator.generate((int) Math.min(fileBytes, bytes - written));
+			Path file = output.resolve(String.format("Unit%06d.java", files++));
+
+			try (Writer out = new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+				out.write(unit);
+			} // end try
+
+			written += unit.getBytes(StandardCharsets.UTF_8).length;
+		} // end while
+
+		System.out.printf("%d files, %d bytes, %d parts rejected%n", files, written, generator.getRejected());
+	} // end main()
+
+	// a size such as 64k, 10m or 1g
+	private static long size(String text) {
+		long unit = 1;
+		char last = Character.toLowerCase(text.charAt(text.length() - 1));
+		if (last == 'k') unit = 1 << 10;
+		else if (last == 'm') unit = 1 << 20;
+		else if (last == 'g') unit = 1 << 30;
+		return Long.parseLong(unit == 1 ? text : text.substring(0, text.length() - 1)) * unit;
+	} // end size()
+
+} // end CorpusGenerator
@@ -0,0 +1,206 @@
+/**
+ * Reads the rules of an EBNF grammar file of the form
+ * <name> = body ; into GrammarNode trees, in file order.
+ */
+
+package generator;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import types.InvalidInputException;
+
+public class EbnfReader {
+
+	private String input;
+	private int position;
+	private int lineNumber;
+
+	/**
+	 * Constructor sets the grammar text to read
+	 * @param input Contents of the EBNF file
+	 */
+	public EbnfReader(String input) {
+		this.input = input;
+		this.position = 0;
+		this.lineNumber = 1;
+	} // end constructor
+
+	/**
+	 * Reads every rule of the grammar
+	 * @return Rule bodies keyed by rule name, in the order they are defined
+	 * @throws InvalidInputException If the grammar is malformed
+	 */
+	public Map<String, GrammarNode> read() throws InvalidInputException {
+		Map<String, GrammarNode> rules = new LinkedHashMap<String, GrammarNode>();
+
+		skipBlanks();
+		while (position < input.length()) {
+			String name = name();
+			expect('=');
+			GrammarNode body = choice();
+			expect(';');
+
+			if (rules.put(name, body) != null)
+				error("rule <" + name + "> is defined twice");
+
+			skipBlanks();
+		} // end while
+
+		return rules;
+	} // end read()
+
+	// x | y | z
+	private GrammarNode choice() throws InvalidInputException {
+		GrammarNode choice = new GrammarNode(GrammarNode.Kind.CHOICE, null);
+
+		choice.add(sequence());
+		while (peek() == '|') {
+			position++;
+			choice.add(sequence());
+		} // end while
+
+		return choice.getChildren().size() == 1 ? choice.getChildren().get(0) : choice;
+	} // end choice()
+
+	// x y z, ended by any closing symbol
+	private GrammarNode sequence() throws InvalidInputException {
+		GrammarNode sequence = new GrammarNode(GrammarNode.Kind.SEQUENCE, null);
+
+		char next = peek();
+		while (next != '|' && next != ';' && next != ')' && next != ']' && next != '}') {
+			sequence.add(item());
+			next = peek();
+		} // end while
+
+		return sequence.getChildren().size() == 1 ? sequence.getChildren().get(0) : sequence;
+	} // end sequence()
+
+	// <name> | "lexeme" | (choice) | [choice] | {choice}
+	private GrammarNode item() throws InvalidInputException {
+		GrammarNode node;
+
+		switch (peek()) {
+
+		case '<':
+			return new GrammarNode(GrammarNode.Kind.NAME, name());
+
+		case '"':
+		case '\'':
+			return new GrammarNode(GrammarNode.Kind.LEXEME, lexeme());
+
+		case '(':
+			position++;
+			node = choice();
+			expect(')');
+			return node;
+
+		case '[':
+			position++;
+			node = new GrammarNode(GrammarNode.Kind.OPTION, null);
+			node.add(choice());
+			expect(']');
+			return node;
+
+		case '{':
+			position++;
+			node = new GrammarNode(GrammarNode.Kind.REPEAT, null);
+			node.add(choice());
+			expect('}');
+			return node;
+
+		default:
+			error("unexpected " + describe(peek()));
+			return null;
+
+		} // end switch
+	} // end item()
+
+	// <name>, returning the name without the angle brackets
+	private String name() throws InvalidInputException {
+		expect('<');
+
+		int start = position;
+		while (position < input.length() && input.charAt(position) != '>') {
+			char next = input.charAt(position);
+			if (!Character.isLetterOrDigit(next) && next != '_')
+				error("invalid character " + describe(next) + " in rule name");
+			position++;
+		} // end while
+
+		String name = input.substring(start, position);
+		expect('>');
+
+		return name;
+	} // end name()
+
+	// "lexeme" or 'lexeme', returning the lexeme without the quotes
+	private String lexeme() throws InvalidInputException {
+		char quote = input.charAt(position);
+		position++;
+
+		int start = position;
+		while (position < input.length() && input.charAt(position) != quote) {
+			if (input.charAt(position) == '\n')
+				error("unterminated lexeme");
+			position++;
+		} // end while
+
+		String lexeme = input.substring(start, position);
+		expect(quote);
+
+		if (lexeme.isEmpty()) error("empty lexeme");
+
+		return lexeme;
+	} // end lexeme()
+
+	// consumes the given symbol, or throws an exception
+	private void expect(char symbol) throws InvalidInputException {
+		if (peek() != symbol)
+			error("expected '" + symbol + "' but found " + describe(peek()));
+		position++;
+	} // end expect()
+
+	// skips whitespace and comments, returning the next character or 0 at the end
+	private char peek() {
+		skipBlanks();
+		return position < input.length() ? input.charAt(position) : 0;
+	} // end peek()
+
+	// skips whitespace and (* comments *)
+	private void skipBlanks() {
+		while (position < input.length()) {
+			char next = input.charAt(position);
+
+			if (next == '(' && input.startsWith("(*", position)) {
+				int end = input.indexOf("*)", position + 2);
+				end = end < 0 ? input.length() : end + 2;
+				countLines(position, end);
+				position = end;
+			} else if (Character.isWhitespace(next)) {
+				if (next == '\n') lineNumber++;
+				position++;
+			} else {
+				break;
+			} // end if/else
+		} // end while
+	} // end skipBlanks()
+
+	// counts the line breaks between the two positions
+	private void countLines(int start, int end) {
+		for (int i = start; i < end; i++) {
+			if (input.charAt(i) == '\n') lineNumber++;
+		} // end for
+	} // end countLines()
+
+	// describes a character for an error message
+	private String describe(char next) {
+		return next == 0 ? "end of file" : "'" + next + "'";
+	} // end describe()
+
+	// throws an exception
+	private void error(String problem) throws InvalidInputException {
+		throw new InvalidInputException(String.format("ERROR: EBNF line %d: %s\n", lineNumber, problem));
+	} // end error()
+
+} // end EbnfReader
@@ -0,0 +1,90 @@
+/**
+ * A node of an EBNF rule body as read by the EbnfReader: a reference to a
+ * rule or token class, a quoted lexeme, or a sequence, choice, option or
+ * repetition of other nodes.
+ */
+
+package generator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class GrammarNode {
+
+	public enum Kind {
+		NAME,		// <name>
+		LEXEME,		// "x" or 'x'
+		SEQUENCE,	// x y z
+		CHOICE,		// x | y | z
+		OPTION,		// [x]
+		REPEAT		// {x}
+	} // end enum
+
+	private Kind kind;
+	private String text; // name or lexeme, null for the other kinds
+	private List<GrammarNode> children;
+
+	public GrammarNode(Kind kind, String text) {
+		this.kind = kind;
+		this.text = text;
+		this.children = new ArrayList<GrammarNode>();
+	} // end constructor
+
+	public Kind getKind() {
+		return kind;
+	}
+
+	public String getText() {
+		return text;
+	}
+
+	public List<GrammarNode> getChildren() {
+		return children;
+	}
+
+	public void add(GrammarNode child) {
+		children.add(child);
+	}
+
+	/**
+	 * Renders the node back to EBNF, used to describe conflicts in the
+	 * generated tables
+	 */
+	@Override
+	public String toString() {
+		switch (kind) {
+
+		case NAME:
+			return "<" + text + ">";
+
+		case LEXEME:
+			return "\"" + text + "\"";
+
+		case OPTION:
+			return "[" + join(" | ") + "]";
+
+		case REPEAT:
+			return "{" + join(" | ") + "}";
+
+		case CHOICE:
+			return "(" + join(" | ") + ")";
+
+		default:
+			return join(" ");
+
+		} // end switch
+	} // end toString()
+
+	// joins the rendered children with the given separator
+	private String join(String separator) {
+		StringBuilder builder = new StringBuilder();
+
+		for (GrammarNode child : children) {
+			if (builder.length() > 0) builder.append(separator);
+			builder.append(child.toString());
+		} // end for
+
+		return builder.toString();
+	} // end join()
+
+} // end GrammarNode
@@ -0,0 +1,521 @@
+/**
+ * Generates the LL(1) parse tables used by parser.TableParser from the EBNF
+ * grammar. The grammar is converted to plain productions, with a hidden
+ * nonterminal for every group, option and repetition, and the FIRST and
+ * FOLLOW sets of every nonterminal are used to fill a table of which
+ * production to expand for each nonterminal and lookahead token. A token
+ * class such as <MODIFIER> matches every token that the lexemes of its rule
+ * are given by the lexical analyzer, so terminals are sets of tokens.
+ *
+ * Where the grammar is not LL(1) the alternative listed first wins, and
+ * options and repetitions are greedy. Every such conflict is listed in the
+ * header of the generated file.
+ *
+ * Usage: java generator.ParseTableGenerator [grammar file] [output file]
+ */
+
+package generator;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import parser.LexicalAnalyzer;
+import types.InvalidInputException;
+import types.Lexeme;
+import types.Token;
+
+public class ParseTableGenerator {
+
+	private static final int TOKEN_COUNT = Token.values().length;
+	private static final int MAX_TEXT = 60; // longest production shown in a conflict
+
+	private Map<String, GrammarNode> rules;
+	private Map<Token, Long> tokenClasses;		// token set matched by each token class
+
+	private List<String> ruleNames;				// named rules, the first nonterminals
+	private List<Integer> owners;				// named rule that each nonterminal belongs to
+	private List<List<Integer>> alternatives;	// productions of each nonterminal, in order
+	private List<int[]> productions;			// symbols of each production
+	private List<String> descriptions;			// EBNF text of each production
+
+	private List<Long> terminals;				// token set of each terminal
+
+	private int columns;
+	private boolean[] nullable;
+	private BitSet[] first;
+	private BitSet[] follow;
+	private int[] table;
+	private Map<String, Set<String>> conflicts;
+
+	/**
+	 * Constructor sets the grammar to generate tables for
+	 * @param rules Rules as read by the EbnfReader
+	 */
+	public ParseTableGenerator(Map<String, GrammarNode> rules) {
+		this.rules = rules;
+		this.tokenClasses = new EnumMap<Token, Long>(Token.class);
+		this.ruleNames = new ArrayList<String>();
+		this.owners = new ArrayList<Integer>();
+		this.alternatives = new ArrayList<List<Integer>>();
+		this.productions = new ArrayList<int[]>();
+		this.descriptions = new ArrayList<String>();
+		this.terminals = new ArrayList<Long>();
+		this.conflicts = new LinkedHashMap<String, Set<String>>();
+	} // end constructor
+
+	public static void main(String[] args) throws IOException, InvalidInputException {
+		String grammarFile = args.length > 0 ? args[0] : "src/EBNF";
+		String outputFile = args.length > 1 ? args[1] : "src/parser/ParseTable.java";
+
+		String grammar = new String(Files.readAllBytes(Paths.get(grammarFile)), StandardCharsets.UTF_8);
+
+		ParseTableGenerator generator = new ParseTableGenerator(new EbnfReader(grammar).read());
+		generator.generate();
+
+		Files.write(Paths.get(outputFile), generator.source().getBytes(StandardCharsets.UTF_8));
+
+		System.out.printf("%d rules, %d nonterminals, %d productions, %d terminals, %d conflicts\n",
+				generator.ruleNames.size(), generator.alternatives.size(), generator.productions.size(),
+				generator.terminals.size(), generator.conflicts.size());
+		for (String conflict : generator.conflicts.keySet())
+			System.out.println(conflict + " on " + generator.conflicts.get(conflict));
+	} // end main
+
+	/**
+	 * Converts the grammar to productions and builds the parse table
+	 * @throws InvalidInputException If the grammar refers to an unknown rule or token
+	 */
+	public void generate() throws InvalidInputException {
+
+		// upper case rules list the lexemes of a token class
+		for (String name : rules.keySet()) {
+			if (!isTokenClass(name)) {
+				ruleNames.add(name);
+				continue;
+			} // end if
+
+			Token token = token(name);
+			tokenClasses.put(token, Token.set(token) | classTokens(rules.get(name)));
+		} // end for
+
+		if (ruleNames.isEmpty()) throw new InvalidInputException("ERROR: EBNF has no rules\n");
+
+		for (int i = 0; i < ruleNames.size(); i++) {
+			owners.add(i);
+			alternatives.add(new ArrayList<Integer>());
+		} // end for
+
+		for (int i = 0; i < ruleNames.size(); i++) {
+			GrammarNode body = rules.get(ruleNames.get(i));
+
+			if (body.getKind() == GrammarNode.Kind.CHOICE) {
+				for (GrammarNode alternative : body.getChildren())
+					addProduction(i, alternative, alternative.toString());
+			} else {
+				addProduction(i, body, body.toString());
+			} // end if/else
+		} // end for
+
+		columns = TOKEN_COUNT + 1; // last column is the end of input
+
+		computeFirst();
+		computeFollow();
+		buildTable();
+	} // end generate()
+
+	// adds a production for the nonterminal made of the symbols of the node
+	private void addProduction(int nonterminal, GrammarNode node, String description) throws InvalidInputException {
+		List<Integer> symbols = new ArrayList<Integer>();
+		symbols(node, owners.get(nonterminal), symbols);
+
+		int[] production = new int[symbols.size()];
+		for (int i = 0; i < production.length; i++) production[i] = symbols.get(i);
+
+		alternatives.get(nonterminal).add(productions.size());
+		productions.add(production);
+		descriptions.add(description);
+	} // end addProduction()
+
+	// appends the symbols of a node, with terminals stored as -(terminal + 1)
+	private void symbols(GrammarNode node, int owner, List<Integer> symbols) throws InvalidInputException {
+		switch (node.getKind()) {
+
+		case NAME:
+			if (isTokenClass(node.getText())) {
+				Token token = token(node.getText());
+				symbols.add(terminal(tokenClasses.containsKey(token) ? tokenClasses.get(token) : Token.set(token)));
+			} else {
+				int rule = ruleNames.indexOf(node.getText());
+				if (rule < 0) throw new InvalidInputException("ERROR: EBNF: undefined rule " + node + "\n");
+				symbols.add(rule);
+			} // end if/else
+			break;
+
+		case LEXEME:
+			for (Token token : lexemeTokens(node.getText())) {
+				if (tokenClasses.containsKey(token))
+					throw new InvalidInputException("ERROR: EBNF: \"" + node.getText()
+							+ "\" needs a token of its own, " + token + " stands for several lexemes\n");
+				symbols.add(terminal(Token.set(token)));
+			} // end for
+			break;
+
+		case SEQUENCE:
+			for (GrammarNode child : node.getChildren()) symbols(child, owner, symbols);
+			break;
+
+		default:
+			symbols.add(hiddenNonterminal(node, owner));
+			break;
+
+		} // end switch
+	} // end symbols()
+
+	// creates the nonterminal for a choice, option or repetition
+	private int hiddenNonterminal(GrammarNode node, int owner) throws InvalidInputException {
+		int nonterminal = alternatives.size();
+		owners.add(owner);
+		alternatives.add(new ArrayList<Integer>());
+
+		// the body of an option or repetition is a single child
+		GrammarNode body = node.getKind() == GrammarNode.Kind.CHOICE ? node : node.getChildren().get(0);
+		List<GrammarNode> choices = body.getKind() == GrammarNode.Kind.CHOICE
+				? body.getChildren() : Collections.singletonList(body);
+
+		for (GrammarNode choice : choices) {
+			addProduction(nonterminal, choice, choice.toString());
+
+			if (node.getKind() == GrammarNode.Kind.REPEAT) {
+				// {x} = x {x} | nothing
+				int last = productions.size() - 1;
+				int[] production = Arrays.copyOf(productions.get(last), productions.get(last).length + 1);
+				production[production.length - 1] = nonterminal;
+				productions.set(last, production);
+			} // end if
+		} // end for
+
+		// options and repetitions may be empty, listed last so that they are greedy
+		if (node.getKind() != GrammarNode.Kind.CHOICE)
+			addProduction(nonterminal, new GrammarNode(GrammarNode.Kind.SEQUENCE, null), "nothing after " + node);
+
+		return nonterminal;
+	} // end hiddenNonterminal()
+
+	// splits a quoted lexeme into tokens with the lexical analyzer
+	private List<Token> lexemeTokens(String text) throws InvalidInputException {
+		List<Token> result = new ArrayList<Token>();
+
+		// the lexical analyzer looks one character past operators
+		LexicalAnalyzer lex = new LexicalAnalyzer(text + " ");
+		Lexeme lexeme = lex.nextLexeme();
+
+		while (lexeme != null) {
+			result.add(lexeme.getToken());
+			lexeme = lex.nextLexeme();
+		} // end while
+
+		if (result.isEmpty()) throw new InvalidInputException("ERROR: EBNF: \"" + text + "\" is not a lexeme\n");
+
+		return result;
+	} // end lexemeTokens()
+
+	// token set of all the lexemes listed in a token class rule
+	private long classTokens(GrammarNode node) throws InvalidInputException {
+		long set = 0;
+
+		if (node.getKind() == GrammarNode.Kind.LEXEME) {
+			// only the first token, as in "@" <IDENTIFIER>
+			set |= Token.set(lexemeTokens(node.getText()).get(0));
+		} // end if
+
+		for (GrammarNode child : node.getChildren()) {
+			set |= classTokens(child);
+			if (node.getKind() == GrammarNode.Kind.SEQUENCE) break;
+		} // end for
+
+		return set;
+	} // end classTokens()
+
+	// index of the terminal matching the token set, adding it if needed
+	private int terminal(long set) {
+		int terminal = terminals.indexOf(set);
+
+		if (terminal < 0) {
+			terminal = terminals.size();
+			terminals.add(set);
+		} // end if
+
+		return -(terminal + 1);
+	} // end terminal()
+
+	// computes which nonterminals can be empty and the FIRST set of every nonterminal
+	private void computeFirst() {
+		int count = alternatives.size();
+		nullable = new boolean[count];
+		first = new BitSet[count];
+		for (int i = 0; i < count; i++) first[i] = new BitSet(columns);
+
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+
+			for (int nonterminal = 0; nonterminal < count; nonterminal++) {
+				for (int production : alternatives.get(nonterminal)) {
+					BitSet set = new BitSet(columns);
+					boolean empty = first(productions.get(production), 0, set);
+
+					if (empty && !nullable[nonterminal]) {
+						nullable[nonterminal] = true;
+						changed = true;
+					} // end if
+
+					set.andNot(first[nonterminal]);
+					if (!set.isEmpty()) {
+						first[nonterminal].or(set);
+						changed = true;
+					} // end if
+				} // end for
+			} // end for
+		} // end while
+	} // end computeFirst()
+
+	// adds the FIRST set of the symbols from the given index, returning true if they can be empty
+	private boolean first(int[] symbols, int from, BitSet set) {
+		for (int i = from; i < symbols.length; i++) {
+			int symbol = symbols[i];
+
+			if (symbol < 0) {
+				set.or(BitSet.valueOf(new long[] { terminals.get(-symbol - 1) }));
+				return false;
+			} // end if
+
+			set.or(first[symbol]);
+			if (!nullable[symbol]) return false;
+		} // end for
+
+		return true;
+	} // end first()
+
+	// computes the FOLLOW set of every nonterminal
+	private void computeFollow() {
+		int count = alternatives.size();
+		follow = new BitSet[count];
+		for (int i = 0; i < count; i++) follow[i] = new BitSet(columns);
+
+		follow[0].set(columns - 1); // the start symbol is followed by the end of input
+
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+
+			for (int nonterminal = 0; nonterminal < count; nonterminal++) {
+				for (int production : alternatives.get(nonterminal)) {
+					int[] symbols = productions.get(production);
+
+					for (int i = 0; i < symbols.length; i++) {
+						if (symbols[i] < 0) continue;
+
+						BitSet set = new BitSet(columns);
+						if (first(symbols, i + 1, set)) set.or(follow[nonterminal]);
+
+						set.andNot(follow[symbols[i]]);
+						if (!set.isEmpty()) {
+							follow[symbols[i]].or(set);
+							changed = true;
+						} // end if
+					} // end for
+				} // end for
+			} // end for
+		} // end while
+	} // end computeFollow()
+
+	// fills the table with the first production that predicts each column
+	private void buildTable() {
+		table = new int[alternatives.size() * columns];
+
+		for (int nonterminal = 0; nonterminal < alternatives.size(); nonterminal++) {
+			for (int production : alternatives.get(nonterminal)) {
+				BitSet predicted = new BitSet(columns);
+				if (first(productions.get(production), 0, predicted)) predicted.or(follow[nonterminal]);
+
+				for (int column = predicted.nextSetBit(0); column >= 0; column = predicted.nextSetBit(column + 1)) {
+					int cell = nonterminal * columns + column;
+
+					if (table[cell] == 0) {
+						table[cell] = production + 1;
+					} else {
+						addConflict(nonterminal, table[cell] - 1, production, column);
+					} // end if/else
+				} // end for
+			} // end for
+		} // end for
+	} // end buildTable()
+
+	// records that a production lost a lookahead column to an earlier one
+	private void addConflict(int nonterminal, int chosen, int rejected, int column) {
+		String key = String.format("<%s>: %s over %s", ruleNames.get(owners.get(nonterminal)),
+				shorten(descriptions.get(chosen)), shorten(descriptions.get(rejected)));
+
+		if (!conflicts.containsKey(key)) conflicts.put(key, new LinkedHashSet<String>());
+		conflicts.get(key).add(columnName(column));
+	} // end addConflict()
+
+	// shortens a production for the conflict list
+	private String shorten(String description) {
+		description = description.replaceAll("\\s+", " ");
+		if (description.isEmpty()) description = "nothing";
+		return description.length() <= MAX_TEXT ? description : description.substring(0, MAX_TEXT - 3) + "...";
+	} // end shorten()
+
+	// name of a lookahead column
+	private String columnName(int column) {
+		return column < TOKEN_COUNT ? Token.values()[column].name() : "end of input";
+	} // end columnName()
+
+	/**
+	 * Writes the source code of the ParseTable class
+	 * @return Java source for parser/ParseTable.java
+	 */
+	public String source() {
+		int nonterminals = alternatives.size();
+		StringBuilder out = new StringBuilder();
+
+		out.append("/**\n");
+		out.append(" * LL(1) parse tables for the TableParser, generated by generator.ParseTableGenerator\n");
+		out.append(" * from src/EBNF. Do not edit, regenerate after changing the grammar.\n");
+		out.append(" *\n");
+		out.append(" * The grammar is not LL(1) at the following places. Each is resolved in favour\n");
+		out.append(" * of the alternative written first, and options and repetitions are greedy:\n");
+		out.append(" *\n");
+		for (String conflict : conflicts.keySet()) {
+			out.append(" *   ").append(conflict.replace("*/", "* /")).append("\n");
+			out.append(" *       on ").append(String.join(", ", conflicts.get(conflict)).replace("*/", "* /")).append("\n");
+		} // end for
+		out.append(" */\n\n");
+
+		out.append("package parser;\n\n");
+		out.append("import types.Token;\n\n");
+		out.append("final class ParseTable {\n\n");
+
+		out.append("\tstatic final int TOKEN_COUNT = ").append(TOKEN_COUNT).append(";\n");
+		out.append("\tstatic final int COLUMNS = ").append(columns).append(";\n");
+		out.append("\tstatic final int END_OF_INPUT = COLUMNS - 1;\n");
+		out.append("\tstatic final int NONTERMINALS = ").append(nonterminals).append(";\n");
+		out.append("\tstatic final int START = 0;\n\n");
+
+		out.append("\t// names of the rules, the nonterminals after these are hidden groups\n");
+		out.append("\tstatic final String[] RULE_NAMES = {");
+		for (int i = 0; i < ruleNames.size(); i++) {
+			out.append(i % 4 == 0 ? "\n\t\t" : " ");
+			out.append('"').append(ruleNames.get(i)).append("\",");
+		} // end for
+		out.append("\n\t};\n\n");
+
+		out.append("\t// token set matched by each terminal, see Token.set()\n");
+		out.append("\tprivate static final long[] TERMINALS = {");
+		for (int i = 0; i < terminals.size(); i++) {
+			out.append(i % 4 == 0 ? "\n\t\t" : " ");
+			out.append(String.format("0x%016xL,", terminals.get(i)));
+		} // end for
+		out.append("\n\t};\n\n");
+
+		// production + 1 for each nonterminal and column, 0 for an error
+		char[] cells = new char[table.length];
+		for (int i = 0; i < table.length; i++) cells[i] = (char) table[i];
+
+		// offsets of the productions into the symbols, with one extra for the end
+		List<Integer> symbols = new ArrayList<Integer>();
+		char[] starts = new char[productions.size() + 1];
+		for (int i = 0; i < productions.size(); i++) {
+			starts[i] = (char) symbols.size();
+			for (int symbol : productions.get(i))
+				symbols.add(symbol >= 0 ? symbol : nonterminals - symbol - 1);
+		} // end for
+		starts[productions.size()] = (char) symbols.size();
+
+		char[] symbolChars = new char[symbols.size()];
+		for (int i = 0; i < symbolChars.length; i++) symbolChars[i] = (char) (int) symbols.get(i);
+
+		out.append("\t// production + 1 to expand for each nonterminal and lookahead column, 0 for an error\n");
+		appendTable(out, "TABLE", cells);
+		out.append("\t// start of each production in SYMBOLS, and the end of the last\n");
+		appendTable(out, "PRODUCTION_START", starts);
+		out.append("\t// symbols of the productions, a nonterminal or NONTERMINALS + a terminal\n");
+		appendTable(out, "SYMBOLS", symbolChars);
+
+		out.append("\tstatic {\n");
+		out.append("\t\tif (Token.values().length != TOKEN_COUNT)\n");
+		out.append("\t\t\tthrow new IllegalStateException(\"Token has changed, regenerate ParseTable\");\n");
+		out.append("\t} // end static\n\n");
+
+		out.append("\tprivate ParseTable() {\n\t}\n\n");
+
+		out.append("\t// production to expand for a nonterminal and lookahead column, or -1 for an error\n");
+		out.append("\tstatic int predict(int nonterminal, int column) {\n");
+		out.append("\t\treturn TABLE[nonterminal * COLUMNS + column] - 1;\n");
+		out.append("\t}\n\n");
+
+		out.append("\tstatic int productionStart(int production) {\n");
+		out.append("\t\treturn PRODUCTION_START[production];\n");
+		out.append("\t}\n\n");
+
+		out.append("\tstatic int productionEnd(int production) {\n");
+		out.append("\t\treturn PRODUCTION_START[production + 1];\n");
+		out.append("\t}\n\n");
+
+		out.append("\tstatic int symbol(int index) {\n");
+		out.append("\t\treturn SYMBOLS[index];\n");
+		out.append("\t}\n\n");
+
+		out.append("\t// whether a lookahead column matches a terminal\n");
+		out.append("\tstatic boolean matches(int terminal, int column) {\n");
+		out.append("\t\treturn column < TOKEN_COUNT && (TERMINALS[terminal] & (1L << column)) != 0;\n");
+		out.append("\t}\n\n");
+
+		out.append("} // end ParseTable\n");
+
+		return out.toString();
+	} // end source()
+
+	// writes a char array as a string constant of unicode escapes
+	private void appendTable(StringBuilder out, String name, char[] values) {
+		out.append("\tprivate static final char[] ").append(name).append(" = (\"\"");
+
+		for (int i = 0; i < values.length; i++) {
+			if (i % 16 == 0) out.append("\n\t\t+ \"");
+			// octal escapes, as a unicode escape of a line break or quote would end the string
+			if (values[i] < 256) out.append(String.format("\\%03o", (int) values[i]));
+			else out.append(String.format("\\u%04x", (int) values[i]));
+			if (i % 16 == 15 || i == values.length - 1) out.append('"');
+		} // end for
+
+		out.append(").toCharArray();\n\n");
+	} // end appendTable()
+
+	// upper case rule names are token classes
+	private boolean isTokenClass(String name) {
+		return name.equals(name.toUpperCase());
+	} // end isTokenClass()
+
+	// the token with the given name
+	private Token token(String name) throws InvalidInputException {
+		try {
+			return Token.valueOf(name);
+		} catch (IllegalArgumentException e) {
+			throw new InvalidInputException("ERROR: EBNF: <" + name + "> is not a token\n");
+		} // end try/catch
+	} // end token()
+
+} // end ParseTableGenerator
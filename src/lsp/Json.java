@@ -0,0 +1,263 @@
+/**
+ * Reader and writer of the JSON of the Language Server Protocol. Objects are
+ * read as LinkedHashMaps, arrays as ArrayLists, numbers as Longs or Doubles,
+ * and true, false and null as Booleans and null. The same types are written.
+ */
+
+package lsp;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+final class Json {
+
+	private final String text;
+	private int position;
+
+	private Json(String text) {
+		this.text = text;
+	} // end constructor
+
+	/**
+	 * Reads a JSON value
+	 *
+	 * @param text JSON text
+	 * @return The value
+	 * @throws IllegalArgumentException if the text is not JSON
+	 */
+	static Object parse(String text) {
+		Json json = new Json(text);
+		Object value = json.value();
+		json.skipWhitespace();
+		if (json.position != text.length()) throw json.error("end of input");
+		return value;
+	} // end parse()
+
+	/**
+	 * Writes a value as JSON
+	 * @param value Map, List, String, Number, Boolean or null
+	 * @return The JSON text
+	 */
+	static String write(Object value) {
+		StringBuilder json = new StringBuilder();
+		write(value, json);
+		return json.toString();
+	} // end write()
+
+	private static void write(Object value, StringBuilder json) {
+		if (value instanceof Map) {
+			json.append('{');
+			boolean first = true;
+
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				if (!first) json.append(',');
+				first = false;
+				quote(entry.getKey().toString(), json);
+				json.append(':');
+				write(entry.getValue(), json);
+			} // end for
+
+			json.append('}');
+		} else if (value instanceof List) {
+			json.append('[');
+			List<?> list = (List<?>) value;
+
+			for (int i = 0; i < list.size(); i++) {
+				if (i > 0) json.append(',');
+				write(list.get(i), json);
+			} // end for
+
+			json.append(']');
+		} else if (value instanceof String) {
+			quote((String) value, json);
+		} else {
+			json.append(value); // number, boolean or null
+		} // end if/else
+	} // end write()
+
+	// JSON string literal
+	private static void quote(String text, StringBuilder json) {
+		json.append('"');
+
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+
+			switch (c) {
+			case '"':	json.append("\\\""); break;
+			case '\\':	json.append("\\\\"); break;
+			case '\n':	json.append("\\n"); break;
+			case '\r':	json.append("\\r"); break;
+			case '\t':	json.append("\\t"); break;
+			default:
+				if (c < 0x20) json.append(String.format("\\u%04x", (int) c));
+				else json.append(c);
+			} // end switch
+		} // end for
+
+		json.append('"');
+	} // end quote()
+
+	// reads the value at the position
+	private Object value() {
+		skipWhitespace();
+		if (position == text.length()) throw error("a value");
+
+		char c = text.charAt(position);
+
+		switch (c) {
+		case '{':
+			return object();
+		case '[':
+			return array();
+		case '"':
+			return string();
+		case 't':
+			return literal("true", Boolean.TRUE);
+		case 'f':
+			return literal("false", Boolean.FALSE);
+		case 'n':
+			return literal("null", null);
+		default:
+			if (c == '-' || (c >= '0' && c <= '9')) return number();
+			throw error("a value");
+		} // end switch
+	} // end value()
+
+	private Map<String, Object> object() {
+		Map<String, Object> object = new LinkedHashMap<String, Object>();
+		position++; // {
+		skipWhitespace();
+
+		if (peek() == '}') {
+			position++;
+			return object;
+		} // end if
+
+		while (true) {
+			skipWhitespace();
+			if (peek() != '"') throw error("a name");
+			String name = string();
+			skipWhitespace();
+			expect(':');
+			object.put(name, value());
+			skipWhitespace();
+
+			if (peek() == '}') {
+				position++;
+				return object;
+			} // end if
+
+			expect(',');
+		} // end while
+	} // end object()
+
+	private List<Object> array() {
+		List<Object> array = new ArrayList<Object>();
+		position++; // [
+		skipWhitespace();
+
+		if (peek() == ']') {
+			position++;
+			return array;
+		} // end if
+
+		while (true) {
+			array.add(value());
+			skipWhitespace();
+
+			if (peek() == ']') {
+				position++;
+				return array;
+			} // end if
+
+			expect(',');
+		} // end while
+	} // end array()
+
+	private String string() {
+		StringBuilder string = new StringBuilder();
+		position++; // "
+
+		while (true) {
+			if (position >= text.length()) throw error("'\"'");
+			char c = text.charAt(position++);
+
+			if (c == '"') return string.toString();
+
+			if (c != '\\') {
+				string.append(c);
+				continue;
+			} // end if
+
+			if (position >= text.length()) throw error("an escape");
+			c = text.charAt(position++);
+
+			switch (c) {
+			case 'b':	string.append('\b'); break;
+			case 'f':	string.append('\f'); break;
+			case 'n':	string.append('\n'); break;
+			case 'r':	string.append('\r'); break;
+			case 't':	string.append('\t'); break;
+			case 'u':
+				if (position + 4 > text.length()) throw error("four hex digits");
+				try {
+					string.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+				} catch (NumberFormatException e) {
+					throw error("four hex digits");
+				} // end try/catch
+				position += 4;
+				break;
+			default:
+				string.append(c); // " \ /
+			} // end switch
+		} // end while
+	} // end string()
+
+	private Object number() {
+		int start = position;
+		boolean integer = true;
+
+		while (position < text.length()) {
+			char c = text.charAt(position);
+			if (c == '.' || c == 'e' || c == 'E') integer = false;
+			else if (!(c == '-' || c == '+' || (c >= '0' && c <= '9'))) break;
+			position++;
+		} // end while
+
+		try {
+			String number = text.substring(start, position);
+			return integer ? (Object) Long.valueOf(number) : (Object) Double.valueOf(number);
+		} catch (NumberFormatException e) {
+			throw error("a number");
+		} // end try/catch
+	} // end number()
+
+	private Object literal(String literal, Object value) {
+		if (!text.startsWith(literal, position)) throw error(literal);
+		position += literal.length();
+		return value;
+	} // end literal()
+
+	private void expect(char c) {
+		if (peek() != c) throw error("'" + c + "'");
+		position++;
+	} // end expect()
+
+	// the character at the position, or 0 at the end
+	private char peek() {
+		return position < text.length() ? text.charAt(position) : 0;
+	} // end peek()
+
+	private void skipWhitespace() {
+		while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+			position++;
+		} // end while
+	} // end skipWhitespace()
+
+	private IllegalArgumentException error(String expected) {
+		return new IllegalArgumentException("JSON: expected " + expected + " at " + position);
+	} // end error()
+
+} // end Json
@@ -0,0 +1,548 @@
+/**
+ * Language server for editors, speaking the Language Server Protocol over
+ * the standard input and output. Documents are synced by incremental edits,
+ * and each open document keeps an IncrementalParser, so after a change only
+ * the smallest class body statement or block around it is parsed again.
+ * Changes are parsed once none has come for the debounce time, as one edit
+ * covering all of them, and the syntax error, if there is one, is published
+ * as a diagnostic. Document symbols are read from the Outline of the last
+ * text parsed, on the parsing thread, and kept until the text changes.
+ *
+ * Requests whose params are missing or of the wrong types are answered with
+ * an INVALID_REQUEST error, and such notifications are dropped.
+ *
+ * Usage: java lsp.LanguageServer
+ */
+
+package lsp;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import parser.IncrementalParser;
+import parser.Outline;
+import types.InvalidInputException;
+
+public class LanguageServer {
+
+	public static final long DEFAULT_DEBOUNCE_MILLIS = 150;
+
+	private static final Pattern ERROR = Pattern.compile("^ERROR: Line (\\d+): (.*?)(?:: (.*))?$", Pattern.DOTALL);
+
+	// error codes of JSON-RPC
+	private static final int PARSE_ERROR = -32700;
+	private static final int INVALID_REQUEST = -32600;
+	private static final int METHOD_NOT_FOUND = -32601;
+
+	// kinds of document symbols
+	private static final int CLASS = 5;
+	private static final int METHOD = 6;
+	private static final int FIELD = 8;
+	private static final int CONSTRUCTOR = 9;
+
+	private final InputStream in;
+	private final OutputStream out;
+	private final ConcurrentHashMap<String, Document> documents = new ConcurrentHashMap<String, Document>();
+	private final ScheduledExecutorService parsing;
+	private long debounceMillis = DEFAULT_DEBOUNCE_MILLIS;
+	private boolean shutdown; // true once a shutdown request came
+
+	/**
+	 * Constructor for a server on a pair of streams
+	 *
+	 * @param in Stream the client writes to
+	 * @param out Stream the client reads
+	 */
+	public LanguageServer(InputStream in, OutputStream out) {
+		this.in = new BufferedInputStream(in);
+		this.out = out;
+
+		parsing = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "LanguageServer parser");
+			thread.setDaemon(true);
+			return thread;
+		});
+	} // end constructor
+
+	/**
+	 * Sets how long no change to a document must come before it is parsed
+	 * @param millis Debounce time in milliseconds
+	 */
+	public void setDebounceMillis(long millis) {
+		if (millis < 0) throw new IllegalArgumentException("debounce time must not be negative");
+		debounceMillis = millis;
+	} // end setDebounceMillis()
+
+	/**
+	 * Answers messages until the exit notification or the end of the input
+	 *
+	 * @return The exit code: 0 if a shutdown request came first, otherwise 1
+	 * @throws IOException if the streams fail
+	 */
+	public int run() throws IOException {
+		try {
+			while (true) {
+				String message = read();
+				if (message == null) return shutdown ? 0 : 1;
+
+				Map<?, ?> request;
+
+				try {
+					Object parsed = Json.parse(message);
+					if (!(parsed instanceof Map)) throw new IllegalArgumentException("JSON: expected an object");
+					request = (Map<?, ?>) parsed;
+				} catch (IllegalArgumentException e) {
+					error(null, PARSE_ERROR, e.getMessage());
+					continue;
+				} // end try/catch
+
+				if ("exit".equals(request.get("method"))) return shutdown ? 0 : 1;
+
+				try {
+					handle(request);
+				} catch (IllegalArgumentException e) {
+					// bad params
+					if (request.get("id") != null) error(request.get("id"), INVALID_REQUEST, e.getMessage());
+				} // end try/catch
+			} // end while
+		} finally {
+			parsing.shutdownNow();
+		} // end try/finally
+	} // end run()
+
+	public static void main(String[] args) throws IOException {
+		System.exit(new LanguageServer(System.in, System.out).run());
+	} // end main()
+
+	/**
+	 * Answers a request or acts on a notification
+	 *
+	 * @param message The message
+	 * @throws IllegalArgumentException if its params are missing or of the wrong types
+	 * @throws IOException if writing the response fails
+	 */
+	private void handle(Map<?, ?> message) throws IOException {
+		Object id = message.get("id");
+		Object method = message.get("method");
+		Map<?, ?> params = message.get("params") instanceof Map ? (Map<?, ?>) message.get("params") : new HashMap<String, Object>();
+
+		if (!(method instanceof String)) {
+			if (id != null) error(id, INVALID_REQUEST, "no method");
+			return; // a response to the server, which sends no requests
+		} // end if
+
+		switch ((String) method) {
+
+		case "initialize":
+			respond(id, object("capabilities", object(
+					"textDocumentSync", object("openClose", true, "change", 2), // incremental
+					"documentSymbolProvider", true),
+					"serverInfo", object("name", "java-parser")));
+			break;
+
+		case "shutdown":
+			shutdown = true;
+			respond(id, null);
+			break;
+
+		case "textDocument/didOpen": {
+			Map<?, ?> item = map(params, "textDocument");
+			Document document = new Document(string(item, "uri"), string(item, "text"), number(item.get("version")));
+			Document old = documents.put(document.uri, document);
+			if (old != null) old.cancel();
+			schedule(document, 0);
+			break;
+		}
+
+		case "textDocument/didChange": {
+			Map<?, ?> item = map(params, "textDocument");
+			Document document = documents.get(string(item, "uri"));
+			if (!(params.get("contentChanges") instanceof List)) throw new IllegalArgumentException("no contentChanges");
+			List<?> changes = (List<?>) params.get("contentChanges");
+
+			// check every change before applying any
+			for (Object change : changes) {
+				if (!(change instanceof Map)) throw new IllegalArgumentException("contentChanges must be objects");
+				Map<?, ?> range = ((Map<?, ?>) change).get("range") == null ? null : map((Map<?, ?>) change, "range");
+				string((Map<?, ?>) change, "text");
+				if (range != null) {
+					map(range, "start");
+					map(range, "end");
+				} // end if
+			} // end for
+
+			if (document == null) break;
+
+			synchronized (document) {
+				for (Object change : changes) document.apply((Map<?, ?>) change);
+				document.version = number(item.get("version"));
+			} // end synchronized
+
+			schedule(document, debounceMillis);
+			break;
+		}
+
+		case "textDocument/didClose": {
+			Document document = documents.remove(string(map(params, "textDocument"), "uri"));
+
+			if (document != null) {
+				document.cancel();
+				notify("textDocument/publishDiagnostics", object("uri", document.uri, "diagnostics", new ArrayList<Object>()));
+			} // end if
+			break;
+		}
+
+		case "textDocument/documentSymbol": {
+			Document document = documents.get(string(map(params, "textDocument"), "uri"));
+
+			if (document == null) {
+				respond(id, new ArrayList<Object>());
+				break;
+			} // end if
+
+			// the outline is read on the parsing thread, so a large document does not hold up other messages
+			parsing.execute(() -> {
+				try {
+					respond(id, document.symbols());
+				} catch (IOException e) {
+					// the client is gone, and the reader finds out
+				} // end try/catch
+			});
+			break;
+		}
+
+		default:
+			// notifications the server does not use are dropped
+			if (id != null) error(id, METHOD_NOT_FOUND, "unknown method " + method);
+		} // end switch
+	} // end handle()
+
+	// parses a document after a delay, unless it changes again first
+	private void schedule(Document document, long delayMillis) {
+		synchronized (document) {
+			if (document.pending != null) document.pending.cancel(false);
+			document.pending = parsing.schedule(() -> parse(document), delayMillis, TimeUnit.MILLISECONDS);
+		} // end synchronized
+	} // end schedule()
+
+	// parses the changes to a document since its last parse, on the parsing thread, and publishes the diagnostics
+	private void parse(Document document) {
+		String text;
+		int version;
+
+		synchronized (document) {
+			text = document.text;
+			version = document.version;
+		} // end synchronized
+
+		List<Object> diagnostics = new ArrayList<Object>();
+
+		try {
+			if (document.parser == null) {
+				document.parser = new IncrementalParser(text);
+				document.parser.setTraceMode(false);
+				document.parser.start();
+			} else {
+				// one edit from the first to the last changed character
+				String old = document.parser.getSource();
+				int prefix = 0;
+				int suffix = 0;
+
+				while (prefix < old.length() && prefix < text.length() && old.charAt(prefix) == text.charAt(prefix)) {
+					prefix++;
+				} // end while
+
+				while (suffix < old.length() - prefix && suffix < text.length() - prefix
+						&& old.charAt(old.length() - 1 - suffix) == text.charAt(text.length() - 1 - suffix)) {
+					suffix++;
+				} // end while
+
+				document.parser.edit(prefix, old.length() - prefix - suffix, text.substring(prefix, text.length() - suffix));
+			} // end if/else
+		} catch (InvalidInputException e) {
+			diagnostics.add(diagnostic(text, e.getMessage().trim()));
+		} catch (StackOverflowError e) {
+			document.parser = null;
+			diagnostics.add(diagnostic(text, "ERROR: Invalid input: nesting too deep"));
+		} catch (RuntimeException e) {
+			// a bug in the parser, which starts over on the next change
+			document.parser = null;
+			diagnostics.add(diagnostic(text, "ERROR: Internal error: " + e));
+		} // end try/catch
+
+		try {
+			notify("textDocument/publishDiagnostics", object("uri", document.uri, "version", version,
+					"diagnostics", diagnostics));
+		} catch (IOException e) {
+			// the client is gone, and the reader finds out
+		} // end try/catch
+	} // end parse()
+
+	// diagnostic of an error message of the parser, on the lexeme it names, or on its whole line
+	private static Map<String, Object> diagnostic(String text, String errorMessage) {
+		LineIndex lines = new LineIndex(text);
+		Matcher matcher = ERROR.matcher(errorMessage);
+		int line = lines.lines() - 1;
+		String message = errorMessage;
+		String lexeme = null;
+
+		if (matcher.matches()) {
+			line = Math.max(0, Math.min(Integer.parseInt(matcher.group(1)) - 1, lines.lines() - 1));
+			message = matcher.group(2) + (matcher.group(3) != null ? ": " + matcher.group(3) : "");
+			lexeme = matcher.group(3);
+		} // end if
+
+		int start = lines.start(line);
+		int end = lines.end(line);
+
+		if ("end of input".equals(lexeme)) {
+			start = text.length();
+			end = text.length();
+		} else if (lexeme != null && text.substring(start, end).contains(lexeme)) {
+			start = text.indexOf(lexeme, start);
+			end = start + lexeme.length();
+		} // end if/else
+
+		return object("range", object("start", lines.position(start), "end", lines.position(end)),
+				"severity", 1, "source", "java-parser", "message", message);
+	} // end diagnostic()
+
+	// reads the content of a message, or returns null at the end of the input
+	private String read() throws IOException {
+		int length = -1;
+
+		while (true) {
+			String header = readLine();
+			if (header == null) return null;
+			if (header.isEmpty()) break;
+
+			int colon = header.indexOf(':');
+			if (colon > 0 && header.substring(0, colon).trim().equalsIgnoreCase("Content-Length")) {
+				length = Integer.parseInt(header.substring(colon + 1).trim());
+			} // end if
+		} // end while
+
+		if (length < 0) throw new IOException("Message without Content-Length");
+
+		byte[] content = in.readNBytes(length);
+		if (content.length < length) throw new EOFException("Message cut short");
+		return new String(content, StandardCharsets.UTF_8);
+	} // end read()
+
+	// reads a header line ending in CR LF, or returns null at the end of the input
+	private String readLine() throws IOException {
+		ByteArrayOutputStream line = new ByteArrayOutputStream();
+
+		for (int b = in.read(); b != '\n'; b = in.read()) {
+			if (b < 0) return line.size() == 0 ? null : line.toString(StandardCharsets.US_ASCII);
+			if (b != '\r') line.write(b);
+		} // end for
+
+		return line.toString(StandardCharsets.US_ASCII);
+	} // end readLine()
+
+	private void respond(Object id, Object result) throws IOException {
+		Map<String, Object> response = object("jsonrpc", "2.0", "id", id);
+		response.put("result", result);
+		write(response);
+	} // end respond()
+
+	private void error(Object id, int code, String message) throws IOException {
+		write(object("jsonrpc", "2.0", "id", id, "error", object("code", code, "message", message)));
+	} // end error()
+
+	private void notify(String method, Object params) throws IOException {
+		write(object("jsonrpc", "2.0", "method", method, "params", params));
+	} // end notify()
+
+	// writes a message, from the reader or the parsing thread
+	private void write(Map<String, Object> message) throws IOException {
+		byte[] content = Json.write(message).getBytes(StandardCharsets.UTF_8);
+
+		synchronized (out) {
+			out.write(("Content-Length: " + content.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+			out.write(content);
+			out.flush();
+		} // end synchronized
+	} // end write()
+
+	// JSON object of names and values
+	private static Map<String, Object> object(Object... namesAndValues) {
+		Map<String, Object> object = new LinkedHashMap<String, Object>();
+		for (int i = 0; i < namesAndValues.length; i += 2) object.put((String) namesAndValues[i], namesAndValues[i + 1]);
+		return object;
+	} // end object()
+
+	private static int number(Object value) {
+		return value instanceof Number ? ((Number) value).intValue() : 0;
+	} // end number()
+
+	// a member of an object that must be an object
+	private static Map<?, ?> map(Map<?, ?> object, String name) {
+		if (!(object.get(name) instanceof Map)) throw new IllegalArgumentException("no " + name + " object");
+		return (Map<?, ?>) object.get(name);
+	} // end map()
+
+	// a member of an object that must be a string
+	private static String string(Map<?, ?> object, String name) {
+		if (!(object.get(name) instanceof String)) throw new IllegalArgumentException("no " + name + " string");
+		return (String) object.get(name);
+	} // end string()
+
+	// an open document
+	private static class Document {
+
+		final String uri;
+		String text; // guarded by this
+		int version;
+		ScheduledFuture<?> pending; // parse waiting for the debounce time
+		IncrementalParser parser; // used only on the parsing thread
+
+		// used only on the parsing thread
+		List<Object> symbols = new ArrayList<Object>(); // of the last outline that could be read
+		String symbolsSource; // text the symbols were last read from, or tried to be
+
+		Document(String uri, String text, int version) {
+			this.uri = uri;
+			this.text = text;
+			this.version = version;
+		} // end constructor
+
+		// applies a change with a range, or a change of the whole text
+		void apply(Map<?, ?> change) {
+			String newText = (String) change.get("text");
+			Map<?, ?> range = (Map<?, ?>) change.get("range");
+
+			if (range == null) {
+				text = newText;
+				return;
+			} // end if
+
+			LineIndex lines = new LineIndex(text);
+			int start = lines.offset((Map<?, ?>) range.get("start"));
+			int end = Math.max(start, lines.offset((Map<?, ?>) range.get("end")));
+			text = text.substring(0, start) + newText + text.substring(end);
+		} // end apply()
+
+		synchronized void cancel() {
+			if (pending != null) pending.cancel(false);
+		} // end cancel()
+
+		// document symbols of the classes, with their members as children, of the last text parsed
+		List<Object> symbols() {
+			String text;
+
+			synchronized (this) {
+				text = parser != null ? parser.getSource() : this.text;
+			} // end synchronized
+
+			if (text == symbolsSource) return symbols;
+			symbolsSource = text;
+			Outline outline;
+
+			try {
+				outline = Outline.extract(text);
+			} catch (InvalidInputException | RuntimeException | StackOverflowError e) {
+				return symbols;
+			} // end try/catch
+
+			LineIndex lines = new LineIndex(text);
+			HashMap<Outline.Declaration, List<Object>> children = new HashMap<Outline.Declaration, List<Object>>();
+			List<Object> top = new ArrayList<Object>();
+
+			for (Outline.Declaration declaration : outline.getDeclarations()) {
+				Map<String, Object> range = object("start", lines.position(declaration.getStartOffset()),
+						"end", lines.position(declaration.getEndOffset()));
+				Map<String, Object> symbol = object("name", declaration.getName(), "detail", declaration.getSignature(),
+						"kind", kind(declaration.getKind()), "range", range, "selectionRange", range);
+
+				if (declaration.getKind() == Outline.Kind.CLASS) {
+					List<Object> members = new ArrayList<Object>();
+					children.put(declaration, members);
+					symbol.put("children", members);
+				} // end if
+
+				List<Object> parent = children.get(declaration.getEnclosingClass());
+				(parent != null ? parent : top).add(symbol);
+			} // end for
+
+			symbols = top;
+			return symbols;
+		} // end symbols()
+
+		private static int kind(Outline.Kind kind) {
+			switch (kind) {
+			case CLASS:			return CLASS;
+			case FIELD:			return FIELD;
+			case CONSTRUCTOR:	return CONSTRUCTOR;
+			default:			return METHOD;
+			} // end switch
+		} // end kind()
+
+	} // end Document
+
+	// start offsets of the lines of a text, for turning offsets into positions and back
+	private static class LineIndex {
+
+		private final String text;
+		private int[] starts = new int[64];
+		private int lines;
+
+		LineIndex(String text) {
+			this.text = text;
+
+			for (int i = -1; ; i = text.indexOf('\n', i + 1)) {
+				if (lines == starts.length) starts = Arrays.copyOf(starts, lines * 2);
+				starts[lines++] = i + 1;
+				if (text.indexOf('\n', i + 1) < 0) break;
+			} // end for
+		} // end constructor
+
+		int lines() {
+			return lines;
+		}
+
+		int start(int line) {
+			return starts[line];
+		}
+
+		// offset of the line break, or the end of the text on the last line
+		int end(int line) {
+			int end = line + 1 < lines ? starts[line + 1] - 1 : text.length();
+			return end > starts[line] && text.charAt(end - 1) == '\r' ? end - 1 : end;
+		} // end end()
+
+		// offset of a position, in UTF-16 characters as the protocol counts them
+		int offset(Map<?, ?> position) {
+			int line = Math.max(0, number(position.get("line")));
+			if (line >= lines) return text.length();
+			return Math.min(starts[line] + Math.max(0, number(position.get("character"))), end(line));
+		} // end offset()
+
+		Map<String, Object> position(int offset) {
+			int line = Arrays.binarySearch(starts, 0, lines, offset);
+			if (line < 0) line = -line - 2;
+			return object("line", line, "character", offset - starts[line]);
+		} // end position()
+
+	} // end LineIndex
+
+} // end LanguageServer
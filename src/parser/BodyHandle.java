@@ -0,0 +1,78 @@
+/**
+ * Method or initializer body that the Parser skipped in lazy mode. The body
+ * is parsed the first time its output is asked for, so syntax errors inside
+ * it are only found then.
+ */
+
+package parser;
+
+import java.util.ArrayDeque;
+
+import types.InvalidInputException;
+
+public class BodyHandle {
+
+	private final TokenBuffer tokens;
+	private final int startToken;		// token index of "{"
+	private final int endToken;			// token index after "}"
+	private final int indentationLevel;	// indentation of the output of the body
+	private final int outputLine;		// line of the parser output the body belongs before
+	private ArrayDeque<String> output;	// null until parsed
+
+	BodyHandle(TokenBuffer tokens, int startToken, int endToken, int indentationLevel, int outputLine) {
+		this.tokens = tokens;
+		this.startToken = startToken;
+		this.endToken = endToken;
+		this.indentationLevel = indentationLevel;
+		this.outputLine = outputLine;
+	} // end constructor
+
+	public int getStartToken() {
+		return startToken;
+	}
+
+	public int getEndToken() {
+		return endToken;
+	}
+
+	/**
+	 * Gets the line of the parser output that the output of the body belongs before
+	 * @return Index in the output queue of the parser
+	 */
+	public int getOutputLine() {
+		return outputLine;
+	}
+
+	/**
+	 * Gets the input line the body starts on
+	 * @return Line number of "{"
+	 */
+	public int getLineNumber() {
+		return tokens.getLineNumber(startToken);
+	}
+
+	/**
+	 * Checks if the body was parsed
+	 * @return True once parse() succeeded
+	 */
+	public synchronized boolean isParsed() {
+		return output != null;
+	}
+
+	/**
+	 * Parses the body as a <block> if it was not parsed yet
+	 *
+	 * @return The output of the body
+	 * @throws InvalidInputException if the body has a syntax error
+	 */
+	public synchronized ArrayDeque<String> parse() throws InvalidInputException {
+		if (output == null) {
+			Parser parser = new Parser(tokens, startToken, indentationLevel);
+			parser.parseRule("block");
+			output = parser.getOutputQueue();
+		} // end if
+
+		return new ArrayDeque<String>(output);
+	} // end parse()
+
+} // end BodyHandle
@@ -0,0 +1,82 @@
+/**
+ * Index of the matching "{" and "}", "(" and ")", and "[" and "]" lexemes of
+ * an input, by token index, built in a single pass over the tokens. Each kind
+ * of bracket is matched on its own, so a brace is matched with a brace even
+ * when parentheses between them are unbalanced.
+ */
+
+package parser;
+
+import java.util.Arrays;
+
+import types.Lexeme;
+
+public class BracketIndex {
+
+	private final int[] partners; // token index of the matching bracket, -1 if none
+	private int unmatched;
+
+	/**
+	 * Constructor matches the brackets of the lexemes
+	 *
+	 * @param lexemes Lexemes of the input
+	 * @param size Number of lexemes
+	 */
+	BracketIndex(Lexeme[] lexemes, int size) {
+		partners = new int[size];
+		Arrays.fill(partners, -1);
+
+		// open brackets of each kind that are still unmatched
+		int[][] stacks = { new int[16], new int[16], new int[16] };
+		int[] tops = new int[3];
+
+		for (int i = 0; i < size; i++) {
+			int kind;
+			boolean open;
+
+			switch (lexemes[i].getToken()) {
+			case LEFT_BRACE:	kind = 0; open = true;	break;
+			case RIGHT_BRACE:	kind = 0; open = false;	break;
+			case LEFT_PAREN:	kind = 1; open = true;	break;
+			case RIGHT_PAREN:	kind = 1; open = false;	break;
+			case LEFT_BRACKET:	kind = 2; open = true;	break;
+			case RIGHT_BRACKET:	kind = 2; open = false;	break;
+			default:
+				continue;
+			} // end switch
+
+			if (open) {
+				if (tops[kind] == stacks[kind].length) stacks[kind] = Arrays.copyOf(stacks[kind], tops[kind] * 2);
+				stacks[kind][tops[kind]++] = i;
+			} else if (tops[kind] > 0) {
+				int partner = stacks[kind][--tops[kind]];
+				partners[partner] = i;
+				partners[i] = partner;
+			} else {
+				unmatched++;
+			} // end if/else
+		} // end for
+
+		unmatched += tops[0] + tops[1] + tops[2];
+	} // end constructor
+
+	/**
+	 * Gets the matching bracket of a bracket
+	 *
+	 * @param index Token index of a bracket
+	 * @return Token index of the matching bracket, or -1 if it is unmatched
+	 *  or not a bracket
+	 */
+	public int getPartner(int index) {
+		return partners[index];
+	} // end getPartner()
+
+	/**
+	 * Checks if every bracket has a match
+	 * @return True if the brackets are balanced
+	 */
+	public boolean isBalanced() {
+		return unmatched == 0;
+	} // end isBalanced()
+
+} // end BracketIndex
@@ -2,9 +2,21 @@ package parser;
 
 import java.io.IOException;
 
+import batch.CommandLine;
+
 public class Driver {
 
+    // with arguments, checks files from the command line without opening the window
     public static void main(String args[]){
+        if (args.length > 0) {
+            System.exit(CommandLine.run(args, System.in, System.out, System.err));
+        } // end if
+
+        openWindow();
+	} // end main
+
+    // the ParserWindow is only loaded here, so the command line never loads Swing
+    private static void openWindow() {
         ParserWindow theWindow = new ParserWindow();
         try{
             theWindow.buildWindow();//start the window
@@ -12,5 +24,5 @@ public class Driver {
         catch(IOException exception){
             theWindow.outputField.setText("IO Error.");
 		} // end catch
-	} // end main
+	} // end openWindow
 } // end Driver
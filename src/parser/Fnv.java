@@ -0,0 +1,32 @@
+/**
+ * 64 bit FNV-1a hash of the characters of a string, shared by the caches and
+ * indexes that key on source text, file names or identifiers. The values are
+ * stored in cache, index and filter files, so the hash must not change.
+ */
+
+package parser;
+
+public final class Fnv {
+
+	private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+	private static final long PRIME = 0x100000001b3L;
+
+	private Fnv() {
+	} // end constructor
+
+	/**
+	 * Hashes the UTF-16 characters of a string
+	 * @param text Characters to hash
+	 * @return 64 bit FNV-1a hash
+	 */
+	public static long hash(CharSequence text) {
+		long hash = OFFSET_BASIS;
+
+		for (int i = 0; i < text.length(); i++) {
+			hash = (hash ^ text.charAt(i)) * PRIME;
+		} // end for
+
+		return hash;
+	} // end hash()
+
+} // end Fnv
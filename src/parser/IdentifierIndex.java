@@ -0,0 +1,544 @@
+/**
+ * Inverted index of the identifiers of many files, for finding every use of
+ * a name without reading the files again. Each identifier is interned as a
+ * symbol with a posting list of its occurrences: the file, character offset,
+ * line and role of each. Posting lists are appended to in file order and
+ * compressed as varint deltas.
+ *
+ * A file is updated by indexing it again under a new file number. The old
+ * number is marked as removed and its postings are skipped by queries, then
+ * dropped when the index is saved.
+ *
+ * Usage: java parser.IdentifierIndex <index file> <identifier>
+ */
+
+package parser;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import types.Lexeme;
+import types.Token;
+
+public class IdentifierIndex {
+
+	/**
+	 * What an occurrence of an identifier is, judged from the rule it was
+	 * parsed in
+	 */
+	public enum Role {
+		DECLARATION,	// name of a class, method, field, variable or parameter being declared
+		TYPE,			// name in a type
+		CALL,			// name of a method being called
+		REFERENCE		// any other use
+	}
+
+	private static final int MAGIC = 0x4a494431; // "JID1"
+
+	private static final int ARGUMENTS = SyntaxTree.kind("arguments");
+	private static final int CLASS_ALLOCATOR = SyntaxTree.kind("class_allocator");
+	private static final int CLASS_BODY_DECLARATION = SyntaxTree.kind("class_body_declaration");
+	private static final int METHOD_DECLARATION = SyntaxTree.kind("method_declaration");
+	private static final int FIELD_DECLARATION = SyntaxTree.kind("field_declaration");
+	private static final int VARIABLE_DECLARATORS = SyntaxTree.kind("variable_declarators");
+	private static final int VARIABLE_DECLARATORS_AFTER_ID = SyntaxTree.kind("variable_declarators_afterID");
+	private static final int TYPE_ARGUMENTS = SyntaxTree.kind("type_arguments");
+	private static final int TYPE = SyntaxTree.kind("type");
+	private static final int QUALIFIED_IDENTIFIER = SyntaxTree.kind("qualified_identifier");
+	private static final int STATEMENT = SyntaxTree.kind("statement");
+	private static final int BLOCK_STATEMENT = SyntaxTree.kind("block_statement");
+	private static final int TYPE_PARAMETER = SyntaxTree.kind("type_parameter");
+	private static final int[] DECLARING = { SyntaxTree.kind("class_declaration"),
+			SyntaxTree.kind("variable_declarator"), SyntaxTree.kind("parameter"), SyntaxTree.kind("catch") };
+	private static final int[] TYPES = { TYPE, SyntaxTree.kind("type_half"), SyntaxTree.kind("type_argument"),
+			SyntaxTree.kind("allocator"), SyntaxTree.kind("inner_allocator") };
+	private static final int[] TYPE_NAMES = { SyntaxTree.kind("catch"), METHOD_DECLARATION };
+	private static final long DECLARATOR_FOLLOWERS = Token.set(Token.SEMICOLON, Token.COMMA, Token.LEFT_BRACKET);
+
+	// symbols
+	private final HashMap<String, Integer> symbolIds = new HashMap<String, Integer>();
+	private final List<String> symbols = new ArrayList<String>();
+	private byte[][] postings = new byte[0][]; // by symbol
+	private int[] postingBytes = new int[0];
+	private int[] lastFiles = new int[0]; // file number of the last posting of each symbol
+
+	// files, by number
+	private final List<Path> paths = new ArrayList<Path>();
+	private final List<Long> stamps = new ArrayList<Long>(); // hash of the content, null once removed
+	private final HashMap<Path, Integer> fileIds = new HashMap<Path, Integer>();
+
+	/**
+	 * Reads an index file
+	 *
+	 * @param file Index file
+	 * @return The index, or an empty index if there is no file or it is for another parser version
+	 * @throws IOException if the file cannot be read
+	 */
+	public static IdentifierIndex load(Path file) throws IOException {
+		IdentifierIndex index = new IdentifierIndex();
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (in.readInt() != MAGIC || in.readInt() != Parser.VERSION) return index;
+
+			for (int count = in.readInt(); count > 0; count--) {
+				Path path = Paths.get(in.readUTF());
+				index.fileIds.put(path, index.paths.size());
+				index.paths.add(path);
+				index.stamps.add(in.readLong());
+			} // end for
+
+			int symbolCount = in.readInt();
+			index.growSymbols(symbolCount);
+
+			for (int symbol = 0; symbol < symbolCount; symbol++) {
+				String name = in.readUTF();
+				index.symbolIds.put(name, symbol);
+				index.symbols.add(name);
+				index.lastFiles[symbol] = in.readInt();
+				index.postingBytes[symbol] = in.readInt();
+				index.postings[symbol] = new byte[index.postingBytes[symbol]];
+				in.readFully(index.postings[symbol]);
+			} // end for
+		} catch (NoSuchFileException e) {
+			// a new index
+		} // end try/catch
+
+		return index;
+	} // end load()
+
+	/**
+	 * Writes the index file, leaving out the postings of removed files
+	 *
+	 * @param file Index file
+	 * @throws IOException if the file cannot be written
+	 */
+	public synchronized void save(Path file) throws IOException {
+		// new numbers for the files that were not removed
+		int[] renumbered = new int[paths.size()];
+		int live = 0;
+
+		for (int i = 0; i < paths.size(); i++) {
+			renumbered[i] = stamps.get(i) != null ? live++ : -1;
+		} // end for
+
+		Path parent = file.toAbsolutePath().getParent();
+		Files.createDirectories(parent);
+		Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(Parser.VERSION);
+				out.writeInt(live);
+
+				for (int i = 0; i < paths.size(); i++) {
+					if (renumbered[i] < 0) continue;
+					out.writeUTF(paths.get(i).toString());
+					out.writeLong(stamps.get(i));
+				} // end for
+
+				out.writeInt(symbols.size());
+				Postings kept = new Postings();
+
+				for (int symbol = 0; symbol < symbols.size(); symbol++) {
+					kept.clear();
+
+					for (Cursor cursor = new Cursor(symbol); cursor.next(); ) {
+						if (renumbered[cursor.file] >= 0) {
+							kept.add(renumbered[cursor.file], cursor.offset, cursor.line, cursor.role);
+						} // end if
+					} // end for
+
+					out.writeUTF(symbols.get(symbol));
+					out.writeInt(kept.lastFile);
+					out.writeInt(kept.size);
+					out.write(kept.bytes, 0, kept.size);
+				} // end for
+			} // end try
+
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temp);
+		} // end try/finally
+	} // end save()
+
+	/**
+	 * Checks if a file is indexed with the same content
+	 *
+	 * @param path Path of the file
+	 * @param source Content of the file
+	 * @return True if the index is up to date for the file
+	 */
+	public synchronized boolean isIndexed(Path path, String source) {
+		Integer file = fileIds.get(path);
+		return file != null && stamps.get(file) == stamp(source);
+	} // end isIndexed()
+
+	/**
+	 * Indexes the identifiers of a file, replacing what was indexed for it before
+	 *
+	 * @param path Path of the file
+	 * @param source Content of the file
+	 * @param parser Parser in tree mode that parsed the content
+	 */
+	public void update(Path path, String source, Parser parser) {
+		SyntaxTree tree = parser.getSyntaxTree();
+		if (tree == null) throw new IllegalStateException("parser is not in tree mode");
+
+		TokenBuffer tokens = parser.tokens;
+		int size = tokens.size();
+
+		// innermost node of each token, and where some nodes start
+		int[] owners = new int[size];
+		boolean[] calls = new boolean[size + 1];		// arguments of a method call start here
+		boolean[] members = new boolean[size + 1];		// rest of a method or field declaration starts here
+		boolean[] declarators = new boolean[size + 1];	// declarators or type arguments of a local variable start here
+		boolean[] typeEnds = new boolean[size + 1];		// a type ends before here
+		boolean[] typeStatements = new boolean[tree.size()]; // block statements that are only a type
+		boolean[] notTypes = new boolean[tree.size()]; // block statements with parts a type does not have
+		boolean[] typeStatementEnds = new boolean[size + 1]; // a block statement that is only a type ends before here
+		Arrays.fill(owners, -1);
+
+		for (int node = 0; node < tree.size(); node++) {
+			int kind = tree.getKind(node);
+			int start = tree.getStartToken(node);
+			int end = tree.getEndToken(node);
+			int parent = tree.getParent(node);
+
+			for (int i = start; i < end; i++) owners[i] = node;
+
+			if (kind == ARGUMENTS) calls[start] = parent < 0 || tree.getKind(parent) != CLASS_ALLOCATOR;
+			else if (kind == METHOD_DECLARATION || kind == FIELD_DECLARATION) members[start] = true;
+			else if (kind == VARIABLE_DECLARATORS || kind == TYPE_ARGUMENTS) declarators[start] = true;
+			else if (kind == TYPE) typeEnds[end] = true;
+
+			// the Parser ends a local variable's type, as in "String s = x;", with an empty
+			// variable_declarators_afterID, and parses the name and the rest as the next block statement
+			if (parent < 0 || tree.getKind(parent) != BLOCK_STATEMENT || kind == TYPE_ARGUMENTS) continue;
+
+			if (kind == VARIABLE_DECLARATORS_AFTER_ID && start == end && !notTypes[parent]) {
+				typeStatements[parent] = true;
+				typeStatementEnds[end] = true;
+			} else {
+				notTypes[parent] = true; // such as the selector of "x[1] = 2"
+			} // end if/else
+		} // end for
+
+		// occurrences sorted by symbol, then offset
+		ArrayList<long[]> occurrences = new ArrayList<long[]>();
+		HashMap<String, Integer> ids = new HashMap<String, Integer>();
+
+		for (int i = 0; i < size; i++) {
+			if (tokens.get(i).getToken() != Token.IDENTIFIER) continue;
+
+			Role role;
+
+			if (owners[i] >= 0 && tree.getKind(owners[i]) == BLOCK_STATEMENT && tree.getStartToken(owners[i]) == i
+					&& typeStatementEnds[i] && i + 1 < size && declaratorFollows(tokens.get(i + 1))) {
+				role = Role.DECLARATION; // name of a local variable after its type
+			} else if (owners[i] >= 0 && typeStatements[owners[i]]) {
+				role = Role.TYPE;
+			} else {
+				role = role(tree, owners[i], i, calls[i + 1], members[i + 1], declarators[i + 1], typeEnds[i]);
+			} // end if/else
+
+			ids.putIfAbsent(tokens.get(i).getLexeme(), ids.size());
+			occurrences.add(new long[] { ids.get(tokens.get(i).getLexeme()), tokens.getStartOffset(i),
+					tokens.getLineNumber(i), role.ordinal() });
+		} // end for
+
+		String[] names = new String[ids.size()];
+		for (String name : ids.keySet()) names[ids.get(name)] = name;
+		occurrences.sort((a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+
+		synchronized (this) {
+			remove(path);
+			int file = paths.size();
+			fileIds.put(path, file);
+			paths.add(path);
+			stamps.add(stamp(source));
+
+			Postings added = new Postings();
+
+			for (int i = 0; i < occurrences.size(); ) {
+				long id = occurrences.get(i)[0];
+				int symbol = symbol(names[(int) id]);
+
+				// the postings of this file are appended after the last posting of the symbol
+				added.reset(postings[symbol], postingBytes[symbol], lastFiles[symbol]);
+
+				for (; i < occurrences.size() && occurrences.get(i)[0] == id; i++) {
+					long[] occurrence = occurrences.get(i);
+					added.add(file, (int) occurrence[1], (int) occurrence[2], (int) occurrence[3]);
+				} // end for
+
+				postings[symbol] = added.bytes;
+				postingBytes[symbol] = added.size;
+				lastFiles[symbol] = added.lastFile;
+			} // end for
+		} // end synchronized
+	} // end update()
+
+	/**
+	 * Removes a file from the index, for a file that was deleted or no longer parses
+	 * @param path Path of the file
+	 */
+	public synchronized void remove(Path path) {
+		Integer file = fileIds.remove(path);
+		if (file != null) stamps.set(file, null);
+	} // end remove()
+
+	/**
+	 * Finds the occurrences of an identifier
+	 *
+	 * @param name The identifier
+	 * @return The occurrences, in file order and then input order
+	 */
+	public synchronized List<Occurrence> find(String name) {
+		List<Occurrence> found = new ArrayList<Occurrence>();
+		Integer symbol = symbolIds.get(name);
+		if (symbol == null) return found;
+
+		Role[] roles = Role.values();
+
+		for (Cursor cursor = new Cursor(symbol); cursor.next(); ) {
+			if (stamps.get(cursor.file) == null) continue;
+			found.add(new Occurrence(paths.get(cursor.file), cursor.offset, cursor.line, roles[cursor.role]));
+		} // end for
+
+		return found;
+	} // end find()
+
+	/**
+	 * Gets the number of files in the index
+	 * @return Number of files
+	 */
+	public synchronized int size() {
+		return fileIds.size();
+	} // end size()
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 2) {
+			System.err.println("Usage: java parser.IdentifierIndex <index file> <identifier>");
+			System.exit(2);
+		} // end if
+
+		for (Occurrence occurrence : load(Paths.get(args[0])).find(args[1])) {
+			System.out.println(occurrence);
+		} // end for
+	} // end main()
+
+	// the role of an identifier from its innermost node and the nodes around it
+	private static Role role(SyntaxTree tree, int owner, int token, boolean call, boolean member,
+			boolean declarator, boolean afterType) {
+		if (call) return Role.CALL;
+		if (owner < 0) return Role.REFERENCE;
+
+		int kind = tree.getKind(owner);
+		int parent = tree.getParent(owner);
+
+		if (kind == CLASS_BODY_DECLARATION) return member ? Role.DECLARATION : Role.TYPE;
+		if (kind == TYPE_PARAMETER) return token == tree.getStartToken(owner) ? Role.DECLARATION : Role.TYPE;
+		if (contains(DECLARING, kind)) return Role.DECLARATION;
+		if (contains(TYPES, kind)) return Role.TYPE;
+		if (kind == QUALIFIED_IDENTIFIER && parent >= 0 && contains(TYPE_NAMES, tree.getKind(parent))) return Role.TYPE;
+		if (kind == BLOCK_STATEMENT && declarator) return Role.TYPE;
+		if (kind == STATEMENT && afterType) return Role.DECLARATION; // for loop variable
+		return Role.REFERENCE;
+	} // end role()
+
+	// checks if a lexeme can follow the name of a variable being declared: =, ;, "," or [
+	private static boolean declaratorFollows(Lexeme next) {
+		if (next.getToken() == Token.ASSIGNMENT_OPERATOR) return next.getLexeme().equals("=");
+		return next.getToken().in(DECLARATOR_FOLLOWERS);
+	} // end declaratorFollows()
+
+	private static boolean contains(int[] kinds, int kind) {
+		for (int k : kinds) {
+			if (k == kind) return true;
+		} // end for
+		return false;
+	} // end contains()
+
+	// hash of the content of a file, with its length
+	private static long stamp(String source) {
+		return Fnv.hash(source) ^ source.length();
+	} // end stamp()
+
+	// gets the number of a symbol, adding it if it is new
+	private int symbol(String name) {
+		Integer symbol = symbolIds.get(name);
+
+		if (symbol == null) {
+			symbol = symbols.size();
+			symbolIds.put(name, symbol);
+			symbols.add(name);
+			growSymbols(symbol + 1);
+			lastFiles[symbol] = -1;
+		} // end if
+
+		return symbol;
+	} // end symbol()
+
+	// makes room for a number of symbols
+	private void growSymbols(int count) {
+		if (count <= postings.length) return;
+
+		int length = Math.max(count, postings.length * 2);
+		postings = Arrays.copyOf(postings, length);
+		postingBytes = Arrays.copyOf(postingBytes, length);
+		lastFiles = Arrays.copyOf(lastFiles, length);
+	} // end growSymbols()
+
+	/**
+	 * An occurrence of an identifier
+	 */
+	public static class Occurrence {
+
+		private final Path path;
+		private final int offset;
+		private final int line;
+		private final Role role;
+
+		Occurrence(Path path, int offset, int line, Role role) {
+			this.path = path;
+			this.offset = offset;
+			this.line = line;
+			this.role = role;
+		} // end constructor
+
+		public Path getPath() {
+			return path;
+		}
+
+		// character offset of the identifier in the file
+		public int getOffset() {
+			return offset;
+		}
+
+		public int getLine() {
+			return line;
+		}
+
+		public Role getRole() {
+			return role;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%s:%d: %s", path, line, role);
+		}
+
+	} // end Occurrence
+
+	/**
+	 * Posting list being written. Each posting is the varints of the file
+	 * number minus the last posting's, then the offset after the last
+	 * posting's in the same file, times 4, plus the role, then the line after
+	 * the last posting's in the same file.
+	 */
+	private static class Postings {
+
+		byte[] bytes = new byte[64];
+		int size;
+		int lastFile = -1;
+		private int lastOffset;
+		private int lastLine;
+
+		// starts over on an empty list
+		void clear() {
+			reset(bytes, 0, -1);
+		} // end clear()
+
+		// continues a list
+		void reset(byte[] bytes, int size, int lastFile) {
+			this.bytes = bytes != null ? bytes : new byte[16];
+			this.size = size;
+			this.lastFile = lastFile;
+		} // end reset()
+
+		void add(int file, int offset, int line, int role) {
+			if (file != lastFile) {
+				lastOffset = 0;
+				lastLine = 0;
+			} // end if
+
+			writeVarint(file - lastFile);
+			writeVarint((offset - lastOffset) << 2 | role);
+			writeVarint(line - lastLine);
+			lastFile = file;
+			lastOffset = offset;
+			lastLine = line;
+		} // end add()
+
+		private void writeVarint(int value) {
+			if (size + 5 > bytes.length) bytes = Arrays.copyOf(bytes, bytes.length * 2 + 5);
+
+			while ((value & ~0x7f) != 0) {
+				bytes[size++] = (byte) ((value & 0x7f) | 0x80);
+				value >>>= 7;
+			} // end while
+
+			bytes[size++] = (byte) value;
+		} // end writeVarint()
+
+	} // end Postings
+
+	// reads the posting list of a symbol
+	private class Cursor {
+
+		private final byte[] bytes;
+		private final int size;
+		private int position;
+		int file = -1;
+		int offset;
+		int line;
+		int role;
+
+		Cursor(int symbol) {
+			bytes = postings[symbol];
+			size = postingBytes[symbol];
+		} // end constructor
+
+		boolean next() {
+			if (position >= size) return false;
+
+			int fileDelta = readVarint();
+			if (fileDelta != 0) {
+				offset = 0;
+				line = 0;
+			} // end if
+
+			file += fileDelta;
+			int packed = readVarint();
+			offset += packed >>> 2;
+			role = packed & 3;
+			line += readVarint();
+			return true;
+		} // end next()
+
+		private int readVarint() {
+			int value = 0;
+
+			for (int shift = 0; ; shift += 7) {
+				byte b = bytes[position++];
+				value |= (b & 0x7f) << shift;
+				if (b >= 0) return value;
+			} // end for
+		} // end readVarint()
+
+	} // end Cursor
+
+} // end IdentifierIndex
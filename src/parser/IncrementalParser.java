@@ -0,0 +1,238 @@
+/**
+ * Parser that keeps the tokens, syntax tree and output of its last parse, so
+ * that after an edit only the smallest class body statement or block that
+ * contains the changed tokens is parsed again. The output of everything
+ * else is reused, and is the same as a full parse of the edited input.
+ *
+ * Only the parsing is limited to the changed node. An edit still takes time
+ * linear in the size of the file for the rest, which is plain copying and
+ * lexing, much cheaper than parsing but not constant:
+ *
+ *   - the new source is built as a new string
+ *   - the whole new source is lexed, to compare its tokens with the old
+ *   - output lines after the node are moved in the list of output
+ *   - tree nodes after the node are moved, and their token spans and
+ *     output lines shifted
+ *   - getOutputQueue() copies all the output
+ *
+ * Without trace mode there is no output to move or copy. Keeping the source
+ * in a gap buffer or rope and the spans relative to their parents would
+ * remove the rest, if edits of very large files need it.
+ */
+
+package parser;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+
+import interfaces.ParserInterface;
+import types.InvalidInputException;
+import types.Lexeme;
+
+public class IncrementalParser implements ParserInterface {
+
+	private String source;
+	private TokenBuffer tokens;
+	private SyntaxTree tree; // null if the last parse failed
+	private ArrayList<String> output;
+	private String errorMessage;
+	private int reparsedNode; // node parsed again by the last edit, -1 for a full parse
+	private boolean trace = true; // false to keep only the syntax tree
+
+	/**
+	 * Constructor stores the input string, which is parsed by start()
+	 *
+	 * @param inputString
+	 */
+	public IncrementalParser(String inputString) {
+		source = inputString;
+		output = new ArrayList<String>();
+		reparsedNode = -1;
+	} // end constructor
+
+	// a copy of all the output, which takes time linear in its size
+	@Override
+	public ArrayDeque<String> getOutputQueue() {
+		return new ArrayDeque<String>(output);
+	}
+
+	@Override
+	public String getErrorMessage() {
+		return errorMessage;
+	}
+
+	// parse the whole input
+	@Override
+	public void start() throws InvalidInputException {
+		parseAll(new TokenBuffer(source));
+	} // end start()
+
+	/**
+	 * Enables or disables output. Without output, only the syntax tree is
+	 * kept, which makes parsing and edits faster.
+	 *
+	 * @param enabled True to produce output
+	 */
+	public void setTraceMode(boolean enabled) {
+		trace = enabled;
+	} // end setTraceMode()
+
+	/**
+	 * Gets the input after all edits
+	 * @return The input string
+	 */
+	public String getSource() {
+		return source;
+	}
+
+	/**
+	 * Gets the syntax tree of the last parse
+	 * @return The tree, or null if the last parse failed
+	 */
+	public SyntaxTree getSyntaxTree() {
+		return tree;
+	}
+
+	/**
+	 * Gets the node that the last edit parsed again
+	 * @return Node in the syntax tree, or -1 if the whole input was parsed
+	 */
+	public int getReparsedNode() {
+		return reparsedNode;
+	}
+
+	/**
+	 * Replaces part of the input and parses it again, reusing the output of
+	 * every class body statement and block the changed tokens are not part of.
+	 * Copying and lexing are still linear in the size of the input.
+	 *
+	 * @param offset Character offset of the replaced text
+	 * @param length Length of the replaced text
+	 * @param text Text to insert
+	 * @throws InvalidInputException
+	 */
+	public void edit(int offset, int length, String text) throws InvalidInputException {
+		source = source.substring(0, offset) + text + source.substring(offset + length);
+		TokenBuffer newTokens = new TokenBuffer(source);
+
+		if (tree == null) {
+			parseAll(newTokens);
+			return;
+		} // end if
+
+		// tokens before and after the edit that did not change
+		int oldSize = tokens.size();
+		int newSize = newTokens.size();
+		int prefix = 0;
+		int suffix = 0;
+
+		while (prefix < oldSize && prefix < newSize && same(tokens.get(prefix), newTokens.get(prefix))) {
+			prefix++;
+		} // end while
+
+		while (suffix < oldSize - prefix && suffix < newSize - prefix
+				&& same(tokens.get(oldSize - 1 - suffix), newTokens.get(newSize - 1 - suffix))) {
+			suffix++;
+		} // end while
+
+		tokens = newTokens;
+
+		// only whitespace or comments changed
+		if (prefix == oldSize && prefix == newSize) {
+			reparsedNode = -1;
+			return;
+		} // end if
+
+		int node = enclosingNode(prefix, oldSize - suffix);
+
+		if (node < 0) {
+			parseAll(newTokens);
+			return;
+		} // end if
+
+		int tokenDelta = newSize - oldSize;
+		Parser parser = new Parser(newTokens, tree.getStartToken(node), tree.getDepth(node));
+		parser.setTraceMode(trace);
+		parser.setTreeMode(true);
+
+		try {
+			parser.parseRule(tree.getName(node));
+		} catch (InvalidInputException e) {
+			// a full parse reports the same error as the Parser would
+			parseAll(newTokens);
+			return;
+		} // end try/catch
+
+		// the node must end where the unchanged tokens start again
+		if (parser.position != tree.getEndToken(node) + tokenDelta) {
+			parseAll(newTokens);
+			return;
+		} // end if
+
+		output.subList(tree.getStartLine(node), tree.getEndLine(node)).clear();
+		output.addAll(tree.getStartLine(node), parser.getOutputQueue());
+		tree.replace(node, parser.getSyntaxTree(), tokenDelta);
+		reparsedNode = node;
+	} // end edit()
+
+	/**
+	 * Finds the smallest class body statement or block whose first and last
+	 * tokens are outside the changed tokens
+	 *
+	 * @param start Index of the first changed token
+	 * @param end Index after the last changed token
+	 * @return Node in the syntax tree, or -1 if there is none
+	 */
+	private int enclosingNode(int start, int end) {
+		int found = -1;
+		int node = 0;
+
+		if (tree.size() == 0 || tree.getStartToken(0) >= start || end >= tree.getEndToken(0)) return -1;
+
+		while (node >= 0) {
+			String name = tree.getName(node);
+			if (name.equals("class_body_statement") || name.equals("block")) found = node;
+
+			int next = -1;
+
+			for (int child = node + 1; child < tree.getSubtreeEnd(node); child = tree.getSubtreeEnd(child)) {
+				if (tree.getStartToken(child) < start && end < tree.getEndToken(child)) {
+					next = child;
+					break;
+				} // end if
+			} // end for
+
+			node = next;
+		} // end while
+
+		return found;
+	} // end enclosingNode()
+
+	// parses the whole input again
+	private void parseAll(TokenBuffer newTokens) throws InvalidInputException {
+		Parser parser = new Parser(newTokens, 0, 0);
+		parser.setTraceMode(trace);
+		parser.setTreeMode(true);
+
+		tokens = newTokens;
+		tree = null;
+		reparsedNode = -1;
+
+		try {
+			parser.start();
+			tree = parser.getSyntaxTree();
+			errorMessage = null;
+		} catch (InvalidInputException e) {
+			errorMessage = e.getMessage();
+			throw e;
+		} finally {
+			output = new ArrayList<String>(parser.getOutputQueue());
+		} // end try/catch/finally
+	} // end parseAll()
+
+	// checks if two lexemes are the same
+	private static boolean same(Lexeme a, Lexeme b) {
+		return a.getToken() == b.getToken() && a.getLexeme().equals(b.getLexeme());
+	} // end same()
+
+} // end IncrementalParser
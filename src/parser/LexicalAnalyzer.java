@@ -14,7 +14,7 @@ public class LexicalAnalyzer implements LexicalAnalyzerInterface{
 
 	private String inputString;
 	private int position;
-	int lineNumber;
+	private int lineNumber;
 
 	/**
 	 * Constructor sets the input string and initializes the position index to 0.
@@ -26,11 +26,29 @@ public class LexicalAnalyzer implements LexicalAnalyzerInterface{
 		this.lineNumber = 1;
 	}
 
+	/**
+	 * Starts over on a new input string
+	 * @param inputString The input string to lexically analyze
+	 */
+	public void reset(String inputString) {
+		this.inputString = inputString;
+		this.position = 0;
+		this.lineNumber = 1;
+	}
+
 	@Override
 	public int getLineNumber() {
 		return this.lineNumber;
 	}
 
+	/**
+	 * Gets the character offset in the input after the last lexeme read
+	 * @return Offset in the input string
+	 */
+	public int getPosition() {
+		return this.position;
+	}
+
 	@Override
 	public Lexeme nextLexeme() {
 		Token token = null;
@@ -58,10 +76,9 @@ public class LexicalAnalyzer implements LexicalAnalyzerInterface{
 		case '/':
 			position++;
 
-			// single line comment
-			if (inputString.charAt(position) == '/') {
-				while (inputString.charAt(position) != '\n') {
-					//System.out.println(inputString.charAt(position));
+			// single line comment, which may end the input
+			if (next('/')) {
+				while (position < inputString.length() && inputString.charAt(position) != '\n') {
 					position++;
 				} // end while
 				lineNumber++;
@@ -70,19 +87,20 @@ public class LexicalAnalyzer implements LexicalAnalyzerInterface{
 			} // end if
 
 			// multi-line comment
-			if (inputString.charAt(position) == '*') {
-				while (inputString.charAt(position) != '*' || inputString.charAt(position+1) != '/') {
+			if (next('*')) {
+				int start = position - 1;
+				while (position + 1 >= inputString.length() || inputString.charAt(position) != '*' || inputString.charAt(position+1) != '/') {
+					if (position + 1 >= inputString.length()) return unterminated(start);
 					if (inputString.charAt(position) == '\n')
 						lineNumber++;
 					position++;
 				}
 				position+=2;
-				System.out.println(inputString.charAt(position));
 				return nextLexeme();
 			}
 
 			// not a comment
-			if (inputString.charAt(position) == '=') {
+			if (next('=')) {
 				position++;
 				lexeme = "/=";
 				token = Token.ASSIGNMENT_OPERATOR;
@@ -159,7 +177,7 @@ public class LexicalAnalyzer implements LexicalAnalyzerInterface{
 		// = or ==
 		case '=':
 			position++;
-			if (inputString.charAt(position) == '=') {
+			if (next('=')) {
 				token = Token.INFIX_OPERATOR;
 				lexeme = "==";
 				position++;
@@ -179,12 +197,12 @@ public class LexicalAnalyzer implements LexicalAnalyzerInterface{
 		// * or *=
 		case '*':
 			position++;
-			if (inputString.charAt(position) == '=') {
+			if (next('=')) {
 				token = Token.ASSIGNMENT_OPERATOR;
 				lexeme = "*=";
 				position++;
 			} else {
-				token = Token.INFIX_OPERATOR;
+				token = Token.OPERATOR_MULTIPLY;
 				lexeme = "*";
 			}
 
@@ -193,11 +211,11 @@ public class LexicalAnalyzer implements LexicalAnalyzerInterface{
 		// +=, +, or ++
 		case '+':
 			position++;
-			if (inputString.charAt(position) == '=') {
+			if (next('=')) {
 				token = Token.ASSIGNMENT_OPERATOR;
 				lexeme = "+=";
 				position++;
-			} else if (inputString.charAt(position) == '+') {
+			} else if (next('+')) {
 				token = Token.OPERATOR_INCREMENT;
 				lexeme = "++";
 				position++;
@@ -210,11 +228,11 @@ public class LexicalAnalyzer implements LexicalAnalyzerInterface{
 		// -, -=, or --
 		case '-':
 			position++;
-			if (inputString.charAt(position) == '=') {
+			if (next('=')) {
 				token = Token.ASSIGNMENT_OPERATOR;
 				lexeme = "-=";
 				position++;
-			} else if (inputString.charAt(position) == '-') {
+			} else if (next('-')) {
 				token = Token.OPERATOR_DECREMENT;
 				lexeme = "--";
 				position++;
@@ -227,7 +245,7 @@ public class LexicalAnalyzer implements LexicalAnalyzerInterface{
 		// % or %=
 		case '%':
 			position++;
-			if (inputString.charAt(position) == '=') {
+			if (next('=')) {
 				token = Token.ASSIGNMENT_OPERATOR;
 				lexeme = "%=";
 				position++;
@@ -241,10 +259,12 @@ public class LexicalAnalyzer implements LexicalAnalyzerInterface{
 		case '\'':
 			String charLiteral = "";
 			position++;
+			if (position >= inputString.length()) return unterminated(position - 1);
 			while (inputString.charAt(position) != '\''
 					|| (inputString.charAt(position-1) == '\\') && inputString.charAt(position-2) != '\\') {
 				charLiteral += inputString.charAt(position);
 				position++;
+				if (position >= inputString.length()) return unterminated(position - charLiteral.length() - 1);
 			}
 			token = Token.CHAR_LITERAL;
 			lexeme = String.format("\'%s\'", charLiteral);
@@ -262,10 +282,12 @@ public class LexicalAnalyzer implements LexicalAnalyzerInterface{
 		case '\"':
 			String stringLiteral = "";
 			position++;
+			if (position >= inputString.length()) return unterminated(position - 1);
 			while (inputString.charAt(position) != '\"'
 					|| (inputString.charAt(position-1) == '\\') && inputString.charAt(position-2) != '\\') {
 				stringLiteral += inputString.charAt(position);
 				position++;
+				if (position >= inputString.length()) return unterminated(position - stringLiteral.length() - 1);
 			}
 			token = Token.STRING_LITERAL;
 			lexeme = String.format("\"%s\"", stringLiteral);
@@ -282,11 +304,11 @@ public class LexicalAnalyzer implements LexicalAnalyzerInterface{
 		// ||, |=, |
 		case '|':
 			position++;
-			if (inputString.charAt(position) == '|') {
+			if (next('|')) {
 				token = Token.INFIX_OPERATOR;
 				lexeme = "||";
 				position++;
-			} else if (inputString.charAt(position) == '=') {
+			} else if (next('=')) {
 				token = Token.ASSIGNMENT_OPERATOR;
 				lexeme = "|=";
 				position++;
@@ -299,16 +321,16 @@ public class LexicalAnalyzer implements LexicalAnalyzerInterface{
 		// &, &=, &&
 		case '&':
 			position++;
-			if (inputString.charAt(position) == '&') {
+			if (next('&')) {
 				token = Token.INFIX_OPERATOR;
 				lexeme = "&&";
 				position++;
-			} else if (inputString.charAt(position) == '=') {
+			} else if (next('=')) {
 				token = Token.ASSIGNMENT_OPERATOR;
 				lexeme = "&=";
 				position++;
 			} else {
-				token = Token.INFIX_OPERATOR;
+				token = Token.OPERATOR_AMPERSAND;
 				lexeme = "&";
 			}
 			break;
@@ -316,7 +338,7 @@ public class LexicalAnalyzer implements LexicalAnalyzerInterface{
 		// ^ or ^=
 		case '^':
 			position++;
-			if (inputString.charAt(position) == '=') {
+			if (next('=')) {
 				token = Token.ASSIGNMENT_OPERATOR;
 				lexeme = "^=";
 				position++;
@@ -329,7 +351,7 @@ public class LexicalAnalyzer implements LexicalAnalyzerInterface{
 		// ! or !!
 		case '!':
 			position++;
-			if (inputString.charAt(position) == '=') {
+			if (next('=')) {
 				token = Token.INFIX_OPERATOR;
 				lexeme = "!=";
 				position++;
@@ -363,7 +385,7 @@ public class LexicalAnalyzer implements LexicalAnalyzerInterface{
 		case '@':
 			String newAnnotation = "@";
 			position++;
-			while (Character.isAlphabetic(inputString.charAt(position))) {
+			while (position < inputString.length() && Character.isAlphabetic(inputString.charAt(position))) {
 				newAnnotation += inputString.charAt(position);
 				position++;
 			}
@@ -408,6 +430,27 @@ public class LexicalAnalyzer implements LexicalAnalyzerInterface{
 	} // end nextLexeme()
 
 
+	// checks if the character at the position is c, and not the end of the input
+	private boolean next(char c) {
+		return position < inputString.length() && inputString.charAt(position) == c;
+	} // end next()
+
+	/**
+	 * Makes the lexeme of a comment or literal the input ends inside of, as
+	 * a RESERVED_WORD so that the parser rejects it
+	 *
+	 * @param start Offset of the start of the comment or literal
+	 * @return The lexeme, which is the rest of the input
+	 */
+	private Lexeme unterminated(int start) {
+		for (int i = start; i < inputString.length(); i++) {
+			if (inputString.charAt(i) == '\n') lineNumber++;
+		} // end for
+
+		position = inputString.length();
+		return new Lexeme(Token.RESERVED_WORD, inputString.substring(start));
+	} // end unterminated()
+
 	// handles keywords and identifiers
 	private Token processIdentifier(String newLexeme) {
 		switch (newLexeme) {
@@ -426,15 +469,19 @@ public class LexicalAnalyzer implements LexicalAnalyzerInterface{
 		case "private":
 		case "protected":
 		case "abstract":
-		case "static":
 		case "final":
 		case "strictfp":
 		case "transient":
 		case "volatile":
-		case "synchronized":
 		case "native":
 			return Token.MODIFIER;
 
+		case "static":
+			return Token.MODIFIER_STATIC;
+
+		case "synchronized":
+			return Token.MODIFIER_SYNCHRONIZED;
+
 		case "assert":
 			return Token.KEYWORD_ASSERT;
 
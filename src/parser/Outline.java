@@ -0,0 +1,181 @@
+/**
+ * Outline of the declarations in a Java source file: its package, imports,
+ * classes, and the fields, methods and constructors of each class, with
+ * their signatures and where they are in the input. The outline is read by
+ * the Parser without producing output and without parsing method bodies.
+ */
+
+package parser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import types.InvalidInputException;
+
+public class Outline {
+
+	public enum Kind { CLASS, FIELD, METHOD, CONSTRUCTOR }
+
+	/**
+	 * A class, field, method or constructor declaration. Text is taken from
+	 * the input, and is an empty string for parts a declaration does not have.
+	 */
+	public static class Declaration {
+
+		Kind kind;
+		String name;
+		String modifiers = "";
+		String type = "";			// field type or method return type
+		String typeParameters = "";	// "<...>" of a class
+		String superclass = "";
+		List<String> interfaces = new ArrayList<String>();
+		List<String> parameters = new ArrayList<String>();
+		String signature = "";		// the declaration up to its body or initializer
+		Declaration enclosingClass;
+		int startOffset, endOffset, startLine, endLine;
+		int startToken, nameToken;
+
+		public Kind getKind() {
+			return kind;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public String getModifiers() {
+			return modifiers;
+		}
+
+		public String getType() {
+			return type;
+		}
+
+		public String getTypeParameters() {
+			return typeParameters;
+		}
+
+		public String getSuperclass() {
+			return superclass;
+		}
+
+		public List<String> getInterfaces() {
+			return Collections.unmodifiableList(interfaces);
+		}
+
+		public List<String> getParameters() {
+			return Collections.unmodifiableList(parameters);
+		}
+
+		public String getSignature() {
+			return signature;
+		}
+
+		/**
+		 * Gets the class the declaration is a member of
+		 * @return The class, or null for a top level class
+		 */
+		public Declaration getEnclosingClass() {
+			return enclosingClass;
+		}
+
+		// character offsets of the first character and after the last character
+		public int getStartOffset() {
+			return startOffset;
+		}
+
+		public int getEndOffset() {
+			return endOffset;
+		}
+
+		// lines of the first and last lexeme
+		public int getStartLine() {
+			return startLine;
+		}
+
+		public int getEndLine() {
+			return endLine;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%s %s [%d-%d]", kind, signature, startLine, endLine);
+		}
+
+	} // end Declaration
+
+	String packageName;
+	List<String> imports = new ArrayList<String>();
+	List<Declaration> declarations = new ArrayList<Declaration>();
+
+	/**
+	 * Reads the outline of an input string
+	 *
+	 * @param inputString Java source
+	 * @return The outline
+	 * @throws InvalidInputException if the input has a syntax error outside of method bodies
+	 */
+	public static Outline extract(String inputString) throws InvalidInputException {
+		return new Parser(inputString).outline();
+	} // end extract()
+
+	/**
+	 * Reads the outline of an input string on a parser that is reset for it,
+	 * such as one from a ParserPool
+	 *
+	 * @param parser Parser to reset
+	 * @param inputString Java source
+	 * @return The outline
+	 * @throws InvalidInputException if the input has a syntax error outside of method bodies
+	 */
+	public static Outline extract(Parser parser, String inputString) throws InvalidInputException {
+		parser.reset(inputString);
+		return parser.outline();
+	} // end extract()
+
+	/**
+	 * Gets the package name
+	 * @return The name, or null if there is no package declaration
+	 */
+	public String getPackageName() {
+		return packageName;
+	}
+
+	/**
+	 * Gets the imports, as written after "import", such as "static java.lang.Math.max"
+	 * @return The imports in input order
+	 */
+	public List<String> getImports() {
+		return Collections.unmodifiableList(imports);
+	}
+
+	/**
+	 * Gets the declarations of named classes and their members. Members of
+	 * anonymous classes are not included.
+	 * @return The declarations in input order
+	 */
+	public List<Declaration> getDeclarations() {
+		return Collections.unmodifiableList(declarations);
+	}
+
+	// creates a declaration spanning a range of tokens, and adds it to the outline
+	Declaration add(Kind kind, TokenBuffer tokens, int start, int name) {
+		Declaration declaration = new Declaration();
+		declaration.kind = kind;
+		declaration.name = tokens.get(name).getLexeme();
+		declaration.startToken = start;
+		declaration.nameToken = name;
+		declaration.startOffset = tokens.getStartOffset(start);
+		declaration.startLine = tokens.getLineNumber(start);
+		declarations.add(declaration);
+		return declaration;
+	} // end add()
+
+	// sets the end of a declaration
+	void end(Declaration declaration, TokenBuffer tokens, int end) {
+		declaration.endOffset = tokens.getEndOffset(end - 1);
+		declaration.endLine = tokens.getLineNumber(end - 1);
+	} // end end()
+
+} // end Outline
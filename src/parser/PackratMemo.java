@@ -0,0 +1,113 @@
+/**
+ * Memo table for the packrat mode of the Parser, mapping a rule and the
+ * token index it started at to the token index it ended at, or to a
+ * failure. Entries live in flat arrays that are allocated once and reused,
+ * and clear() drops every entry in constant time by moving to a new
+ * generation, so the table can be cleared for every class member.
+ */
+
+package parser;
+
+import java.util.Arrays;
+
+final class PackratMemo {
+
+	static final int UNKNOWN = -1; // no result for the rule at this index
+	static final int FAILED = -2;  // the rule failed at this index
+
+	private final int rules;
+	private long[] keys;	// index * rules + rule
+	private int[] ends;		// end token index or FAILED
+	private int[] stamps;	// generation an entry was stored in
+	private int generation;
+	private int size;		// entries in the current generation
+
+	/**
+	 * Constructor allocates the table
+	 * @param rules Number of memoized rules
+	 */
+	PackratMemo(int rules) {
+		this.rules = rules;
+		this.keys = new long[1024];
+		this.ends = new int[1024];
+		this.stamps = new int[1024];
+		this.generation = 1;
+		this.size = 0;
+	} // end constructor
+
+	/**
+	 * Looks up the result of a rule
+	 * @return End token index, FAILED or UNKNOWN
+	 */
+	int get(int rule, int index) {
+		long key = (long) index * rules + rule;
+		int mask = keys.length - 1;
+
+		for (int slot = hash(key) & mask; stamps[slot] == generation; slot = (slot + 1) & mask) {
+			if (keys[slot] == key) return ends[slot];
+		} // end for
+
+		return UNKNOWN;
+	} // end get()
+
+	/**
+	 * Stores the result of a rule
+	 * @param end End token index or FAILED
+	 */
+	void put(int rule, int index, int end) {
+		if (2 * (size + 1) > keys.length) grow();
+
+		long key = (long) index * rules + rule;
+		int mask = keys.length - 1;
+		int slot = hash(key) & mask;
+
+		while (stamps[slot] == generation && keys[slot] != key) {
+			slot = (slot + 1) & mask;
+		} // end while
+
+		if (stamps[slot] != generation) size++;
+		keys[slot] = key;
+		ends[slot] = end;
+		stamps[slot] = generation;
+	} // end put()
+
+	/**
+	 * Drops all entries without touching the arrays
+	 */
+	void clear() {
+		generation++;
+		size = 0;
+
+		if (generation == Integer.MAX_VALUE) {
+			// stamps would wrap around, start again from empty arrays
+			Arrays.fill(stamps, 0);
+			generation = 1;
+		} // end if
+	} // end clear()
+
+	// doubles the arrays, keeping the entries of the current generation
+	private void grow() {
+		long[] oldKeys = keys;
+		int[] oldEnds = ends;
+		int[] oldStamps = stamps;
+		int oldGeneration = generation;
+
+		keys = new long[oldKeys.length * 2];
+		ends = new int[oldKeys.length * 2];
+		stamps = new int[oldKeys.length * 2];
+		generation = 1;
+		size = 0;
+
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldStamps[i] == oldGeneration)
+				put((int) (oldKeys[i] % rules), (int) (oldKeys[i] / rules), oldEnds[i]);
+		} // end for
+	} // end grow()
+
+	// spreads the bits of a key over the table
+	private static int hash(long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	} // end hash()
+
+} // end PackratMemo
@@ -0,0 +1,157 @@
+/**
+ * Parser that parses the declarations of a file first, skipping method
+ * bodies and initializer blocks as the lazy mode of the Parser does, and then
+ * parses the bodies as ForkJoin tasks over the shared tokens. The output of
+ * the bodies is put back in input order, so it is the same as the output of
+ * the Parser.
+ */
+
+package parser;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import interfaces.ParserInterface;
+import types.InvalidInputException;
+
+public class ParallelParser implements ParserInterface {
+
+	// bodies with fewer tokens than this together are parsed by one task
+	private static final int TASK_TOKENS = 2048;
+
+	private String inputString;
+	private ForkJoinPool pool;
+	private ArrayDeque<String> outputQueue;
+	private String errorMessage;
+
+	/**
+	 * Constructor for parsing on the common ForkJoin pool
+	 *
+	 * @param inputString
+	 */
+	public ParallelParser(String inputString) {
+		this(inputString, ForkJoinPool.commonPool());
+	} // end constructor
+
+	/**
+	 * Constructor for parsing on a given ForkJoin pool
+	 *
+	 * @param inputString
+	 * @param pool Pool the bodies are parsed on
+	 */
+	public ParallelParser(String inputString, ForkJoinPool pool) {
+		this.inputString = inputString;
+		this.pool = pool;
+		this.outputQueue = new ArrayDeque<String>();
+	} // end constructor
+
+	@Override
+	public ArrayDeque<String> getOutputQueue() {
+		return outputQueue;
+	}
+
+	@Override
+	public String getErrorMessage() {
+		return errorMessage;
+	}
+
+	// parse the declarations, then the bodies in parallel
+	@Override
+	public void start() throws InvalidInputException {
+		Parser skeleton = new Parser(inputString);
+		skeleton.setLazyMode(true);
+
+		try {
+			skeleton.start();
+		} catch (InvalidInputException e) {
+			startSequential();
+			return;
+		} // end try/catch
+
+		// read every token before the tasks share the buffer
+		skeleton.tokens.size();
+
+		List<BodyHandle> bodies = skeleton.getBodies();
+		Bodies task = new Bodies(bodies, 0, bodies.size());
+		pool.invoke(task);
+
+		if (task.failed) {
+			// the Parser gives the output and error up to the first syntax error
+			startSequential();
+			return;
+		} // end if
+
+		// put the output of every body where it was skipped
+		ArrayDeque<String> skeletonOutput = skeleton.getOutputQueue();
+		int line = 0;
+
+		for (BodyHandle body : bodies) {
+			while (line < body.getOutputLine()) {
+				outputQueue.add(skeletonOutput.remove());
+				line++;
+			} // end while
+
+			outputQueue.addAll(body.parse());
+		} // end for
+
+		outputQueue.addAll(skeletonOutput);
+	} // end start()
+
+	// parses the whole input with a single Parser
+	private void startSequential() throws InvalidInputException {
+		Parser parser = new Parser(inputString);
+
+		try {
+			parser.start();
+		} catch (InvalidInputException e) {
+			errorMessage = e.getMessage();
+			throw e;
+		} finally {
+			outputQueue = parser.getOutputQueue();
+		} // end try/catch/finally
+	} // end startSequential()
+
+	/**
+	 * Task that parses a range of bodies, splitting it in half while it has
+	 * more than TASK_TOKENS tokens
+	 */
+	@SuppressWarnings("serial")
+	private static class Bodies extends RecursiveAction {
+
+		private final List<BodyHandle> bodies;
+		private final int start;
+		private final int end;
+		boolean failed;
+
+		Bodies(List<BodyHandle> bodies, int start, int end) {
+			this.bodies = bodies;
+			this.start = start;
+			this.end = end;
+		} // end constructor
+
+		@Override
+		protected void compute() {
+			if (end - start > 1
+					&& bodies.get(end - 1).getEndToken() - bodies.get(start).getStartToken() > TASK_TOKENS) {
+				int middle = (start + end) >>> 1;
+				Bodies left = new Bodies(bodies, start, middle);
+				Bodies right = new Bodies(bodies, middle, end);
+				invokeAll(left, right);
+				failed = left.failed || right.failed;
+				return;
+			} // end if
+
+			for (int i = start; i < end && !failed; i++) {
+				try {
+					bodies.get(i).parse();
+				} catch (InvalidInputException e) {
+					failed = true;
+				} // end try/catch
+			} // end for
+		} // end compute()
+
+	} // end Bodies
+
+} // end ParallelParser
@@ -0,0 +1,912 @@
+/**
+ * LL(1) parse tables for the TableParser, generated by generator.ParseTableGenerator
+ * from src/EBNF. Do not edit, regenerate after changing the grammar.
+ *
+ * The grammar is not LL(1) at the following places. Each is resolved in favour
+ * of the alternative written first, and options and repetitions are greedy:
+ *
+ *   <block_statement>: "synchronized" <paren_expression> <block> over {<MODIFIER>} (<class_declaration> | <IDENTIFIER> <block_s...
+ *       on MODIFIER_SYNCHRONIZED
+ *   <block_statement_rest>: "[" ("]" {"[]"} <variable_declarators> ";" | <selector_ha... over <expression_afterID>
+ *       on LEFT_BRACKET
+ *   <block_statement_rest>: <type_arguments> {"." <IDENTIFIER> [<type_arguments>]} {"... over <expression_afterID>
+ *       on LEFT_ANGLEBRACKET
+ *   <block_statement_rest>: "." (<IDENTIFIER> <block_statement_rest> | ("class" | "th... over <expression_afterID>
+ *       on DOT
+ *   <statement>: <IDENTIFIER> (":" <statement> | <expression_afterID>) over <expression> ";"
+ *       on IDENTIFIER
+ *   <block_statement>: <MODIFIER> over nothing after {<MODIFIER>}
+ *       on MODIFIER_SYNCHRONIZED
+ *   <block_statement>: <IDENTIFIER> <block_statement_rest> over <local_variable_declaration> ";"
+ *       on IDENTIFIER
+ *   <block_statement>: <IDENTIFIER> <block_statement_rest> over <statement>
+ *       on IDENTIFIER
+ *   <block_statement>: <local_variable_declaration> ";" over <statement>
+ *       on PRIMITIVE_TYPE
+ *   <type_half>: <type_arguments> over nothing after [<type_arguments>]
+ *       on LEFT_ANGLEBRACKET
+ *   <statement>: "else" <statement> over nothing after ["else" <statement>]
+ *       on KEYWORD_ELSE
+ *   <expression2>: <infix_operator> <expression3> over nothing after {<infix_operator> <expression3>}
+ *       on LEFT_ANGLEBRACKET, RIGHT_ANGLEBRACKET
+ *   <expression_afterID>: <infix_operator> <expression3> over nothing after {<infix_operator> <expression3>}
+ *       on LEFT_ANGLEBRACKET, RIGHT_ANGLEBRACKET
+ *   <selector_half>: <infix_operator> <expression3> over nothing after {<infix_operator> <expression3>}
+ *       on LEFT_ANGLEBRACKET, RIGHT_ANGLEBRACKET
+ *   <array_allocator>: "[" ("]" | <expression> "]") over nothing after {"[" ("]" | <expression> "]")}
+ *       on LEFT_BRACKET
+ *   <identifier_rest>: "." (<IDENTIFIER> | "class" | "this" | "super" <arguments... over nothing after {"." (<IDENTIFIER> | "class" | "this" | "su...
+ *       on DOT
+ *   <literal>: "." <INT_LITERAL> over nothing after ["." <INT_LITERAL>]
+ *       on DOT
+ */
+
+package parser;
+
+import types.Token;
+
+final class ParseTable {
+
+	static final int TOKEN_COUNT = 64;
+	static final int COLUMNS = 65;
+	static final int END_OF_INPUT = COLUMNS - 1;
+	static final int NONTERMINALS = 177;
+	static final int START = 0;
+
+	// names of the rules, the nonterminals after these are hidden groups
+	static final String[] RULE_NAMES = {
+		"program", "qualified_identifier", "import", "class",
+		"class_declaration", "extends", "implements", "class_body",
+		"class_body_statement", "class_body_declaration", "field_declaration", "variable_declarators",
+		"variable_declarator", "variable_declarators_half", "method_declaration", "parameters",
+		"parameter", "block", "block_statement", "block_statement_rest",
+		"local_variable_declaration", "type", "type_half", "type_arguments",
+		"type_argument", "type_parameters", "type_parameter", "variable_init",
+		"array_init", "statement", "cases", "catches",
+		"catch", "for_arguments", "expression", "expression1",
+		"expression2", "expression3", "expression_afterID", "expression_unit",
+		"selector", "selector_half", "allocator", "class_allocator",
+		"array_allocator", "inner_allocator", "identifier_rest", "paren_expression",
+		"arguments", "literal", "assignment_operator", "infix_operator",
+		"prefix_operator", "postfix_operator",
+	};
+
+	// token set matched by each terminal, see Token.set()
+	private static final long[] TERMINALS = {
+		0x0000000040000000L, 0x0800000000000000L, 0x0000000000000001L, 0x4000000000000000L,
+		0x0000000002000000L, 0x0000000000000080L, 0x0008000000000000L, 0x00000000000001c0L,
+		0x0000000000002000L, 0x0000000000080000L, 0x0000000001000000L, 0x1000000000000000L,
+		0x0000080000000000L, 0x0000100000000000L, 0x0000008000000000L, 0x0000000000000020L,
+		0x0000200000000000L, 0x0000400000000000L, 0x0002000000000000L, 0x0000001000000000L,
+		0x0000020000000000L, 0x0000040000000000L, 0x0000000000000100L, 0x2000000000000000L,
+		0x0000000400000000L, 0x0000000100000000L, 0x0000000010000000L, 0x0000800000000000L,
+		0x0001000000000000L, 0x0400000000000000L, 0x0010000000000000L, 0x0000000000800000L,
+		0x0000000000020000L, 0x0000010000000000L, 0x0000000000010000L, 0x0000000000400000L,
+		0x0000000000000200L, 0x0000000200000000L, 0x0000000080000000L, 0x0000000000000400L,
+		0x0000000000004000L, 0x0000000800000000L, 0x0000004000000000L, 0x0000000000200000L,
+		0x0000000000000800L, 0x0000000000008000L, 0x0000000000001000L, 0x0000000004000000L,
+		0x0000000000000002L, 0x0000000000000008L, 0x0000000000000004L, 0x0000002000000000L,
+		0x0000000000100000L, 0x0000000020000000L, 0x001c000000000000L, 0x0040000000000000L,
+		0x0080000000000000L, 0x0020000000000000L, 0x0100000000000000L, 0x0200000000000000L,
+	};
+
+	// production + 1 to expand for each nonterminal and lookahead column, 0 for an error
+	private static final char[] TABLE = (""
+		+ "\000\000\000\000\000\000\005\005\005\000\000\000\000\005\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\005\000\000\000\000\005\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\010\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\017\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\022\022\022\000\000\000\000"
+		+ "\022\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\031\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\032\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\035\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\040\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\046\000\000\000\000\046\046\046"
+		+ "\046\000\000\000\000\046\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\046"
+		+ "\000\000\000\046\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\041\000\000\000\000\000\057\000\000\000\000\057\000"
+		+ "\000\000\000\000\000\000\047\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\050\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\064\000\000\000\064\000\000\000\000"
+		+ "\000\000\000\000\000\064\064\000\000\000\000\065\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\072\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\075\075\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\104\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\111\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\116\000\000\000\000\116\116\116\116\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\121\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\131\131\131\131\000\131\131\131\122\131\131\000\000\131"
+		+ "\131\000\131\000\000\000\131\000\131\131\000\000\000\000\131\131"
+		+ "\000\131\131\131\131\131\000\131\131\131\131\131\000\131\000\000"
+		+ "\000\000\000\000\000\000\000\131\131\131\131\131\000\131\000\000"
+		+ "\000\000\000\160\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\161\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\161\000\000\000"
+		+ "\150\000\157\161\161\161\161\161\000\161\161\161\161\161\161\000"
+		+ "\132\143\000\000\162\000\000\000\000\162\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\166\000\000\000\000\165\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\177\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\177\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\177\177\177\177\177\177\177\177\000\000\177\000\000\000\000\000"
+		+ "\177\177\177\177\177\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\204\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\205\000\000\000\000\205\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\212\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\215\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\222\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\224\224\224\224\000"
+		+ "\224\000\000\000\000\000\000\000\000\000\000\000\000\000\000\224"
+		+ "\000\000\000\000\000\000\000\224\224\000\000\224\000\224\000\000"
+		+ "\224\000\224\000\224\000\223\000\000\000\000\000\000\000\000\000"
+		+ "\224\224\224\224\224\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\231\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\300\301\301"
+		+ "\301\000\301\000\000\273\252\261\000\000\000\264\000\236\000\000"
+		+ "\000\301\000\247\234\000\000\000\000\301\301\000\256\301\253\301"
+		+ "\265\000\301\272\301\235\301\000\274\000\000\000\000\000\000\000"
+		+ "\000\000\301\301\301\301\301\000\275\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\310\000\000\000\310\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\310\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\313\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\316\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\325\000\326\000"
+		+ "\000\000\331\331\331\331\000\331\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\331\000\000\000\000\000\000\000\331\331"
+		+ "\000\000\331\000\331\000\000\331\000\331\000\331\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\331\331\331\331\331\000\000\000\000"
+		+ "\000\000\000\334\334\334\334\000\334\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\334\000\000\000\000\000\000\000\334"
+		+ "\334\000\000\334\000\334\000\000\334\000\334\000\334\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\334\334\334\334\334\000\000\000"
+		+ "\000\000\000\000\341\341\341\341\000\341\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\341\000\000\000\000\000\000\000"
+		+ "\341\341\000\000\341\000\341\000\000\341\000\341\000\341\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\341\341\341\341\341\000\000"
+		+ "\000\000\000\000\000\350\350\350\350\000\350\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\350\000\000\000\000\000\000"
+		+ "\000\350\350\000\000\350\000\350\000\000\350\000\350\000\343\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\342\342\342\342\342\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\367\000\000\000\000\000\000\000\000\000\000\000\000\000\000\367"
+		+ "\000\000\000\367\000\367\367\367\367\367\367\000\367\367\367\367"
+		+ "\367\367\000\000\367\000\000\u0102\370\370\370\000\u0105\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\370\000\000\000\000"
+		+ "\000\000\000\u0101\370\000\000\u0100\000\373\000\000\370\000\u0106\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\u0114\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\u0113\000\000\u0121\u0121\u0121\u0121\000\u0121\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\u0121\000\000"
+		+ "\000\000\000\000\000\u0121\u0121\000\000\u0121\000\u0121\000\000\u0121\000"
+		+ "\u0121\000\u0121\000\000\000\000\000\000\000\000\000\000\000\u0121\u0121"
+		+ "\u0121\u0121\u0121\000\000\000\000\000\000\000\u012a\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\u012d\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\u0136\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\u0139\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\u0145\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\u0145\u0145\000\u0145\u0145\u0145\u0145\u0145\u0145"
+		+ "\u0145\u0145\u0145\000\u0145\u0145\u0145\u0145\u0145\u0145\u0145\u0145\u0145\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\u0146\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\u014b\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\u014e\u0150\u014f\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\u0152\000\000\000\000\000\000\000\000\u0153\000"
+		+ "\000\000\000\000\000\000\u0151\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\u0155\u0158\u0154\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\u015f\u0165\000\u0159\u0159\u0159\000\u015a\u015b\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\u0166\u0167\u0168\u0169\u016a\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\u016b\u016c\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\002\002\002\000"
+		+ "\000\000\000\002\000\000\000\000\000\000\000\000\000\000\000\002"
+		+ "\000\000\000\000\001\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\004\004\004"
+		+ "\000\000\000\000\004\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\003\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\007\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\007\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\007\007\000\006\000\000\012\000\000\000\000\000\000"
+		+ "\011\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\016\000\000\015\000\000\013\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\014\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\020\020\020\000\000\000\000\021\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\024\000\000\000\000\024\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\024\000\000\000\023\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\025\000\000\000\000\026\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\026\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\027\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\030\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\034\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\033\000\000\000"
+		+ "\000\036\000\000\000\000\036\036\036\036\000\000\000\000\036\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\036\000\000\000\036\037\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\036\000\000\000"
+		+ "\000\000\043\000\000\000\000\043\042\042\042\000\000\000\000\043"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\043\000\000\000\043\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\045\000\000\000\000\045\000\000\000\000\000\000\000"
+		+ "\045\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\045\000\000\000\044\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\051\000\000\000\000\052\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\056\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\053\000"
+		+ "\000\000\056\000\056\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\056\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\054"
+		+ "\000\000\000\055\000\000\000\055\000\000\000\000\000\000\000\000"
+		+ "\000\055\055\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\060\000\000\000\061\000\000\000\000\000\000\000"
+		+ "\000\000\061\061\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\062\000\000\000\000\000\000"
+		+ "\000\000\000\063\063\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\066\000\000\000\067\000\000\000\000\000"
+		+ "\000\000\000\000\067\067\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\070\000\000\000\000"
+		+ "\000\000\000\000\000\071\071\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\074\073\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\100\000\000\000\000\000\000\101\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\101\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\077\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\077\076\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\103\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\102\000\000\000\000\000\107"
+		+ "\000\000\000\000\107\107\107\107\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\110\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\106\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\105\000\000\000"
+		+ "\000\113\000\000\000\000\113\112\112\112\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\115\000\000\114"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\115\000"
+		+ "\000\000\000\117\117\117\117\000\117\117\117\117\117\117\000\000"
+		+ "\117\117\000\117\000\000\000\117\000\117\117\000\000\000\000\117"
+		+ "\117\000\117\117\117\117\117\000\117\117\117\117\117\000\117\120"
+		+ "\000\000\000\000\000\000\000\000\117\117\117\117\117\000\117\000"
+		+ "\000\000\000\000\124\124\124\124\000\124\123\123\123\124\124\000"
+		+ "\000\124\124\000\124\000\000\000\124\000\124\124\000\000\000\000"
+		+ "\124\124\000\124\124\124\124\124\000\124\124\124\124\124\000\124"
+		+ "\000\000\000\000\000\000\000\000\000\124\124\124\124\124\000\124"
+		+ "\000\000\000\000\000\126\130\130\130\000\127\000\000\130\130\130"
+		+ "\000\000\125\130\000\130\000\000\000\130\000\130\130\000\000\000"
+		+ "\000\130\130\000\130\130\130\130\130\000\130\130\130\130\130\000"
+		+ "\130\000\000\000\000\000\000\000\000\000\130\130\130\130\130\000"
+		+ "\130\000\000\000\000\000\133\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\142\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\142\000\000\000\142\000\142\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\134\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\141\000\000\000\136\000\135\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\140\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\137\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\147\147\147\147\000\147\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\147\000\000"
+		+ "\000\000\000\000\000\147\147\000\000\147\000\147\000\000\147\000"
+		+ "\147\000\147\000\000\000\000\146\000\000\000\000\000\000\147\147"
+		+ "\147\147\147\000\000\000\000\000\000\000\145\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\144\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\154\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\154\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\153\000\000\152\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\152\000\151\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\152\000\000\156\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\155\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\164\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\164\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\164\164\164\163\164\164\164\164"
+		+ "\000\000\164\000\000\000\000\000\164\164\164\164\000\000\000\170"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\170\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\170\170\170\170\170\167\170"
+		+ "\170\000\000\170\000\000\000\000\000\170\170\170\170\170\000\000"
+		+ "\174\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\174\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\174\174\174\174\174\174"
+		+ "\174\174\000\000\174\000\000\000\000\000\174\174\174\174\173\000"
+		+ "\000\172\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\172\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\172\172\172\172\172"
+		+ "\171\172\172\000\000\172\000\000\000\000\000\172\172\172\172\172"
+		+ "\000\000\176\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\176\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\176\176\176\175"
+		+ "\176\176\176\176\000\000\176\000\000\000\000\000\176\176\176\176"
+		+ "\000\000\000\203\000\000\000\000\203\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\200\000\000\000\000\000\000\000\000\000\203\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\202\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\201\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\210\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\210\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\211\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\211\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\207\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\206\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\214\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\213\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\220\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\221\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\221\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\217\000\000\000\216\000\000"
+		+ "\000\000\000\000\000\217\000\000\000\000\227\227\227\227\000\227"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\227\000"
+		+ "\000\000\000\000\000\000\227\227\000\000\227\000\227\000\000\227"
+		+ "\000\227\000\227\000\227\230\000\000\000\000\000\000\000\000\227"
+		+ "\227\227\227\227\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\226\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\225\000\000\000\000\233\233\233\233"
+		+ "\000\233\233\233\233\233\233\233\000\233\233\233\233\232\000\000"
+		+ "\233\000\233\233\000\000\000\000\233\233\000\233\233\233\233\233"
+		+ "\000\233\233\233\233\233\000\233\233\000\000\000\000\000\000\000"
+		+ "\000\233\233\233\233\233\000\233\000\000\000\000\000\245\000\000"
+		+ "\000\000\245\245\245\245\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\246\000\246\000\000\000\240\000"
+		+ "\000\000\000\240\237\237\237\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\241\000\242\242"
+		+ "\242\000\000\000\000\000\000\000\000\000\242\000\242\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\243"
+		+ "\243\243\000\000\000\000\000\000\000\000\000\244\000\244\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\251\000\250\000"
+		+ "\000\000\254\254\254\254\000\254\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\254\000\000\000\000\000\000\000\254\254"
+		+ "\000\000\254\000\254\000\000\254\000\254\000\254\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\254\254\254\254\254\000\255\000\000"
+		+ "\000\000\000\257\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\260\000"
+		+ "\000\000\000\000\262\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\263"
+		+ "\000\000\000\000\000\267\267\267\267\000\267\267\267\267\267\267"
+		+ "\267\266\267\267\267\267\267\000\000\267\267\267\267\000\000\000"
+		+ "\000\267\267\000\267\267\267\267\267\000\267\267\267\267\267\000"
+		+ "\267\267\000\000\000\000\000\000\000\000\267\267\267\267\267\000"
+		+ "\267\000\000\000\000\000\271\271\271\271\000\271\271\271\271\271"
+		+ "\271\271\000\271\271\271\271\271\000\000\271\270\271\271\000\000"
+		+ "\000\000\271\271\000\271\271\271\271\271\000\271\271\271\271\271"
+		+ "\000\271\271\000\000\000\000\000\000\000\000\271\271\271\271\271"
+		+ "\000\271\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\277\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\277\000\000\000\277\000\277\277\277\277\277\277\000\277\277\277"
+		+ "\277\277\277\000\276\277\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\306\000\000\000\306\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\307\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\302\000\000\000\303\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\304\304\304\304\000\304"
+		+ "\304\304\304\304\304\305\000\304\304\305\304\000\000\000\304\000"
+		+ "\304\304\000\000\000\000\304\304\000\304\304\304\304\304\000\304"
+		+ "\304\304\304\304\000\304\305\000\000\000\000\000\000\000\000\304"
+		+ "\304\304\304\304\000\304\000\000\000\000\000\312\312\312\312\000"
+		+ "\312\312\312\312\312\312\312\311\312\312\312\312\312\000\000\312"
+		+ "\312\312\312\000\000\000\000\312\312\000\312\312\312\312\312\000"
+		+ "\312\312\312\312\312\000\312\312\000\000\000\000\000\000\000\000"
+		+ "\312\312\312\312\312\000\312\000\000\000\000\000\315\000\000\000"
+		+ "\000\000\314\314\314\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\317\317\317"
+		+ "\317\000\317\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\317\000\000\000\000\000\000\000\317\317\000\000\317\000\317"
+		+ "\000\000\317\000\317\000\317\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\317\317\317\317\317\000\320\000\000\000\000\000\323\323"
+		+ "\323\323\000\323\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\323\000\000\000\000\000\000\000\323\323\000\000\323\000"
+		+ "\323\000\000\323\000\323\000\323\324\000\000\000\000\000\000\000"
+		+ "\000\000\000\323\323\323\323\323\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\322\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\321\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\330\000\330\000\330\327"
+		+ "\327\327\000\000\000\000\000\000\000\000\000\330\330\330\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\333\000\333\000\333"
+		+ "\333\333\333\000\000\000\000\000\000\000\000\332\333\333\333\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\335\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\340\000\340\000"
+		+ "\340\340\340\340\340\340\340\000\340\340\000\000\340\340\340\340"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\337\000\337"
+		+ "\000\337\336\336\337\336\336\336\000\336\336\000\000\337\337\337"
+		+ "\337\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\345\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\345\000"
+		+ "\345\344\345\345\345\345\345\345\345\000\345\345\345\345\345\345"
+		+ "\345\345\344\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\347"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\347"
+		+ "\000\347\000\347\347\347\347\347\347\347\000\347\347\346\346\347"
+		+ "\347\347\347\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\352\000\000\000\000\000\000\000\000\000\000\000\000\000\000\351"
+		+ "\000\000\000\352\000\352\352\352\352\352\352\000\352\352\352\352"
+		+ "\352\352\000\000\352\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\354\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\353\000\354\354\354\354\354\354\000\354\354\354"
+		+ "\354\354\354\000\000\353\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\356\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\356\356\356\356\356\356\000\356\356"
+		+ "\355\355\356\356\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\357\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\362\362\362\362\362\362\000\362"
+		+ "\362\000\000\362\362\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\360\360\361\360\360\360\000"
+		+ "\360\360\000\000\361\361\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\364\364\364\000\000\000"
+		+ "\000\000\000\000\000\363\364\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\365\365\365\000\000"
+		+ "\000\000\000\000\000\000\000\366\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\372\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\371\372\000\372\372\372\372\372\372\372"
+		+ "\372\372\000\372\372\372\372\372\372\372\372\372\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\374\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\377\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\376\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\375\376\000\376\376\376\376\376"
+		+ "\376\376\376\376\000\376\376\376\376\376\376\376\376\376\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\u0103\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\u0104\000"
+		+ "\000\u0109\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\u0112\000\000"
+		+ "\000\u010f\000\u010a\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\u0108\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\u0107\u0108\000\u0108\u0108"
+		+ "\u0108\u0108\u0108\u0108\u0108\u0108\u0108\000\u0108\u0108\u0108\u0108\u0108\u0108\u0108\u0108"
+		+ "\u0108\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\u010b\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\u010e\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\u010d\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\u010c\u010d\000"
+		+ "\u010d\u010d\u010d\u010d\u010d\u010d\u010d\u010d\u010d\000\u010d\u010d\u010d\u010d\u010d\u010d"
+		+ "\u010d\u010d\u010d\000\000\u0111\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\u0110\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\u0116\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\u0115\000\u0116\u0116\u0116\u0116\u0116\u0116\000\u0116\u0116\u0116\u0116"
+		+ "\u0116\u0116\000\000\u0115\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\u0118\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\u0118\u0118\u0118\u0118\u0118\u0118\000\u0118\u0118\u0117"
+		+ "\u0117\u0118\u0118\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\u0119\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\u011c\u011c\u011c\u011c\u011c\u011c\000\u011c\u011c"
+		+ "\000\000\u011c\u011c\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\u011a\u011a\u011b\u011a\u011a\u011a\000\u011a"
+		+ "\u011a\000\000\u011b\u011b\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\u011e\u011e\u011e\000\000\000\000"
+		+ "\000\000\000\000\u011d\u011e\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\u011f\u011f\u011f\000\000\000"
+		+ "\000\000\000\000\000\000\u0120\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\u0123\000\000\000\u0123\000\u0122\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\u0123\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\u0127\000\000\000\u0127\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\u0126\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\u0125\000\000\000\u0125\000\u0124\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\u0125\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\u0128\000\000\000\u0129\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\u012c\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\u012c\u012c\u012b\u012c\u012c\u012c\u012c"
+		+ "\u012c\u012c\u012c\u012c\u012c\000\u012c\u012c\u012c\u012c\u012c\u012c\u012c\u012c\u012c\000"
+		+ "\000\u0135\u0135\u0135\u0135\000\u0135\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\u0135\000\000\000\000\000\000\000\u0135\u0135\000"
+		+ "\000\u0135\000\u0135\000\000\u0135\000\u0135\000\u0135\000\000\000\000\u0130"
+		+ "\000\000\000\000\000\000\u0135\u0135\u0135\u0135\u0135\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\u012f\000\u012e"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\u0134\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\u0134\000\u0134"
+		+ "\u0133\u0134\u0134\u0134\u0134\u0134\u0134\u0134\000\u0134\u0134\u0134\u0134\u0134\u0134\u0134"
+		+ "\u0134\u0134\000\000\u0132\u0132\u0132\u0132\000\u0132\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\u0132\000\000\000\000\000\000\000"
+		+ "\u0132\u0132\000\000\u0132\000\u0132\000\000\u0132\000\u0132\000\u0132\000\000"
+		+ "\000\000\u0131\000\000\000\000\000\000\u0132\u0132\u0132\u0132\u0132\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\u0138\000"
+		+ "\000\000\000\000\u0137\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\u0142\000\000\000\000\000\000\000\000\000\000\000\000\000\000\u0142"
+		+ "\u0142\000\u0142\u0142\u0142\u0142\u0142\u0142\u0142\u0142\u0142\000\u0142\u0142\u0142\u0142"
+		+ "\u0142\u0142\u0142\u0142\u0141\000\000\u013a\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\u013b\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\u0140\000\000\000\u013d\000\u013c\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\u013f\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\u013e\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\u0144\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\u0143\u0144\000\u0144\u0144\u0144\u0144\u0144\u0144\u0144\u0144\u0144\000\u0144"
+		+ "\u0144\u0144\u0144\u0144\u0144\u0144\u0144\u0144\000\000\u0149\u0149\u0149\u0149\000\u0149"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\u0149\000"
+		+ "\000\000\000\000\000\000\u0149\u0149\000\000\u0149\000\u0149\000\000\u0149"
+		+ "\000\u0149\000\u0149\u014a\000\000\000\000\000\000\000\000\000\000\u0149"
+		+ "\u0149\u0149\u0149\u0149\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\u0148\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\u0147\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\u014d\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\u014d\000\u014d\u014d\u014d\u014d\u014d\u014d\u014d\u014d"
+		+ "\u014d\000\u014d\u014d\u014d\u014d\u014d\u014d\u014d\u014d\u014c\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\u0156\u0157\000"
+		+ "\000\000\000\000\000\000\000\000\000\000\000\000\000\000\u015e\u015e"
+		+ "\u015e\u015e\000\u015e\000\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\u015e\000\000\000\000\000\000\000\u015e\u015e\000\000\u015e\000"
+		+ "\u015e\000\000\u015e\000\u015e\000\u015e\000\000\000\000\000\u015d\000\u015c"
+		+ "\000\000\000\u015e\u015e\u015e\u015e\u015e\000\000\000\000\000\000\000\u0164"
+		+ "\u0164\u0164\u0164\000\u0164\000\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\u0164\000\000\000\000\000\000\000\u0164\u0164\000\000\u0164"
+		+ "\000\u0164\000\000\u0164\000\u0164\000\u0164\000\000\000\000\000\000\u0163"
+		+ "\u0160\000\000\000\u0164\u0164\u0164\u0164\u0164\000\000\000\000\000\000\000"
+		+ "\u0162\u0162\u0162\u0162\000\u0162\000\000\000\000\000\000\000\000\000\000"
+		+ "\000\000\000\000\u0162\000\000\000\000\000\000\000\u0162\u0162\000\000"
+		+ "\u0162\000\u0162\000\000\u0162\000\u0162\000\u0162\000\000\000\000\000\000"
+		+ "\u0161\000\000\000\000\u0162\u0162\u0162\u0162\u0162\000\000\000\000\000\000"
+		+ "\000").toCharArray();
+
+	// start of each production in SYMBOLS, and the end of the last
+	private static final char[] PRODUCTION_START = (""
+		+ "\000\003\003\005\005\010\013\013\015\016\016\017\020\023\023\030"
+		+ "\032\032\034\035\035\036\036\037\037\045\047\052\052\055\057\057"
+		+ "\062\063\065\065\066\067\071\072\075\076\077\100\101\103\106\110"
+		+ "\113\113\115\115\120\122\125\125\127\127\132\135\135\136\141\141"
+		+ "\144\144\145\146\151\154\154\156\156\161\163\163\166\166\172\174"
+		+ "\174\177\202\204\204\205\207\211\212\214\216\220\221\222\224\225"
+		+ "\225\230\232\234\237\237\243\244\246\247\247\253\253\256\256\263"
+		+ "\265\266\270\273\273\275\277\300\300\301\301\305\305\310\310\313"
+		+ "\314\317\317\322\324\325\326\327\331\331\333\336\336\342\345\345"
+		+ "\350\350\352\353\354\357\357\361\361\364\366\366\372\375\u0102\u0104"
+		+ "\u0104\u0107\u0107\u0109\u0109\u010e\u010e\u0114\u0116\u0116\u011a\u011f\u0120\u0120\u0123\u0124"
+		+ "\u0124\u0127\u0128\u0128\u012b\u012e\u012f\u012f\u0131\u0131\u0135\u0138\u0139\u013a\u013c\u013d"
+		+ "\u013f\u0141\u0143\u0144\u0146\u0146\u014a\u014a\u014b\u014d\u014d\u014f\u0151\u0151\u0158\u0159"
+		+ "\u0159\u015c\u015c\u015e\u015e\u0162\u0164\u0166\u0166\u0168\u016c\u016c\u016e\u0170\u0173\u0173"
+		+ "\u0174\u0176\u0178\u017b\u017d\u017d\u017f\u017f\u0182\u0183\u0183\u0185\u0185\u0187\u0187\u0189"
+		+ "\u018c\u018c\u018d\u0191\u0191\u0193\u0193\u019a\u019b\u019c\u019c\u019e\u019f\u01a0\u01a0\u01a3"
+		+ "\u01a5\u01a7\u01a9\u01ac\u01ac\u01b0\u01b3\u01b4\u01b4\u01b6\u01b7\u01b8\u01b9\u01b9\u01bc\u01be"
+		+ "\u01bf\u01bf\u01c2\u01c4\u01c7\u01c9\u01c9\u01cb\u01cb\u01cd\u01d0\u01d0\u01d1\u01d5\u01d5\u01d7"
+		+ "\u01d7\u01df\u01e0\u01e0\u01e1\u01e1\u01e5\u01e5\u01e6\u01e7\u01eb\u01ec\u01ec\u01ee\u01f1\u01f1"
+		+ "\u01f4\u01f5\u01f7\u01fa\u01fa\u01fd\u01ff\u0200\u0200\u0203\u0204\u0205\u0206\u0208\u0209\u0209"
+		+ "\u020c\u020f\u020f\u0210\u0210\u0212\u0215\u0218\u0218\u021a\u021a\u021d\u021f\u021f\u0221\u0222"
+		+ "\u0223\u0224\u0225\u0226\u0227\u022a\u022b\u022b\u022f\u0230\u0231\u0232\u0233\u0234\u0234\u0236"
+		+ "\u0237\u0238\u0238\u023a\u023a\u023c\u023d\u023e\u023f\u0240\u0241\u0242\u0243").toCharArray();
+
+	// symbols of the productions, a nonterminal or NONTERMINALS + a terminal
+	private static final char[] SYMBOLS = (""
+		+ "\261\001\262\002\067\066\067\003\264\263\070\263\070\266\263\267"
+		+ "\264\073\072\265\071\263\072\262\270\074\074\004\031\005\006\271"
+		+ "\263\075\076\077\007\272\025\274\025\100\273\025\100\010\101\275"
+		+ "\101\276\262\270\102\021\011\102\103\004\277\263\016\263\300\016"
+		+ "\016\012\262\026\263\106\104\105\301\302\107\303\033\107\110\015"
+		+ "\014\015\301\302\111\303\033\263\111\112\274\014\113\113\274\001"
+		+ "\115\304\001\115\262\021\017\114\116\274\020\120\020\120\305\117"
+		+ "\306\270\121\301\302\122\121\025\263\122\022\123\275\123\276\307"
+		+ "\057\021\270\124\004\263\023\024\262\035\124\125\310\035\263\023"
+		+ "\271\311\312\060\027\313\130\055\127\046\264\126\301\302\132\302"
+		+ "\132\013\262\051\301\131\027\264\263\134\133\301\302\135\027\133"
+		+ "\135\013\262\013\262\046\025\013\301\302\136\300\136\263\026\027"
+		+ "\027\264\263\141\140\301\302\142\137\140\142\315\274\030\144\030"
+		+ "\144\315\314\143\025\312\272\146\025\316\145\274\032\147\314\032"
+		+ "\147\315\317\025\151\272\025\151\263\150\034\042\274\033\153\033"
+		+ "\153\275\152\276\321\035\320\057\035\154\322\057\035\323\035\322"
+		+ "\057\262\270\156\301\302\157\062\033\156\025\263\157\160\324\305"
+		+ "\155\041\306\035\310\042\325\042\161\262\326\057\275\036\276\042"
+		+ "\327\162\262\263\330\163\262\263\331\164\262\332\042\262\037\334"
+		+ "\021\333\021\165\166\307\057\021\021\262\310\035\046\263\167\042"
+		+ "\262\335\042\336\022\172\171\310\172\170\170\040\173\040\173\270"
+		+ "\174\337\305\174\001\263\306\021\042\274\042\177\042\177\262\175"
+		+ "\262\176\310\042\062\043\043\200\316\042\310\043\044\201\340\025"
+		+ "\063\045\203\203\045\202\064\045\305\042\306\050\204\065\205\047"
+		+ "\204\205\060\050\207\065\210\340\025\063\045\212\212\316\042\310"
+		+ "\043\062\043\206\207\210\211\213\214\262\061\060\311\215\060\060"
+		+ "\264\263\217\312\216\313\052\263\056\301\302\220\300\220\264\271"
+		+ "\277\264\271\060\263\222\311\060\060\264\263\224\312\223\027\313"
+		+ "\225\055\264\221\301\042\302\050\226\065\227\340\025\063\045\231"
+		+ "\231\316\042\310\043\062\043\042\302\226\227\230\232\233\262\027"
+		+ "\027\264\263\236\235\053\054\263\234\235\237\007\060\240\301\302"
+		+ "\242\302\242\034\302\042\302\301\244\243\042\302\243\301\241\027"
+		+ "\263\245\053\263\271\311\312\060\027\313\250\055\264\247\246\060"
+		+ "\246\251\305\042\306\274\042\253\042\253\305\252\306\264\341\341"
+		+ "\254\342\343\344\345\346\303\314\314\303\315\315\315\255\303\347"
+		+ "\350\351\303\314\314\256\303\315\315\260\315\257\352\350\351\353"
+		+ "\354\353\354").toCharArray();
+
+	static {
+		if (Token.values().length != TOKEN_COUNT)
+			throw new IllegalStateException("Token has changed, regenerate ParseTable");
+	} // end static
+
+	private ParseTable() {
+	}
+
+	// production to expand for a nonterminal and lookahead column, or -1 for an error
+	static int predict(int nonterminal, int column) {
+		return TABLE[nonterminal * COLUMNS + column] - 1;
+	}
+
+	static int productionStart(int production) {
+		return PRODUCTION_START[production];
+	}
+
+	static int productionEnd(int production) {
+		return PRODUCTION_START[production + 1];
+	}
+
+	static int symbol(int index) {
+		return SYMBOLS[index];
+	}
+
+	// whether a lookahead column matches a terminal
+	static boolean matches(int terminal, int column) {
+		return column < TOKEN_COUNT && (TERMINALS[terminal] & (1L << column)) != 0;
+	}
+
+} // end ParseTable
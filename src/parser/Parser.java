@@ -8,6 +8,9 @@
 package parser;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import interfaces.ParserInterface;
 import types.InvalidInputException;
@@ -16,11 +19,72 @@ import types.Token;
 
 public class Parser implements ParserInterface{
 
-	LexicalAnalyzer lex;
+	// version of the language accepted and the messages produced, raised when either changes
+	public static final int VERSION = 1;
+
+	TokenBuffer tokens;
+	int position; // token index of nextLexeme
 	Lexeme nextLexeme;
 	int indentationLevel; // level of indentation for the output
 	ArrayDeque<String> outputQueue; // queue containing all of the output strings
 
+	private boolean trace; // true if output is produced
+	private StringBuilder line = new StringBuilder(); // reused to build each line of output
+	SyntaxTree tree; // syntax tree being recorded, null unless tree mode is enabled
+	private ArrayList<BodyHandle> bodies; // bodies skipped in lazy mode, null when disabled
+
+	// outline mode, null when disabled
+	private Outline outline;
+	private int memberStart; // token index of the first modifier of a class or member
+	private Outline.Declaration declaration; // member that parameters and declarators are added to
+	private Outline.Declaration enclosingClass;
+	private int anonymousClasses; // depth of anonymous class bodies, whose members are not outlined
+
+	// packrat mode, null when disabled
+	private PackratMemo memo;
+	private int speculating; // depth of speculative parses, which produce no output
+	private int[] pending; // memoized rules still being parsed, as rule and start index pairs
+	private int pendingTop;
+
+	private RuleProfile.Recorder profiler = RuleProfile.defaultRecorder(); // null unless rules are profiled
+
+	// rules whose results are memoized in packrat mode
+	private static final int MEMO_TYPE = 0;
+	private static final int MEMO_EXPRESSION = 1;
+	private static final int MEMO_EXPRESSION3 = 2;
+	private static final int MEMO_RULES = 3;
+
+	// alternatives tried speculatively in packrat mode
+	private static final int LOCAL_VARIABLE_DECLARATION = 0;
+	private static final int CAST = 1;
+
+	// next lexeme past the end of the input, with a token no rule accepts
+	private static final Lexeme END_OF_INPUT = new Lexeme(Token.RESERVED_WORD, "end of input");
+
+	// thrown for every failed speculative parse, so no message or stack trace is built
+	private static final InvalidInputException SPECULATION_FAILED =
+			new InvalidInputException("ERROR: speculative parse failed");
+
+	// token sets used to choose between productions, each tested with a single mask
+	private static final long MODIFIERS = Token.set(Token.MODIFIER, Token.MODIFIER_STATIC,
+			Token.MODIFIER_SYNCHRONIZED); // FIRST(<modifier>)
+	private static final long ASSIGNMENT_OPERATORS = Token.set(Token.ASSIGNMENT_OPERATOR,
+			Token.LEFT_ANGLEBRACKET, Token.RIGHT_ANGLEBRACKET); // FIRST(<assignment_operator>)
+	private static final long INFIX_OPERATORS = Token.set(Token.INFIX_OPERATOR, Token.OPERATOR_MULTIPLY,
+			Token.OPERATOR_AMPERSAND, Token.OPERATOR_PLUS, Token.OPERATOR_MINUS,
+			Token.LEFT_ANGLEBRACKET, Token.RIGHT_ANGLEBRACKET); // FIRST(<infix_operator>)
+	private static final long POSTFIX_OPERATORS = Token.set(Token.OPERATOR_INCREMENT,
+			Token.OPERATOR_DECREMENT); // FIRST(<postfix_operator>)
+	private static final long SELECTORS = Token.set(Token.DOT, Token.LEFT_BRACKET); // FIRST(<selector>)
+	private static final long IDENTIFIER_EXPRESSION = Token.set(Token.ASSIGNMENT_OPERATOR,
+			Token.OPERATOR_INCREMENT, Token.OPERATOR_DECREMENT); // identifier followed by these is an expression
+	private static final long WILDCARD_BOUNDS = Token.set(Token.KEYWORD_SUPER, Token.KEYWORD_EXTENDS);
+	private static final long FOR_ARGUMENTS = Token.set(Token.COLON, Token.SEMICOLON); // FIRST(<for_arguments>)
+	private static final long END_OF_CASE = Token.set(Token.RIGHT_BRACE, Token.KEYWORD_CASE,
+			Token.KEYWORD_DEFAULT);
+	private static final long NOT_AFTER_REFERENCE_CAST = Token.set(Token.OPERATOR_PLUS, Token.OPERATOR_MINUS,
+			Token.OPERATOR_INCREMENT, Token.OPERATOR_DECREMENT); // "(a) - b" is not a cast
+
 	/**
 	* Constructor creates the lexical analyzer and initializes nextLexeme, given an input string
 	*
@@ -28,12 +92,167 @@ public class Parser implements ParserInterface{
 	 * @throws InvalidInputException
 	*/
 	public Parser(String inputString) {
-		lex = new LexicalAnalyzer(inputString);
-		nextLexeme = lex.nextLexeme();
+		tokens = new TokenBuffer(inputString);
+		position = 0;
+		nextLexeme = lexeme(0);
 		indentationLevel = 0;
 		outputQueue = new ArrayDeque<String>();
+		trace = true;
+	} // end constructor
+
+	/**
+	 * Constructor for an input that was lexically analyzed into a token file
+	 *
+	 * @param file Token file of the input
+	 */
+	public Parser(TokenFile file) {
+		this(new TokenBuffer(file), 0, 0);
+	} // end constructor
+
+	/**
+	 * Starts over on a new input string, keeping the modes of the parser. The
+	 * output queue, syntax tree and token arrays of the last input are cleared
+	 * and reused, so take what is needed from them first. The lexemes are not
+	 * reused in lazy mode, because the BodyHandles of the last input keep them.
+	 *
+	 * @param inputString
+	 */
+	public void reset(String inputString) {
+		if (bodies != null) {
+			tokens = new TokenBuffer(inputString);
+			bodies = new ArrayList<BodyHandle>();
+		} else {
+			tokens.reset(inputString);
+		} // end if/else
+
+		position = 0;
+		nextLexeme = lexeme(0);
+		indentationLevel = 0;
+		outputQueue.clear();
+		if (tree != null) tree.clear();
+		outline = null;
+		declaration = null;
+		enclosingClass = null;
+		anonymousClasses = 0;
+		speculating = 0;
+		pendingTop = 0;
+		if (memo != null) memo.clear();
+		if (profiler != null) profiler.unwind(0, 0);
+	} // end reset()
+
+	/**
+	 * Sets the profile that the entries, tokens and times of the rules of
+	 * this parser are added to. Parsers start with the default profile, which
+	 * is null unless the parser.profile system property is set.
+	 *
+	 * @param profile The profile, or null to not profile
+	 */
+	public void setProfile(RuleProfile profile) {
+		profiler = profile == null ? null : profile.recorder();
+	} // end setProfile()
+
+	/**
+	 * Enables or disables output. Without output, start() only checks the input,
+	 * which is much faster.
+	 *
+	 * @param enabled True to produce output
+	 */
+	public void setTraceMode(boolean enabled) {
+		trace = enabled;
+	} // end setTraceMode()
+
+	/**
+	 * Checks if output is produced
+	 *
+	 * @return True unless trace mode was disabled
+	 */
+	public boolean isTraceMode() {
+		return trace;
+	} // end isTraceMode()
+
+	/**
+	 * Constructor for parsing part of an input that was already lexically analyzed
+	 *
+	 * @param tokens Lexemes of the input
+	 * @param position Token index to start at
+	 * @param indentationLevel Indentation of the output of the first rule
+	 */
+	Parser(TokenBuffer tokens, int position, int indentationLevel) {
+		this.tokens = tokens;
+		this.position = position;
+		this.nextLexeme = lexeme(position);
+		this.indentationLevel = indentationLevel;
+		this.outputQueue = new ArrayDeque<String>();
+		this.trace = true;
 	} // end constructor
 
+	/**
+	 * Enables or disables recording of a SyntaxTree while parsing
+	 *
+	 * @param enabled True to record a tree
+	 */
+	public void setTreeMode(boolean enabled) {
+		tree = enabled ? new SyntaxTree() : null;
+	} // end setTreeMode()
+
+	/**
+	 * Gets the syntax tree recorded while parsing
+	 *
+	 * @return The tree, or null if tree mode is disabled
+	 */
+	public SyntaxTree getSyntaxTree() {
+		return tree;
+	} // end getSyntaxTree()
+
+	/**
+	 * Enables or disables lazy mode. In lazy mode, method bodies and initializer
+	 * blocks are skipped by matching braces and recorded as BodyHandles, which
+	 * are parsed when their output is asked for.
+	 *
+	 * @param enabled True to skip bodies
+	 */
+	public void setLazyMode(boolean enabled) {
+		bodies = enabled ? new ArrayList<BodyHandle>() : null;
+	} // end setLazyMode()
+
+	/**
+	 * Gets the bodies skipped in lazy mode, in input order
+	 *
+	 * @return The bodies, or null if lazy mode is disabled
+	 */
+	public List<BodyHandle> getBodies() {
+		return bodies;
+	} // end getBodies()
+
+	/**
+	 * Enables or disables packrat mode. In packrat mode, block statements starting
+	 * with an identifier are first tried as local variable declarations, and
+	 * parenthesized expressions are first tried as casts. These alternatives are
+	 * parsed speculatively and the results of rules inside them are memoized by
+	 * token index, so trying them again does not parse the same input twice.
+	 * The memo is cleared for every class body statement.
+	 *
+	 * Packrat mode is not the same language as the default mode. It accepts
+	 * casts, as in int y = (int) z;, which the default mode rejects. It also
+	 * gives a different trace and tree for inputs both accept: String s = x;
+	 * is one block statement holding a local_variable_declaration, where the
+	 * default mode gives the two block statements String and s = x;. The
+	 * IncrementalParser, TreeIndex and IdentifierIndex expect the tree of the
+	 * default mode, so they should not be given a packrat tree.
+	 *
+	 * @param enabled True to enable packrat mode
+	 */
+	public void setPackratMode(boolean enabled) {
+		if (!enabled) {
+			memo = null;
+			pending = null;
+		} else if (memo == null) {
+			memo = new PackratMemo(MEMO_RULES);
+			pending = new int[64];
+			pendingTop = 0;
+		} // end if/else
+	} // end setPackratMode()
+
 	/**
 	* Checks if the current lexeme's associated token is equal to the given token,
 	* prints out the current lexeme, and moves to the next lexeme in the input string
@@ -44,8 +263,8 @@ public class Parser implements ParserInterface{
 	private void parseLexeme(Token token) throws InvalidInputException {
 		
 		if (nextLexeme.getToken() == token) {
-			output(nextLexeme.toString(), 0);
-			nextLexeme = lex.nextLexeme();
+			if (trace) output(nextLexeme.toString(), 0);
+			nextLexeme = lexeme(++position);
 		} else {
 			error();
 		} // end if/else
@@ -61,25 +280,162 @@ public class Parser implements ParserInterface{
 	 *  or 0 to leave it the same.
 	 */
 	private void output(String toPrint, int direction) {
+		if (profiler != null) {
+			if (direction > 0) profiler.enter(toPrint, position);
+			else if (direction < 0) profiler.exit(position);
+		} // end if
+
+		if (speculating > 0 || outline != null) return;
 		if (direction < 0) indentationLevel--;
 
-		String output = "";
+		// "Enter <rule>"
+		if (tree != null && direction > 0)
+			tree.enter(SyntaxTree.enterKind(toPrint), position, outputQueue.size());
 
-		for (int i = 0; i < indentationLevel; i++) {
-			output = output + "    ";
-		} // end for
-		
-		output = output + toPrint + "\n";
+		if (trace) {
+			line.setLength(0);
+
+			for (int i = 0; i < indentationLevel; i++) {
+				line.append("    ");
+			} // end for
+
+			outputQueue.add(line.append(toPrint).append('\n').toString());
+		} // end if
 
-		outputQueue.add(output);
 		if (direction > 0) indentationLevel++;
+		if (tree != null && direction < 0) tree.exit(position, outputQueue.size());
 	} // end printIndented()
 
+	// checks if the current lexeme's token is in the given token set
+	private boolean nextIn(long set) {
+		return nextLexeme.getToken().in(set);
+	} // end nextIn()
+
 	// throws an exception
 	private void error() throws InvalidInputException {
-		String message = String.format("ERROR: Line %d: Invalid input: %s\n", lex.getLineNumber(), nextLexeme.getLexeme());
-		throw new InvalidInputException(message);
+		if (speculating > 0) throw SPECULATION_FAILED;
+		throw new InvalidInputException(getErrorMessage());
 	} // end error()
+
+	// parses a method body or initializer block, or skips it in lazy mode
+	private void body() throws InvalidInputException {
+		if ((bodies == null && outline == null) || nextLexeme.getToken() != Token.LEFT_BRACE) {
+			block(); // <block>
+			return;
+		} // end if
+
+		int start = position;
+		int end = tokens.getBracketIndex().getPartner(start);
+
+		// skip past the matching brace
+		if (end < 0) {
+			seek(tokens.size());
+			error();
+		} // end if
+
+		seek(end + 1);
+
+		if (bodies != null) bodies.add(new BodyHandle(tokens, start, position, indentationLevel, outputQueue.size()));
+	} // end body()
+
+	// moves back to an earlier token index
+	private void seek(int index) {
+		position = index;
+		nextLexeme = lexeme(index);
+	} // end seek()
+
+	// the lexeme at a token index, or END_OF_INPUT past the last one
+	private Lexeme lexeme(int index) {
+		Lexeme lexeme = tokens.get(index);
+		return lexeme == null ? END_OF_INPUT : lexeme;
+	} // end lexeme()
+
+	/**
+	 * Parses an alternative without output and returns to the current position
+	 *
+	 * @param alternative LOCAL_VARIABLE_DECLARATION or CAST
+	 * @return True if the alternative parsed
+	 */
+	private boolean speculate(int alternative) {
+		int start = position;
+		int base = pendingTop;
+		int profileBase = profiler == null ? 0 : profiler.depth();
+		speculating++;
+
+		try {
+			switch (alternative) {
+
+			// <local_variable_declaration> ";"
+			case LOCAL_VARIABLE_DECLARATION:
+				localVariableDeclaration(); // <local_variable_declaration>
+				parseLexeme(Token.SEMICOLON);
+				break;
+
+			// "(" <type> ")" <expression3>
+			case CAST:
+				parseLexeme(Token.LEFT_PAREN);
+				boolean primitive = nextLexeme.getToken() == Token.PRIMITIVE_TYPE;
+				type(); // <type>
+				parseLexeme(Token.RIGHT_PAREN);
+				if (!primitive && nextIn(NOT_AFTER_REFERENCE_CAST)) error();
+				expression3(); // <expression3>
+				break;
+
+			default:
+				error();
+			} // end switch
+
+			return true;
+
+		} catch (InvalidInputException e) {
+			// every memoized rule the failure passed through failed where it started
+			while (pendingTop > base) {
+				pendingTop -= 2;
+				memo.put(pending[pendingTop], pending[pendingTop + 1], PackratMemo.FAILED);
+			} // end while
+
+			return false;
+
+		} finally {
+			speculating--;
+			if (profiler != null) profiler.unwind(profileBase, position);
+			seek(start);
+		} // end try/catch/finally
+	} // end speculate()
+
+	/**
+	 * In a speculative parse, skips a rule whose result at the current position
+	 * is memoized. Otherwise records the start of the rule for memoize().
+	 *
+	 * @param rule Memoized rule
+	 * @return True if the rule was skipped
+	 * @throws InvalidInputException if the rule is known to fail here
+	 */
+	private boolean recall(int rule) throws InvalidInputException {
+		if (memo == null) return false;
+
+		if (speculating > 0) {
+			int end = memo.get(rule, position);
+			if (end == PackratMemo.FAILED) error();
+			if (end != PackratMemo.UNKNOWN) {
+				seek(end);
+				return true;
+			} // end if
+		} // end if
+
+		if (pendingTop == pending.length) pending = Arrays.copyOf(pending, pendingTop * 2);
+		pending[pendingTop++] = rule;
+		pending[pendingTop++] = position;
+		return false;
+	} // end recall()
+
+	// records the end of a rule started by recall()
+	private void memoize(int rule) {
+		if (memo == null) return;
+
+		pendingTop -= 2;
+		memo.put(rule, pending[pendingTop + 1], position);
+	} // end memoize()
 	
 	@Override
 	public ArrayDeque<String> getOutputQueue(){
@@ -88,15 +444,60 @@ public class Parser implements ParserInterface{
 
 	@Override
 	public String getErrorMessage() {
-		return String.format("ERROR: Line %d: Invalid input: %s\n", lex.getLineNumber(), nextLexeme.getLexeme());
+		return String.format("ERROR: Line %d: Invalid input: %s\n", tokens.getLineNumber(position),
+				nextLexeme.getLexeme());
 	}
 
 	// begin the recursive descent process
 	@Override
 	public void start() throws InvalidInputException {
-		program(); // <program>
+		try {
+			program(); // <program>
+		} finally {
+			if (profiler != null) profiler.unwind(0, position);
+		} // end try/finally
 	} // end start()
 
+	// reads the outline of the input, without output and without parsing bodies
+	Outline outline() throws InvalidInputException {
+		outline = new Outline();
+		program(); // <program>
+		return outline;
+	} // end outline()
+
+	// checks if declarations are added to the outline
+	private boolean recording() {
+		return outline != null && anonymousClasses == 0;
+	} // end recording()
+
+	// starts the outline of a member whose type and name were parsed
+	private Outline.Declaration member(Outline.Kind kind, int start, int type, int name) {
+		Outline.Declaration member = outline.add(kind, tokens, start, name);
+		member.modifiers = tokens.getText(start, type);
+		member.type = tokens.getText(type, name);
+		member.enclosingClass = enclosingClass;
+		return member;
+	} // end member()
+
+	/**
+	 * Parses a single rule from the current position, for reparsing part of an input
+	 *
+	 * @param rule Rule name, "class_body_statement" or "block"
+	 * @throws InvalidInputException
+	 */
+	void parseRule(String rule) throws InvalidInputException {
+		switch (rule) {
+		case "class_body_statement":
+			classBodyStatement(); // <class_body_statement>
+			break;
+		case "block":
+			block(); // <block>
+			break;
+		default:
+			throw new IllegalArgumentException("Cannot parse <" + rule + "> on its own");
+		} // end switch
+	} // end parseRule()
+
 	// <qualified_identifier> = <identifier> {"." <identifier>};
 	private void qualifiedIdentifier() throws InvalidInputException {
 		output("Enter <qualified_identifier>", 1);
@@ -117,7 +518,9 @@ public class Parser implements ParserInterface{
 
 		if (nextLexeme.getToken() == Token.KEYWORD_PACKAGE) {
 			parseLexeme(Token.KEYWORD_PACKAGE);
+			int start = position;
 			qualifiedIdentifier(); // <qualified_identifier>
+			if (recording()) outline.packageName = tokens.getText(start, position);
 			parseLexeme(Token.SEMICOLON);
 		} // end if
 
@@ -135,25 +538,25 @@ public class Parser implements ParserInterface{
 		output("Enter <import>", 1);
 
 		parseLexeme(Token.KEYWORD_IMPORT);
+		int start = position;
 		
-		// must check lexeme itself as "static" is a modifier
-		if (nextLexeme.getLexeme().equals("static")) {
-			parseLexeme(Token.MODIFIER);
+		if (nextLexeme.getToken() == Token.MODIFIER_STATIC) {
+			parseLexeme(Token.MODIFIER_STATIC);
 		}
 
 		parseLexeme(Token.IDENTIFIER);
 
 		while (nextLexeme.getToken() == Token.DOT) {
 			parseLexeme(Token.DOT);
-			if (nextLexeme.getLexeme().equals("*")) {
-				// asterisk is an infix operator
-				parseLexeme(Token.INFIX_OPERATOR);
+			if (nextLexeme.getToken() == Token.OPERATOR_MULTIPLY) {
+				parseLexeme(Token.OPERATOR_MULTIPLY);
 				break;
 			} else {
 				parseLexeme(Token.IDENTIFIER);
 			} // end if/else
 		} // end while
 
+		if (recording()) outline.imports.add(tokens.getText(start, position));
 		parseLexeme(Token.SEMICOLON);
 
 		output("Exit <import>", -1);
@@ -163,8 +566,9 @@ public class Parser implements ParserInterface{
 	private void classRule() throws InvalidInputException {
 		output("Enter <class>", 1);
 
-		while (nextLexeme.getToken() == Token.MODIFIER) {
-			parseLexeme(Token.MODIFIER);
+		memberStart = position;
+		while (nextIn(MODIFIERS)) {
+			parseLexeme(nextLexeme.getToken());
 		} // end while
 
 		classDeclaration(); // <class_declaration>
@@ -177,18 +581,46 @@ public class Parser implements ParserInterface{
 	private void classDeclaration() throws InvalidInputException {
 		output("Enter <class_declaration>", 1);
 
+		int start = memberStart;
+		Outline.Declaration outer = enclosingClass;
+		Outline.Declaration saved = declaration;
+		declaration = null;
+
 		parseLexeme(Token.KEYWORD_CLASS);
 		parseLexeme(Token.IDENTIFIER);
 
+		if (recording()) {
+			declaration = outline.add(Outline.Kind.CLASS, tokens, start, position - 1);
+			declaration.modifiers = tokens.getText(start, position - 2);
+			declaration.enclosingClass = outer;
+		} // end if
+
+		int clause = position;
 		if (nextLexeme.getToken() == Token.LEFT_ANGLEBRACKET)
 			typeParameters(); // <type_parameters>
+		if (declaration != null) declaration.typeParameters = tokens.getText(clause, position);
+
+		clause = position;
 		if (nextLexeme.getToken() == Token.KEYWORD_EXTENDS)
 			extendsRule(); // <extends>
+		if (declaration != null) declaration.superclass = tokens.getText(clause + 1, position);
+
 		if (nextLexeme.getToken() == Token.KEYWORD_IMPLEMENTS)
 			implementsRule(); // <implements>
 
+		Outline.Declaration declared = declaration;
+		if (declared != null) {
+			declared.signature = tokens.getText(start, position);
+			enclosingClass = declared;
+		} // end if
+		declaration = null;
+
 		classBody(); // <class_body>
 
+		if (declared != null) outline.end(declared, tokens, position);
+		enclosingClass = outer;
+		declaration = saved;
+
 		output("Exit <class_declaration>", -1);
 	} // end classDeclaration()
 
@@ -207,11 +639,15 @@ public class Parser implements ParserInterface{
 		output("Enter <implements>", 1);
 
 		parseLexeme(Token.KEYWORD_IMPLEMENTS);
+		int start = position;
 		type(); // <type>
+		if (declaration != null) declaration.interfaces.add(tokens.getText(start, position));
 
 		while (nextLexeme.getToken() == Token.COMMA) {
 			parseLexeme(Token.COMMA);
+			start = position;
 			type(); // <type>
+			if (declaration != null) declaration.interfaces.add(tokens.getText(start, position));
 		} // end while
 
 		output("Exit <implements>", -1);
@@ -238,6 +674,9 @@ public class Parser implements ParserInterface{
 	private void classBodyStatement() throws InvalidInputException {
 		output("Enter <class_body_statement>", 1);
 
+		// memoized results are only reused within a member
+		if (memo != null) memo.clear();
+
 		switch (nextLexeme.getToken()) {
 
 		// semicolon: this is an empty statement
@@ -247,17 +686,18 @@ public class Parser implements ParserInterface{
 
 		// left brace: this is the opening of a block
 		case LEFT_BRACE:
-			block(); // <block>
+			body(); // <block>
 			break;
 
 		// otherwise, assume this is a declaration
 		default:
-			while (nextLexeme.getToken() == Token.MODIFIER) {
-				parseLexeme(Token.MODIFIER);
+			memberStart = position;
+			while (nextIn(MODIFIERS)) {
+				parseLexeme(nextLexeme.getToken());
 			} // end while
 
 			if (nextLexeme.getToken() == Token.LEFT_BRACE) {
-				block(); // <block>
+				body(); // <block>
 			} else {
 				classBodyDeclaration(); // <class_body_declaration>
 			} // end if/else
@@ -275,6 +715,12 @@ public class Parser implements ParserInterface{
 	private void classBodyDeclaration() throws InvalidInputException {
 		output("Enter <class_body_declaration>", 1);
 
+		int start = memberStart;
+		int type = position;
+		int first = recording() ? outline.declarations.size() : 0; // first declaration of this member
+		Outline.Declaration saved = declaration;
+		declaration = null;
+
 		switch (nextLexeme.getToken()) {
 
 		// <class_declaration> 
@@ -286,6 +732,7 @@ public class Parser implements ParserInterface{
 		case KEYWORD_VOID:
 			parseLexeme(Token.KEYWORD_VOID);
 			parseLexeme(Token.IDENTIFIER);
+			if (recording()) declaration = member(Outline.Kind.METHOD, start, type, position - 1);
 			methodDeclaration(); // <method_declaration>
 			break;
 
@@ -298,6 +745,7 @@ public class Parser implements ParserInterface{
 			if (nextLexeme.getToken() == Token.LEFT_PAREN) {
 				// if identifier is followed by a left paren, it
 				// must be a constructor declaration
+				if (recording()) declaration = member(Outline.Kind.CONSTRUCTOR, start, type, type);
 				methodDeclaration(); // <method_declaration>
 				break;
 			} // end if
@@ -311,9 +759,14 @@ public class Parser implements ParserInterface{
 			if (nextLexeme.getToken() == Token.LEFT_PAREN) {
 				// if identifier followed by left paren,
 				// this is a method declaration
+				if (recording()) declaration = member(Outline.Kind.METHOD, start, type, position - 1);
 				methodDeclaration(); // <method_declaration>
 			} else {
 				// if it isn't a left paren, this is a field declaration
+				if (recording()) {
+					declaration = member(Outline.Kind.FIELD, start, type, position - 1);
+					declaration.signature = tokens.getText(start, position);
+				} // end if
 				fieldDeclaration(); // <field_declaration>
 				parseLexeme(Token.SEMICOLON);
 			} // end if/else
@@ -325,6 +778,14 @@ public class Parser implements ParserInterface{
 
 		} // end switch
 
+		// members declared together end together
+		if (declaration != null) {
+			for (int i = first; i < outline.declarations.size(); i++) {
+				outline.end(outline.declarations.get(i), tokens, position);
+			} // end for
+		} // end if
+		declaration = saved;
+
 		output("Exit <class_body_declaration>", -1);
 	} // end classBodyDeclaration()
 
@@ -364,6 +825,15 @@ public class Parser implements ParserInterface{
 
 		parseLexeme(Token.IDENTIFIER);
 
+		// another field declared with the same modifiers and type
+		if (declaration != null && declaration.kind == Outline.Kind.FIELD) {
+			Outline.Declaration field = member(Outline.Kind.FIELD, declaration.startToken,
+					declaration.startToken, position - 1);
+			field.modifiers = declaration.modifiers;
+			field.type = declaration.type;
+			field.signature = tokens.getText(declaration.startToken, declaration.nameToken) + " " + field.name;
+		} // end if
+
 		while (nextLexeme.getToken() == Token.LEFT_BRACKET) {
 			parseLexeme(Token.LEFT_BRACKET);
 			parseLexeme(Token.RIGHT_BRACKET);
@@ -426,10 +896,12 @@ public class Parser implements ParserInterface{
 
 		} // end if
 
+		if (declaration != null) declaration.signature = tokens.getText(declaration.startToken, position);
+
 		if (nextLexeme.getToken() == Token.SEMICOLON) {
 			parseLexeme(Token.SEMICOLON); // empty statement
 		} else  {
-			block(); // <block>
+			body(); // <block>
 		} // end if/else
 
 		output("Exit <method_declaration>", -1);
@@ -460,8 +932,9 @@ public class Parser implements ParserInterface{
 	private void parameter() throws InvalidInputException {
 		output("Enter <parameter>", 1);
 
-		while (nextLexeme.getToken() == Token.MODIFIER) {
-			parseLexeme(Token.MODIFIER);
+		int start = position;
+		while (nextIn(MODIFIERS)) {
+			parseLexeme(nextLexeme.getToken());
 		} // end while
 
 		type(); // <type>
@@ -473,6 +946,8 @@ public class Parser implements ParserInterface{
 			parseLexeme(Token.RIGHT_BRACKET);
 		} // end while
 
+		if (declaration != null) declaration.parameters.add(tokens.getText(start, position));
+
 		output("Exit <parameter>", -1);
 	} // end parameter()
 
@@ -504,7 +979,7 @@ public class Parser implements ParserInterface{
 
 		// if the first lexeme is "synchronized," this is a synchronized block
 		// which is handled in statement();
-		if (nextLexeme.getLexeme().equals("synchronized")) {
+		if (nextLexeme.getToken() == Token.MODIFIER_SYNCHRONIZED) {
 			statement(); // <statement>
 
 			// exit the method
@@ -514,8 +989,8 @@ public class Parser implements ParserInterface{
 		} // end if
 
 		// cycle through all modifiers
-		while (nextLexeme.getToken() == Token.MODIFIER) {
-			parseLexeme(Token.MODIFIER);
+		while (nextIn(MODIFIERS)) {
+			parseLexeme(nextLexeme.getToken());
 		} // end while
 
 		switch (nextLexeme.getToken()) {
@@ -530,15 +1005,20 @@ public class Parser implements ParserInterface{
 
 		// identifier could either be a type or the start of an expression
 		case IDENTIFIER:
+			// in packrat mode, try it as a declaration first
+			if (memo != null && speculate(LOCAL_VARIABLE_DECLARATION)) {
+				localVariableDeclaration(); // <local_variable_declaration>
+				parseLexeme(Token.SEMICOLON);
+				break;
+			} // end if
+
 			boolean typeArguments = false; // boolean to detect syntax errors
 
 			parseLexeme(Token.IDENTIFIER);
 
 			// if the first token following the identifier is an
 			// assignment operator, this is an expression
-			if (nextLexeme.getToken() == Token.ASSIGNMENT_OPERATOR
-					|| nextLexeme.getToken() == Token.OPERATOR_INCREMENT
-					|| nextLexeme.getToken() == Token.OPERATOR_DECREMENT) {
+			if (nextIn(IDENTIFIER_EXPRESSION)) {
 				expressionAfterID(); // <expression_from_block>
 				break;
 			} // end if
@@ -621,6 +1101,7 @@ public class Parser implements ParserInterface{
 	// <type> = <primitive_type> {"[]"}
 	//   | <identifier> <type_half>;
 	private void type() throws InvalidInputException {
+		if (recall(MEMO_TYPE)) return;
 		output("Enter <type>", 1);
 
 		if (nextLexeme.getToken() == Token.PRIMITIVE_TYPE) {
@@ -637,6 +1118,7 @@ public class Parser implements ParserInterface{
 		} // end else
 
 		output("Exit <type>", -1);
+		memoize(MEMO_TYPE);
 	} // end type()
 
 	// <type_half> = [<type_arguments>] {"." <identifier> [type_arguments]}  {"[]"};
@@ -692,7 +1174,7 @@ public class Parser implements ParserInterface{
 		if (nextLexeme.getToken() == Token.QUESTION_MARK) {
 			parseLexeme(Token.QUESTION_MARK);
 			
-			if (nextLexeme.getToken() == Token.KEYWORD_SUPER || nextLexeme.getToken() == Token.KEYWORD_EXTENDS) {
+			if (nextIn(WILDCARD_BOUNDS)) {
 				parseLexeme(nextLexeme.getToken());
 				type(); // <type>
 			} // end if
@@ -732,8 +1214,8 @@ public class Parser implements ParserInterface{
 			parseLexeme(Token.KEYWORD_EXTENDS);
 			type(); // <type>
 			
-			while (nextLexeme.getLexeme().equals("&")) {
-				parseLexeme(Token.INFIX_OPERATOR); // "&" is an infix operator
+			while (nextLexeme.getToken() == Token.OPERATOR_AMPERSAND) {
+				parseLexeme(Token.OPERATOR_AMPERSAND);
 				type(); // <type>
 			} // end while
 			
@@ -829,10 +1311,10 @@ public class Parser implements ParserInterface{
 			parseLexeme(Token.KEYWORD_FOR);
 			parseLexeme(Token.LEFT_PAREN);
 			
-			if (nextLexeme.getToken() != Token.COLON && nextLexeme.getToken() != Token.SEMICOLON) {
+			if (!nextIn(FOR_ARGUMENTS)) {
 				
-				while (nextLexeme.getToken() == Token.MODIFIER)
-					parseLexeme(Token.MODIFIER);
+				while (nextIn(MODIFIERS))
+					parseLexeme(nextLexeme.getToken());
 				
 				type(); // <type>
 				parseLexeme(Token.IDENTIFIER);
@@ -842,10 +1324,7 @@ public class Parser implements ParserInterface{
 					parseLexeme(Token.RIGHT_BRACKET);
 				} // end while
 
-				if (nextLexeme.getToken() == Token.ASSIGNMENT_OPERATOR
-						|| nextLexeme.getToken() == Token.LEFT_ANGLEBRACKET
-						|| nextLexeme.getToken() == Token.RIGHT_ANGLEBRACKET
-					) {
+				if (nextIn(ASSIGNMENT_OPERATORS)) {
 					assignmentOperator(); // <assignment_operator>
 					variableInit(); // <variable_init>
 				} // end if
@@ -930,10 +1409,8 @@ public class Parser implements ParserInterface{
 			break;
 
 		// "synchronized" <paren_expression> <block>
-		case MODIFIER:
-			if (!nextLexeme.getLexeme().equals("synchronized"))
-				error();
-			parseLexeme(Token.MODIFIER);
+		case MODIFIER_SYNCHRONIZED:
+			parseLexeme(Token.MODIFIER_SYNCHRONIZED);
 			parenExpression(); // <paren_expression>
 			block(); // <block>
 			break;
@@ -1001,7 +1478,7 @@ public class Parser implements ParserInterface{
 
 			} // end switch
 
-			while (nextLexeme.getToken() != Token.RIGHT_BRACE && nextLexeme.getToken() != Token.KEYWORD_CASE && nextLexeme.getToken() != Token.KEYWORD_DEFAULT) {
+			while (!nextIn(END_OF_CASE)) {
 				blockStatement(); // <block_statement>
 			} // end while
 			
@@ -1028,8 +1505,8 @@ public class Parser implements ParserInterface{
 		parseLexeme(Token.KEYWORD_CATCH);
 		parseLexeme(Token.LEFT_PAREN);
 
-		while (nextLexeme.getToken() == Token.MODIFIER) {
-			parseLexeme(Token.MODIFIER);
+		while (nextIn(MODIFIERS)) {
+			parseLexeme(nextLexeme.getToken());
 		} // end while
 
 		qualifiedIdentifier(); // <qualified_identifier>
@@ -1071,19 +1548,18 @@ public class Parser implements ParserInterface{
 
 	//<expression> = <expression1> [<assignment_operator> <expression1>];
 	private void expression() throws InvalidInputException {
+		if (recall(MEMO_EXPRESSION)) return;
 		output("Enter <expression>", 1);
 
 		expression1(); // <expression1>
 
-		if (nextLexeme.getToken() == Token.ASSIGNMENT_OPERATOR
-				|| nextLexeme.getToken() == Token.LEFT_ANGLEBRACKET
-				|| nextLexeme.getToken() == Token.RIGHT_ANGLEBRACKET
-			) {
+		if (nextIn(ASSIGNMENT_OPERATORS)) {
 			assignmentOperator(); // <assignment_operator>
 			expression1(); // <expression1>
 		} // end if
 
 		output("Exit <expression>", -1);
+		memoize(MEMO_EXPRESSION);
 	} // end expression()
 
 	// <expression1> = <expression2> ["?" <expression> ":" <expression1>];
@@ -1112,11 +1588,7 @@ public class Parser implements ParserInterface{
 			parseLexeme(Token.KEYWORD_INSTANCEOF);
 			type(); // <type>
 		} else {
-			while (nextLexeme.getToken() == Token.INFIX_OPERATOR
-					|| nextLexeme.getToken() == Token.OPERATOR_PLUS
-					|| nextLexeme.getToken() == Token.OPERATOR_MINUS
-					|| nextLexeme.getToken() == Token.LEFT_ANGLEBRACKET
-					|| nextLexeme.getToken() == Token.RIGHT_ANGLEBRACKET ) {
+			while (nextIn(INFIX_OPERATORS)) {
 				infixOperator(); // <infix_operator>
 				expression3(); // <expression3>
 			} // end while
@@ -1129,6 +1601,7 @@ public class Parser implements ParserInterface{
     //   | "(" <type> ")" <expression3> (*implemented ebnf *)
     //   | <expression_unit> {<selector>} {<postfix_operator>};
 	private void expression3() throws InvalidInputException {
+		if (recall(MEMO_EXPRESSION3)) return;
 		output("Enter <expression3>", 1);
 
 		switch (nextLexeme.getToken()) {
@@ -1143,6 +1616,15 @@ public class Parser implements ParserInterface{
 			break;
 
 		case LEFT_PAREN:
+			// in packrat mode, try it as a cast first
+			if (memo != null && speculate(CAST)) {
+				parseLexeme(Token.LEFT_PAREN);
+				type(); // <type>
+				parseLexeme(Token.RIGHT_PAREN);
+				expression3(); // <expression3>
+				break;
+			} // end if
+
 			parseLexeme(Token.LEFT_PAREN);
 			expression();
 			parseLexeme(Token.RIGHT_PAREN);
@@ -1151,11 +1633,11 @@ public class Parser implements ParserInterface{
 		default:
 			expressionUnit(); // <expression_unit>
 			
-			while (nextLexeme.getToken() == Token.DOT || nextLexeme.getToken() == Token.LEFT_BRACKET) {
+			while (nextIn(SELECTORS)) {
 				selector(); // <selector>
 			} // end while
 			
-			while (nextLexeme.getToken() == Token.OPERATOR_INCREMENT || nextLexeme.getToken() == Token.OPERATOR_DECREMENT) {
+			while (nextIn(POSTFIX_OPERATORS)) {
 				postfixOperator(); // <postfix_operator>
 			} // end while
 			
@@ -1164,6 +1646,7 @@ public class Parser implements ParserInterface{
 		} // end switch/case
 
 		output("Exit <expression3>", -1);
+		memoize(MEMO_EXPRESSION3);
 	} // end expression3()
 
 	// <expression_half> = [<identifier_rest>] [<postfix_operator>] [<assignment_operator> <expression1>];
@@ -1172,14 +1655,11 @@ public class Parser implements ParserInterface{
 
 		identifierRest(); // <identifier_rest>
 
-		if (nextLexeme.getToken() == Token.OPERATOR_INCREMENT || nextLexeme.getToken() == Token.OPERATOR_DECREMENT) {
+		if (nextIn(POSTFIX_OPERATORS)) {
 			postfixOperator(); // <postfix_operator>
 		} // end if
 
-		if (nextLexeme.getToken() == Token.ASSIGNMENT_OPERATOR
-				|| nextLexeme.getToken() == Token.LEFT_ANGLEBRACKET
-				|| nextLexeme.getToken() == Token.RIGHT_ANGLEBRACKET
-			) {
+		if (nextIn(ASSIGNMENT_OPERATORS)) {
 			assignmentOperator(); // <assignment_operator>
 			expression1(); // <expression1>
 		} // end if
@@ -1223,11 +1703,11 @@ public class Parser implements ParserInterface{
 			} // end switch/case
 		} // end if/else
 
-		while (nextLexeme.getToken() == Token.DOT || nextLexeme.getToken() == Token.LEFT_BRACKET) {
+		while (nextIn(SELECTORS)) {
 			selector(); // <selector>
 		} // end while
 		
-		while (nextLexeme.getToken() == Token.OPERATOR_INCREMENT || nextLexeme.getToken() == Token.OPERATOR_DECREMENT) {
+		while (nextIn(POSTFIX_OPERATORS)) {
 			postfixOperator(); // <postfix_operator>
 		} // end while
 		
@@ -1235,11 +1715,7 @@ public class Parser implements ParserInterface{
 			parseLexeme(Token.KEYWORD_INSTANCEOF);
 			type(); // <type>
 		} else {
-			while (nextLexeme.getToken() == Token.INFIX_OPERATOR
-					|| nextLexeme.getToken() == Token.OPERATOR_PLUS
-					|| nextLexeme.getToken() == Token.OPERATOR_MINUS
-					|| nextLexeme.getToken() == Token.LEFT_ANGLEBRACKET
-					|| nextLexeme.getToken() == Token.RIGHT_ANGLEBRACKET ) {
+			while (nextIn(INFIX_OPERATORS)) {
 				infixOperator(); // <infix_operator>
 				expression3(); // <expression3>
 			} // end while
@@ -1252,9 +1728,7 @@ public class Parser implements ParserInterface{
 			expression1(); // <expression1>
 		} // end if
 		
-		if (nextLexeme.getToken() == Token.ASSIGNMENT_OPERATOR
-				|| nextLexeme.getToken() == Token.LEFT_ANGLEBRACKET
-				|| nextLexeme.getToken() == Token.RIGHT_ANGLEBRACKET) {
+		if (nextIn(ASSIGNMENT_OPERATORS)) {
 			assignmentOperator(); // <assignment_operator>
 			expression1(); // <expression1>
 		} // end if
@@ -1418,11 +1892,11 @@ public class Parser implements ParserInterface{
 		expression(); // <expression>
 		parseLexeme(Token.RIGHT_BRACKET);
 		
-		while (nextLexeme.getToken() == Token.DOT || nextLexeme.getToken() == Token.LEFT_BRACKET) {
+		while (nextIn(SELECTORS)) {
 			selector(); // <selector>
 		} // end while
 		
-		while (nextLexeme.getToken() == Token.OPERATOR_INCREMENT || nextLexeme.getToken() == Token.OPERATOR_DECREMENT) {
+		while (nextIn(POSTFIX_OPERATORS)) {
 			postfixOperator(); // <postfix_operator>
 		} // end while
 		
@@ -1430,11 +1904,7 @@ public class Parser implements ParserInterface{
 			parseLexeme(Token.KEYWORD_INSTANCEOF);
 			type(); // <type>
 		} else {
-			while (nextLexeme.getToken() == Token.INFIX_OPERATOR
-					|| nextLexeme.getToken() == Token.OPERATOR_PLUS
-					|| nextLexeme.getToken() == Token.OPERATOR_MINUS
-					|| nextLexeme.getToken() == Token.LEFT_ANGLEBRACKET
-					|| nextLexeme.getToken() == Token.RIGHT_ANGLEBRACKET ) {
+			while (nextIn(INFIX_OPERATORS)) {
 				infixOperator(); // <infix_operator>
 				expression3(); // <expression3>
 			} // end while
@@ -1447,9 +1917,7 @@ public class Parser implements ParserInterface{
 			expression1(); // <expression1>
 		} // end if
 		
-		if (nextLexeme.getToken() == Token.ASSIGNMENT_OPERATOR
-				|| nextLexeme.getToken() == Token.LEFT_ANGLEBRACKET
-				|| nextLexeme.getToken() == Token.RIGHT_ANGLEBRACKET) {
+		if (nextIn(ASSIGNMENT_OPERATORS)) {
 			assignmentOperator(); // <assignment_operator>
 			expression1(); // <expression1>
 		} // end if
@@ -1493,7 +1961,12 @@ public class Parser implements ParserInterface{
 		arguments(); // <arguments>
 
 		if (nextLexeme.getToken() == Token.LEFT_BRACE) {
-			classBody(); // <class_body>
+			anonymousClasses++;
+			try {
+				classBody(); // <class_body>
+			} finally {
+				anonymousClasses--;
+			} // end try/finally
 		} // end if
 
 		output("Exit <class_allocator>", -1);
@@ -1739,6 +2212,8 @@ public class Parser implements ParserInterface{
 
 		switch (nextLexeme.getToken()) {
 		case INFIX_OPERATOR:
+		case OPERATOR_MULTIPLY:
+		case OPERATOR_AMPERSAND:
 		case OPERATOR_PLUS:
 		case OPERATOR_MINUS:
 			parseLexeme(nextLexeme.getToken());
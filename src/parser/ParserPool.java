@@ -0,0 +1,52 @@
+/**
+ * Parsers kept for reuse, one for each thread that asks for one. A thread
+ * always gets back its own parser, which it resets for each input, so the
+ * lexical analyzer, token arrays and output queue of a parser are allocated
+ * once per thread instead of once per file, and no parser is ever shared
+ * between threads.
+ */
+
+package parser;
+
+import java.util.function.Supplier;
+
+public class ParserPool {
+
+	private final ThreadLocal<Parser> parsers;
+
+	/**
+	 * Constructor for a pool of parsers without output
+	 */
+	public ParserPool() {
+		this(() -> {
+			Parser parser = new Parser("");
+			parser.setTraceMode(false);
+			return parser;
+		});
+	} // end constructor
+
+	/**
+	 * Constructor for a pool of parsers created with their modes set
+	 * @param factory Creates the parser of a thread the first time it asks
+	 */
+	public ParserPool(Supplier<Parser> factory) {
+		parsers = ThreadLocal.withInitial(factory);
+	} // end constructor
+
+	/**
+	 * Gets the parser of the current thread, to reset() for each input
+	 * @return The parser
+	 */
+	public Parser get() {
+		return parsers.get();
+	} // end get()
+
+	/**
+	 * Drops the parser of the current thread, for threads that go back to a
+	 * pool that outlives this one
+	 */
+	public void remove() {
+		parsers.remove();
+	} // end remove()
+
+} // end ParserPool
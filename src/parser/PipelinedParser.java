@@ -0,0 +1,75 @@
+/**
+ * Parser that runs the lexical analyzer on its own thread, ahead of the
+ * parser, passing the lexemes through a TokenRing. On a large input the two
+ * take about as long as the slower of them instead of both added together.
+ * Starting the thread costs more than lexing a small input, so this is only
+ * worth it for large files. The output is the same as the output of the Parser.
+ */
+
+package parser;
+
+import java.util.ArrayDeque;
+
+import interfaces.ParserInterface;
+import types.InvalidInputException;
+
+public class PipelinedParser implements ParserInterface {
+
+	private String inputString;
+	private boolean trace = true;
+	private ArrayDeque<String> outputQueue;
+	private String errorMessage;
+
+	/**
+	 * Constructor sets the input string
+	 *
+	 * @param inputString
+	 */
+	public PipelinedParser(String inputString) {
+		this.inputString = inputString;
+		this.outputQueue = new ArrayDeque<String>();
+	} // end constructor
+
+	/**
+	 * Enables or disables output, as for the Parser
+	 *
+	 * @param enabled True to produce output
+	 */
+	public void setTraceMode(boolean enabled) {
+		trace = enabled;
+	} // end setTraceMode()
+
+	@Override
+	public ArrayDeque<String> getOutputQueue() {
+		return outputQueue;
+	}
+
+	@Override
+	public String getErrorMessage() {
+		return errorMessage;
+	}
+
+	// lex on a new thread while parsing on this one
+	@Override
+	public void start() throws InvalidInputException {
+		TokenRing ring = new TokenRing();
+		Thread lexer = new Thread(() -> ring.produce(new LexicalAnalyzer(inputString)), "PipelinedParser lexer");
+		lexer.setDaemon(true);
+		lexer.start();
+
+		Parser parser = new Parser(new TokenBuffer(inputString, ring), 0, 0);
+		parser.setTraceMode(trace);
+
+		try {
+			parser.start();
+		} catch (InvalidInputException e) {
+			errorMessage = e.getMessage();
+			throw e;
+		} finally {
+			// a syntax error stops the parser before the lexer is done
+			ring.close();
+			outputQueue = parser.getOutputQueue();
+		} // end try/catch/finally
+	} // end start()
+
+} // end PipelinedParser
@@ -0,0 +1,342 @@
+/**
+ * Counts of where parsing goes, by rule: how often each rule is entered, how
+ * many tokens it consumes, and the wall time of a sample of its entries. The
+ * counts are LongAdders, so the parsers of many threads can add to one
+ * profile without contending. Each parser adds through its own Recorder,
+ * which keeps the stack of the rules it is in.
+ *
+ * A parser without a profile only tests a null field on each rule, so there
+ * is no cost unless profiling is enabled. Setting the system property
+ * parser.profile enables the default profile for every parser in the
+ * process, including the ParserWindow's, with 1 in that many entries timed
+ * (0 to only count). The profile is registered as an MXBean named
+ * "parser:type=RuleProfile,name=default", and if parser.profile.dump is set,
+ * dumped to the standard error every that many seconds and on exit.
+ *
+ * The tokens and times of a rule include those of the rules inside it, so
+ * <program> has them all. The total time of a rule is estimated from its
+ * entries and the mean time of its samples.
+ */
+
+package parser;
+
+import java.io.Closeable;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+public class RuleProfile implements RuleProfileMXBean, Closeable {
+
+	private static final int IDLE_COUNTDOWN = 1024; // entries between checks for sampling being enabled
+	private static final long NOT_TIMED = Long.MIN_VALUE;
+	private static final RuleProfile DEFAULT = createDefault();
+
+	// rules by their "Enter <rule>" line of output, which the parser passes as the same string every time
+	private final ConcurrentHashMap<String, Rule> rules = new ConcurrentHashMap<String, Rule>();
+	private volatile int sampleInterval;
+	private ObjectName name; // null unless registered
+	private ScheduledExecutorService dumps; // null unless dumping
+
+	/**
+	 * Constructor for a profile that times 1 in some number of rule entries
+	 * @param sampleInterval 1 in this many entries are timed, or 0 for none
+	 */
+	public RuleProfile(int sampleInterval) {
+		setSampleInterval(sampleInterval);
+	} // end constructor
+
+	/**
+	 * Gets the profile enabled by the parser.profile system property
+	 * @return The profile, or null if it is not enabled
+	 */
+	public static RuleProfile getDefault() {
+		return DEFAULT;
+	} // end getDefault()
+
+	// the recorder of the default profile for a new parser, or null
+	static Recorder defaultRecorder() {
+		return DEFAULT == null ? null : DEFAULT.recorder();
+	} // end defaultRecorder()
+
+	// makes the profile of the system properties, registered and dumping as they say
+	private static RuleProfile createDefault() {
+		String interval = System.getProperty("parser.profile");
+		if (interval == null) return null;
+
+		RuleProfile profile = new RuleProfile(interval.isEmpty() ? 0 : Integer.parseInt(interval));
+		profile.register("default");
+
+		String seconds = System.getProperty("parser.profile.dump");
+
+		if (seconds != null) {
+			profile.startDumps(System.err, Long.parseLong(seconds) * 1000);
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> System.err.print(profile.dump())));
+		} // end if
+
+		return profile;
+	} // end createDefault()
+
+	// makes a recorder for a parser, which must only be used by one thread
+	Recorder recorder() {
+		return new Recorder(this);
+	} // end recorder()
+
+	/**
+	 * Registers the profile with the platform MBean server
+	 *
+	 * @param name Name of the profile, the name key of its ObjectName
+	 * @throws IllegalStateException if a profile of that name is registered
+	 */
+	public synchronized void register(String name) {
+		try {
+			ObjectName objectName = new ObjectName("parser:type=RuleProfile,name=" + name);
+			ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+			this.name = objectName;
+		} catch (JMException e) {
+			throw new IllegalStateException("Cannot register profile " + name + ": " + e.getMessage(), e);
+		} // end try/catch
+	} // end register()
+
+	/**
+	 * Prints the dump of the profile every so often, on a daemon thread
+	 *
+	 * @param out Stream to print to
+	 * @param periodMillis Milliseconds between dumps
+	 */
+	public synchronized void startDumps(PrintStream out, long periodMillis) {
+		if (periodMillis < 1) throw new IllegalArgumentException("period must be positive");
+		if (dumps != null) dumps.shutdownNow();
+
+		dumps = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "RuleProfile dump");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		dumps.scheduleAtFixedRate(() -> out.print(dump()), periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+	} // end startDumps()
+
+	/**
+	 * Stops the dumps and unregisters the profile
+	 */
+	@Override
+	public synchronized void close() {
+		if (dumps != null) dumps.shutdownNow();
+		dumps = null;
+
+		if (name != null) {
+			try {
+				ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+			} catch (JMException e) {
+				// already unregistered
+			} // end try/catch
+			name = null;
+		} // end if
+	} // end close()
+
+	@Override
+	public Map<String, Long> getEntries() {
+		return counts(rule -> rule.entries.sum());
+	} // end getEntries()
+
+	@Override
+	public Map<String, Long> getTokens() {
+		return counts(rule -> rule.tokens.sum());
+	} // end getTokens()
+
+	@Override
+	public Map<String, Long> getSamples() {
+		return counts(rule -> rule.samples.sum());
+	} // end getSamples()
+
+	@Override
+	public Map<String, Long> getSampledNanos() {
+		return counts(rule -> rule.nanos.sum());
+	} // end getSampledNanos()
+
+	// a count of every rule, by name
+	private Map<String, Long> counts(ToLongFunction<Rule> count) {
+		Map<String, Long> counts = new TreeMap<String, Long>();
+		for (Rule rule : rules.values()) counts.put(rule.name, count.applyAsLong(rule));
+		return counts;
+	} // end counts()
+
+	@Override
+	public int getSampleInterval() {
+		return sampleInterval;
+	} // end getSampleInterval()
+
+	@Override
+	public void setSampleInterval(int interval) {
+		if (interval < 0) throw new IllegalArgumentException("sample interval must not be negative");
+		sampleInterval = interval;
+	} // end setSampleInterval()
+
+	@Override
+	public void reset() {
+		for (Rule rule : rules.values()) {
+			rule.entries.reset();
+			rule.tokens.reset();
+			rule.samples.reset();
+			rule.nanos.reset();
+		} // end for
+	} // end reset()
+
+	/**
+	 * Makes a table of the counts of every rule, by estimated time if any
+	 * entries were timed, or else by entries
+	 */
+	@Override
+	public String dump() {
+		List<long[]> rows = new ArrayList<long[]>(); // entries, tokens, samples, nanos, estimated nanos
+		List<String> names = new ArrayList<String>();
+
+		for (Rule rule : rules.values()) {
+			long entries = rule.entries.sum();
+			long samples = rule.samples.sum();
+			long nanos = rule.nanos.sum();
+			rows.add(new long[] { entries, rule.tokens.sum(), samples, nanos,
+					samples == 0 ? 0 : (long) ((double) nanos / samples * entries) });
+			names.add(rule.name);
+		} // end for
+
+		Integer[] order = new Integer[rows.size()];
+		for (int i = 0; i < order.length; i++) order[i] = i;
+
+		Arrays.sort(order, Comparator.<Integer>comparingLong(i -> -rows.get(i)[4])
+				.thenComparingLong(i -> -rows.get(i)[0]).thenComparing(names::get));
+
+		StringBuilder table = new StringBuilder(String.format("%-32s %14s %14s %10s %10s %12s%n",
+				"rule", "entries", "tokens", "samples", "mean us", "total ms"));
+
+		for (int i : order) {
+			long[] row = rows.get(i);
+			table.append(String.format("%-32s %14d %14d %10d %10s %12s%n", "<" + names.get(i) + ">", row[0], row[1],
+					row[2], row[2] == 0 ? "-" : String.format("%.2f", row[3] / 1e3 / row[2]),
+					row[2] == 0 ? "-" : String.format("%.1f", row[4] / 1e6)));
+		} // end for
+
+		return table.toString();
+	} // end dump()
+
+	// the counts of a rule, found by its "Enter <rule>" line
+	private Rule rule(String enter) {
+		Rule rule = rules.get(enter);
+		if (rule == null) rule = rules.computeIfAbsent(enter, line -> new Rule(line.substring(7, line.length() - 1)));
+		return rule;
+	} // end rule()
+
+	// the counts of one rule
+	private static class Rule {
+
+		final String name;
+		final LongAdder entries = new LongAdder();
+		final LongAdder tokens = new LongAdder();
+		final LongAdder samples = new LongAdder();
+		final LongAdder nanos = new LongAdder();
+
+		Rule(String name) {
+			this.name = name;
+		} // end constructor
+
+	} // end Rule
+
+	/**
+	 * Adds the rules of one parser to a profile. Rules that end in an
+	 * exception are ended by unwind().
+	 */
+	static class Recorder {
+
+		private final RuleProfile profile;
+		private Rule[] rules = new Rule[64]; // stack of the rules the parser is in
+		private int[] starts = new int[64]; // token index each one started at
+		private long[] times = new long[64]; // nanoTime each one started at, or NOT_TIMED
+		private int depth;
+		private int countdown = 1; // entries until the next is timed
+
+		private Recorder(RuleProfile profile) {
+			this.profile = profile;
+		} // end constructor
+
+		/**
+		 * Records the start of a rule
+		 *
+		 * @param enter The "Enter <rule>" line of the rule
+		 * @param position Token index the rule starts at
+		 */
+		void enter(String enter, int position) {
+			if (depth == rules.length) {
+				rules = Arrays.copyOf(rules, depth * 2);
+				starts = Arrays.copyOf(starts, depth * 2);
+				times = Arrays.copyOf(times, depth * 2);
+			} // end if
+
+			Rule rule = profile.rule(enter);
+			rule.entries.increment();
+			rules[depth] = rule;
+			starts[depth] = position;
+			times[depth] = NOT_TIMED;
+
+			if (--countdown == 0) {
+				int interval = profile.sampleInterval;
+				countdown = interval > 0 ? interval : IDLE_COUNTDOWN;
+				if (interval > 0) times[depth] = System.nanoTime();
+			} // end if
+
+			depth++;
+		} // end enter()
+
+		/**
+		 * Records the end of the innermost rule
+		 * @param position Token index after the rule
+		 */
+		void exit(int position) {
+			if (depth == 0) return; // the recorder was added inside a rule
+			depth--;
+
+			Rule rule = rules[depth];
+			rule.tokens.add(position - starts[depth]);
+
+			if (times[depth] != NOT_TIMED) {
+				rule.nanos.add(System.nanoTime() - times[depth]);
+				rule.samples.increment();
+			} // end if
+
+			rules[depth] = null;
+		} // end exit()
+
+		/**
+		 * Gets the number of rules the parser is in
+		 * @return The depth
+		 */
+		int depth() {
+			return depth;
+		} // end depth()
+
+		/**
+		 * Ends the rules an exception left, down to a depth
+		 *
+		 * @param base Depth to end rules down to
+		 * @param position Token index the rules ended at
+		 */
+		void unwind(int base, int position) {
+			while (depth > base) exit(position);
+		} // end unwind()
+
+	} // end Recorder
+
+} // end RuleProfile
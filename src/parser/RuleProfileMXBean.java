@@ -0,0 +1,63 @@
+/**
+ * Management interface of a RuleProfile, for JConsole and other JMX clients.
+ * The maps are keyed by rule name.
+ */
+
+package parser;
+
+import java.util.Map;
+
+public interface RuleProfileMXBean {
+
+	/**
+	 * Gets the number of times each rule was entered
+	 * @return Entries by rule
+	 */
+	Map<String, Long> getEntries();
+
+	/**
+	 * Gets the number of tokens each rule consumed, counting the tokens of
+	 * the rules inside it
+	 *
+	 * @return Tokens by rule
+	 */
+	Map<String, Long> getTokens();
+
+	/**
+	 * Gets the number of timed entries of each rule
+	 * @return Samples by rule
+	 */
+	Map<String, Long> getSamples();
+
+	/**
+	 * Gets the wall time of the timed entries of each rule, counting the time
+	 * of the rules inside it
+	 *
+	 * @return Nanoseconds by rule
+	 */
+	Map<String, Long> getSampledNanos();
+
+	/**
+	 * Gets how often rule entries are timed
+	 * @return 1 in this many entries, or 0 if none are
+	 */
+	int getSampleInterval();
+
+	/**
+	 * Sets how often rule entries are timed
+	 * @param interval 1 in this many entries, or 0 for none
+	 */
+	void setSampleInterval(int interval);
+
+	/**
+	 * Makes a table of the counts of every rule
+	 * @return The table
+	 */
+	String dump();
+
+	/**
+	 * Sets every count back to zero
+	 */
+	void reset();
+
+} // end RuleProfileMXBean
@@ -0,0 +1,238 @@
+/**
+ * Syntax tree recorded by the Parser, with a node for every rule it entered.
+ * Nodes are numbered in the order they were entered, so the descendants of a
+ * node directly follow it, and every node keeps the token span it parsed and
+ * the lines of output it produced.
+ */
+
+package parser;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class SyntaxTree {
+
+	// rule names, shared by all trees so kinds can be compared between them, read without locking
+	private static final CopyOnWriteArrayList<String> KIND_NAMES = new CopyOnWriteArrayList<String>();
+	private static final ConcurrentHashMap<String, Integer> KINDS = new ConcurrentHashMap<String, Integer>();
+
+	// kinds by the "Enter <rule>" line of output, which the parser passes as the same string every time
+	private static final ConcurrentHashMap<String, Integer> ENTER_KINDS = new ConcurrentHashMap<String, Integer>();
+
+	private int[] kinds;
+	private int[] parents;		// -1 for a root
+	private int[] subtreeEnds;	// node after the last descendant
+	private int[] startTokens;	// token index of the first token
+	private int[] endTokens;	// token index after the last token
+	private int[] startLines;	// output line of the "Enter" line
+	private int[] endLines;		// output line after the "Exit" line
+	private int size;
+
+	private int current; // innermost node still being parsed, -1 if none
+
+	/**
+	 * Constructor creates an empty tree
+	 */
+	public SyntaxTree() {
+		kinds = new int[256];
+		parents = new int[256];
+		subtreeEnds = new int[256];
+		startTokens = new int[256];
+		endTokens = new int[256];
+		startLines = new int[256];
+		endLines = new int[256];
+		size = 0;
+		current = -1;
+	} // end constructor
+
+	/**
+	 * Gets the kind number of a rule name, shared by all trees
+	 * @param name Rule name, without angle brackets
+	 * @return Kind number
+	 */
+	public static int kind(String name) {
+		Integer kind = KINDS.get(name);
+		if (kind != null) return kind;
+
+		synchronized (KIND_NAMES) {
+			kind = KINDS.get(name);
+
+			if (kind == null) {
+				// the name is added before the kind, so kindName() finds the name of any kind it is given
+				kind = KIND_NAMES.size();
+				KIND_NAMES.add(name);
+				KINDS.put(name, kind);
+			} // end if
+		} // end synchronized
+
+		return kind;
+	} // end kind()
+
+	// the kind number of a rule by its "Enter <rule>" line, without a substring once the line was seen
+	static int enterKind(String enter) {
+		Integer kind = ENTER_KINDS.get(enter);
+		if (kind == null) kind = ENTER_KINDS.computeIfAbsent(enter, line -> kind(line.substring(7, line.length() - 1)));
+		return kind;
+	} // end enterKind()
+
+	/**
+	 * Gets the rule name of a kind number
+	 * @param kind Kind number
+	 * @return Rule name, without angle brackets
+	 */
+	public static String kindName(int kind) {
+		return KIND_NAMES.get(kind);
+	} // end kindName()
+
+	/**
+	 * Gets the number of nodes
+	 * @return Number of nodes
+	 */
+	public int size() {
+		return size;
+	} // end size()
+
+	public int getKind(int node) {
+		return kinds[node];
+	}
+
+	public String getName(int node) {
+		return kindName(kinds[node]);
+	}
+
+	public int getParent(int node) {
+		return parents[node];
+	}
+
+	public int getSubtreeEnd(int node) {
+		return subtreeEnds[node];
+	}
+
+	public int getStartToken(int node) {
+		return startTokens[node];
+	}
+
+	public int getEndToken(int node) {
+		return endTokens[node];
+	}
+
+	public int getStartLine(int node) {
+		return startLines[node];
+	}
+
+	public int getEndLine(int node) {
+		return endLines[node];
+	}
+
+	/**
+	 * Gets the depth of a node, which is the indentation of its output
+	 * @param node Node
+	 * @return Number of ancestors
+	 */
+	public int getDepth(int node) {
+		int depth = 0;
+
+		for (int parent = parents[node]; parent >= 0; parent = parents[parent]) {
+			depth++;
+		} // end for
+
+		return depth;
+	} // end getDepth()
+
+	// removes every node, keeping the arrays for the next input
+	void clear() {
+		size = 0;
+		current = -1;
+	} // end clear()
+
+	// starts a node for a rule entered by the parser
+	void enter(int kind, int token, int line) {
+		if (size == kinds.length) grow(size * 2);
+
+		kinds[size] = kind;
+		parents[size] = current;
+		startTokens[size] = token;
+		startLines[size] = line;
+		current = size++;
+	} // end enter()
+
+	// ends the innermost node
+	void exit(int token, int line) {
+		subtreeEnds[current] = size;
+		endTokens[current] = token;
+		endLines[current] = line;
+		current = parents[current];
+	} // end exit()
+
+	/**
+	 * Replaces the subtree of a node with the tree of a reparse of the node,
+	 * moving the token indices and output lines of the nodes after it
+	 *
+	 * @param node Node to replace
+	 * @param tree Tree whose first node is the reparsed node, with token indices
+	 *  of the new input and output lines counted from the start of the node
+	 * @param tokenDelta Change in the number of tokens
+	 */
+	void replace(int node, SyntaxTree tree, int tokenDelta) {
+		int oldEnd = subtreeEnds[node];
+		int nodeDelta = tree.size - (oldEnd - node);
+		int lineBase = startLines[node];
+		int lineDelta = tree.endLines[0] - (endLines[node] - lineBase);
+		int parent = parents[node];
+
+		if (size + nodeDelta > kinds.length) grow(Math.max(kinds.length * 2, size + nodeDelta));
+
+		// make room for the new subtree
+		int tail = size - oldEnd;
+		System.arraycopy(kinds, oldEnd, kinds, oldEnd + nodeDelta, tail);
+		System.arraycopy(parents, oldEnd, parents, oldEnd + nodeDelta, tail);
+		System.arraycopy(subtreeEnds, oldEnd, subtreeEnds, oldEnd + nodeDelta, tail);
+		System.arraycopy(startTokens, oldEnd, startTokens, oldEnd + nodeDelta, tail);
+		System.arraycopy(endTokens, oldEnd, endTokens, oldEnd + nodeDelta, tail);
+		System.arraycopy(startLines, oldEnd, startLines, oldEnd + nodeDelta, tail);
+		System.arraycopy(endLines, oldEnd, endLines, oldEnd + nodeDelta, tail);
+
+		// nodes after the subtree
+		for (int i = oldEnd + nodeDelta; i < size + nodeDelta; i++) {
+			if (parents[i] >= oldEnd) parents[i] += nodeDelta;
+			subtreeEnds[i] += nodeDelta;
+			startTokens[i] += tokenDelta;
+			endTokens[i] += tokenDelta;
+			startLines[i] += lineDelta;
+			endLines[i] += lineDelta;
+		} // end for
+
+		// ancestors, which contain the subtree
+		for (int i = parent; i >= 0; i = parents[i]) {
+			subtreeEnds[i] += nodeDelta;
+			endTokens[i] += tokenDelta;
+			endLines[i] += lineDelta;
+		} // end for
+
+		// the new subtree
+		for (int i = 0; i < tree.size; i++) {
+			kinds[node + i] = tree.kinds[i];
+			parents[node + i] = i == 0 ? parent : tree.parents[i] + node;
+			subtreeEnds[node + i] = tree.subtreeEnds[i] + node;
+			startTokens[node + i] = tree.startTokens[i];
+			endTokens[node + i] = tree.endTokens[i];
+			startLines[node + i] = tree.startLines[i] + lineBase;
+			endLines[node + i] = tree.endLines[i] + lineBase;
+		} // end for
+
+		size += nodeDelta;
+	} // end replace()
+
+	// resizes the arrays
+	private void grow(int capacity) {
+		kinds = Arrays.copyOf(kinds, capacity);
+		parents = Arrays.copyOf(parents, capacity);
+		subtreeEnds = Arrays.copyOf(subtreeEnds, capacity);
+		startTokens = Arrays.copyOf(startTokens, capacity);
+		endTokens = Arrays.copyOf(endTokens, capacity);
+		startLines = Arrays.copyOf(startLines, capacity);
+		endLines = Arrays.copyOf(endLines, capacity);
+	} // end grow()
+
+} // end SyntaxTree
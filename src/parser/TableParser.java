@@ -0,0 +1,165 @@
+/**
+ * Table driven LL(1) parser for the Java programming language, using the
+ * tables generated from the EBNF grammar in ParseTable. A single loop expands
+ * nonterminals from an explicit stack instead of recursing through a method
+ * per rule, and produces the same kind of output as the Parser.
+ *
+ * The two do not accept the same inputs, and neither accepts exactly what
+ * the EBNF describes. The Parser accepts these, which the TableParser rejects:
+ *
+ * - A block statement that starts with a name read as a type needs no
+ *   variable name and no semicolon after it. The Parser takes the type as a
+ *   statement of its own and parses the rest as the next statement, so
+ *   String s = x; is two block statements. This also lets through x } and
+ *   a.b } without a semicolon, a[][] &= 2; and a.b = 1, c; without a variable
+ *   name, and a b : ; as a type followed by a label.
+ * - A name in an expression may end with a dot when a keyword follows it, as
+ *   in int a = c.; or f(c.). The Parser drops the dot and ends the
+ *   expression there, which with the above makes it accept
+ *   ne, ka &= enna.super.leerlo; as two statements, ne, ka &= enna. and
+ *   super.leerlo;
+ *
+ * The TableParser accepts these, which the Parser rejects:
+ *
+ * - "class", "this", "super" and "new" after a dot that follows a name in an
+ *   expression, as in String.class, Outer.this, a.super() or
+ *   outer.new Inner(). The Parser accepts "class" only after a primitive
+ *   type or void, as in int.class.
+ * - A name followed by an infix operator other than +, - or <, or by
+ *   instanceof or ?, at the start of a statement, as in a == b; or
+ *   a instanceof B;
+ * - After a type that starts with a name, an array initializer, a second
+ *   declarator or a second assignment, as in a c = { };, a c = 4, d; or
+ *   a c = 1 = 2;. The Parser reads these as an assignment expression.
+ * - A dotted name as a label, as in a.b : ;
+ * - "*" before the last name of an import, as in import a.*.b;
+ *
+ * Both reject the shift assignments <<=, >>= and >>>= that the EBNF lists,
+ * since the grammar is not LL(1) there and the table always takes the "<" or
+ * ">" as an infix operator, as the Parser does.
+ */
+
+package parser;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+import interfaces.ParserInterface;
+import types.InvalidInputException;
+import types.Lexeme;
+
+public class TableParser implements ParserInterface {
+
+	LexicalAnalyzer lex;
+	Lexeme nextLexeme;
+	int nextColumn; // lookahead column of nextLexeme in the parse table
+	int indentationLevel; // level of indentation for the output
+	ArrayDeque<String> outputQueue; // queue containing all of the output strings
+
+	// symbols still to be parsed; -(rule + 1) marks the exit of a rule
+	private int[] stack;
+	private int top;
+
+	/**
+	 * Constructor creates the lexical analyzer and initializes nextLexeme, given an input string
+	 *
+	 * @param inputString
+	 */
+	public TableParser(String inputString) {
+		lex = new LexicalAnalyzer(inputString);
+		nextLexeme = lex.nextLexeme();
+		nextColumn = column(nextLexeme);
+		indentationLevel = 0;
+		outputQueue = new ArrayDeque<String>();
+		stack = new int[64];
+		top = 0;
+	} // end constructor
+
+	@Override
+	public ArrayDeque<String> getOutputQueue() {
+		return outputQueue;
+	}
+
+	@Override
+	public String getErrorMessage() {
+		return String.format("ERROR: Line %d: Invalid input: %s\n", lex.getLineNumber(),
+				nextLexeme == null ? "end of input" : nextLexeme.getLexeme());
+	}
+
+	// parse the input from the start symbol
+	@Override
+	public void start() throws InvalidInputException {
+		push(ParseTable.START);
+
+		while (top > 0) {
+			int symbol = stack[--top];
+
+			if (symbol < 0) {
+				// end of a rule
+				output("Exit <" + ParseTable.RULE_NAMES[-symbol - 1] + ">", -1);
+
+			} else if (symbol >= ParseTable.NONTERMINALS) {
+				// terminal
+				if (!ParseTable.matches(symbol - ParseTable.NONTERMINALS, nextColumn)) error();
+				output(nextLexeme.toString(), 0);
+				nextLexeme = lex.nextLexeme();
+				nextColumn = column(nextLexeme);
+
+			} else {
+				// nonterminal, expand the production predicted by the lookahead
+				int production = ParseTable.predict(symbol, nextColumn);
+				if (production < 0) error();
+
+				if (symbol < ParseTable.RULE_NAMES.length) {
+					output("Enter <" + ParseTable.RULE_NAMES[symbol] + ">", 1);
+					push(-symbol - 1);
+				} // end if
+
+				// push the symbols in reverse so the first is on top
+				for (int i = ParseTable.productionEnd(production) - 1; i >= ParseTable.productionStart(production); i--) {
+					push(ParseTable.symbol(i));
+				} // end for
+			} // end if/else
+		} // end while
+	} // end start()
+
+	// pushes a symbol onto the stack, growing it if needed
+	private void push(int symbol) {
+		if (top == stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+		stack[top++] = symbol;
+	} // end push()
+
+	// finds the lookahead column of a lexeme, which is its token
+	private int column(Lexeme lexeme) {
+		return lexeme == null ? ParseTable.END_OF_INPUT : lexeme.getToken().ordinal();
+	} // end column()
+
+	/**
+	 * Modified print statement to maintain proper indentation, and redirect output
+	 * to an output queue
+	 *
+	 * @param toPrint String to print
+	 * @param direction Positive integer to increase indentation, negative to decrease,
+	 *  or 0 to leave it the same.
+	 */
+	private void output(String toPrint, int direction) {
+		if (direction < 0) indentationLevel--;
+
+		StringBuilder output = new StringBuilder();
+
+		for (int i = 0; i < indentationLevel; i++) {
+			output.append("    ");
+		} // end for
+
+		output.append(toPrint).append("\n");
+
+		outputQueue.add(output.toString());
+		if (direction > 0) indentationLevel++;
+	} // end output()
+
+	// throws an exception
+	private void error() throws InvalidInputException {
+		throw new InvalidInputException(getErrorMessage());
+	} // end error()
+
+} // end TableParser
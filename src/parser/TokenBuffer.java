@@ -0,0 +1,221 @@
+/**
+ * Buffer of the lexemes of an input string, read from the lexical analyzer
+ * as they are needed and kept so that a parser can return to an earlier
+ * position by token index. Once size() has read every lexeme, the buffer
+ * does not change and can be read by several threads. The lexemes can also
+ * be taken from a TokenRing filled by a lexical analyzer on another thread,
+ * or read from a TokenFile as they are asked for.
+ */
+
+package parser;
+
+import java.util.Arrays;
+
+import types.Lexeme;
+
+public class TokenBuffer {
+
+	private String inputString;
+	private LexicalAnalyzer lex;
+	private Lexeme[] lexemes;
+	private int[] lineNumbers; // line number of the lexical analyzer after reading each lexeme
+	private int[] endOffsets; // character offset after each lexeme
+	private int size;
+	private boolean complete; // true once the lexical analyzer reached the end of the input
+	private int endLineNumber;
+	private BracketIndex brackets; // null until asked for
+	private TokenRing ring; // source of the lexemes instead of lex, null unless pipelined
+	private TokenFile file; // source of the lexemes and input string instead of the arrays, null unless mapped
+
+	/**
+	 * Constructor creates the lexical analyzer for the input string
+	 * @param inputString The input string to lexically analyze
+	 */
+	public TokenBuffer(String inputString) {
+		this.inputString = inputString;
+		lex = new LexicalAnalyzer(inputString);
+		lexemes = new Lexeme[64];
+		lineNumbers = new int[64];
+		endOffsets = new int[64];
+		size = 0;
+		complete = false;
+	} // end constructor
+
+	/**
+	 * Constructor for lexemes read by a lexical analyzer on another thread
+	 * @param inputString The input string being lexically analyzed
+	 * @param ring Ring the lexical analyzer puts the lexemes in
+	 */
+	TokenBuffer(String inputString, TokenRing ring) {
+		this.inputString = inputString;
+		this.ring = ring;
+		lexemes = new Lexeme[1024];
+		lineNumbers = new int[1024];
+		endOffsets = new int[1024];
+		size = 0;
+		complete = false;
+	} // end constructor
+
+	/**
+	 * Constructor for the lexemes of a token file, which are read from its
+	 * buffer each time they are asked for. The source is only decoded if
+	 * getText() is called.
+	 *
+	 * @param file Token file of the input
+	 */
+	TokenBuffer(TokenFile file) {
+		this.file = file;
+		size = file.size();
+		complete = true;
+		endLineNumber = file.getEndLineNumber();
+	} // end constructor
+
+	/**
+	 * Starts over on a new input string, keeping the arrays of the buffer
+	 * @param inputString The input string to lexically analyze
+	 */
+	public void reset(String inputString) {
+		if (file != null) {
+			lexemes = new Lexeme[64];
+			lineNumbers = new int[64];
+			endOffsets = new int[64];
+			file = null;
+		} else {
+			Arrays.fill(lexemes, 0, size, null);
+		} // end if/else
+
+		this.inputString = inputString;
+		if (lex == null) lex = new LexicalAnalyzer(inputString);
+		else lex.reset(inputString);
+		ring = null;
+		size = 0;
+		complete = false;
+		brackets = null;
+	} // end reset()
+
+	/**
+	 * Gets the lexeme at a token index, reading up to it if needed
+	 * @param index Token index, starting at 0
+	 * @return The lexeme, or null past the end of the input
+	 */
+	public Lexeme get(int index) {
+		if (file != null) return index < size ? file.getLexeme(index) : null;
+		while (index >= size && !complete) read();
+		return index < size ? lexemes[index] : null;
+	} // end get()
+
+	/**
+	 * Gets the line number the lexical analyzer was on after reading a lexeme
+	 * @param index Token index, starting at 0
+	 * @return The line number, or the last line past the end of the input
+	 */
+	public int getLineNumber(int index) {
+		if (file != null) return index < size ? file.getLineNumber(index) : endLineNumber;
+		get(index);
+		return index < size ? lineNumbers[index] : endLineNumber;
+	} // end getLineNumber()
+
+	/**
+	 * Gets the character offset of the start of a lexeme
+	 * @param index Token index of a lexeme in the input
+	 * @return Offset in the input string
+	 */
+	public int getStartOffset(int index) {
+		return getEndOffset(index) - get(index).getLexeme().length();
+	} // end getStartOffset()
+
+	/**
+	 * Gets the character offset after the end of a lexeme
+	 * @param index Token index of a lexeme in the input
+	 * @return Offset in the input string
+	 */
+	public int getEndOffset(int index) {
+		if (file != null) return file.getEndOffset(index);
+		get(index);
+		return endOffsets[index];
+	} // end getEndOffset()
+
+	/**
+	 * Gets the input text of a range of lexemes, including the whitespace and
+	 * comments between them
+	 * @param start Token index of the first lexeme
+	 * @param end Token index after the last lexeme
+	 * @return The text, or an empty string if the range is empty
+	 */
+	public String getText(int start, int end) {
+		if (end <= start) return "";
+		if (file != null) return file.getSource().substring(getStartOffset(start), getEndOffset(end - 1));
+		return inputString.substring(getStartOffset(start), getEndOffset(end - 1));
+	} // end getText()
+
+	/**
+	 * Gets the number of lexemes in the input, reading all of them
+	 * @return Number of lexemes
+	 */
+	public int size() {
+		while (!complete) read();
+		return size;
+	} // end size()
+
+	/**
+	 * Gets the index of matching brackets, reading every lexeme and building
+	 * it the first time it is asked for
+	 * @return The bracket index
+	 */
+	public synchronized BracketIndex getBracketIndex() {
+		if (brackets == null && file != null) {
+			Lexeme[] all = new Lexeme[size];
+			for (int i = 0; i < size; i++) all[i] = file.getLexeme(i);
+			brackets = new BracketIndex(all, size);
+		} else if (brackets == null) {
+			int count = size(); // grows the lexeme array, so read it first
+			brackets = new BracketIndex(lexemes, count);
+		} // end if/else
+		return brackets;
+	} // end getBracketIndex()
+
+	// reads the next lexeme from the lexical analyzer, or every lexeme in the ring
+	private void read() {
+		if (ring != null) {
+			readRing();
+			return;
+		} // end if
+
+		Lexeme lexeme = lex.nextLexeme();
+
+		if (lexeme == null) {
+			complete = true;
+			endLineNumber = lex.getLineNumber();
+			return;
+		} // end if
+
+		if (size == lexemes.length) grow();
+
+		lexemes[size] = lexeme;
+		lineNumbers[size] = lex.getLineNumber();
+		endOffsets[size] = lex.getPosition();
+		size++;
+	} // end read()
+
+	// takes the lexemes published to the ring so far
+	private void readRing() {
+		if (size == lexemes.length) grow();
+
+		int count = ring.take(lexemes, lineNumbers, endOffsets, size, lexemes.length - size);
+
+		if (count < 0) {
+			complete = true;
+			endLineNumber = ring.getEndLineNumber();
+		} else {
+			size += count;
+		} // end if/else
+	} // end readRing()
+
+	// doubles the length of the arrays
+	private void grow() {
+		lexemes = Arrays.copyOf(lexemes, size * 2);
+		lineNumbers = Arrays.copyOf(lineNumbers, size * 2);
+		endOffsets = Arrays.copyOf(endOffsets, size * 2);
+	} // end grow()
+
+} // end TokenBuffer
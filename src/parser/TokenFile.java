@@ -0,0 +1,246 @@
+/**
+ * Lexemes of a source file stored in a binary file that is read by memory
+ * mapping it, so an input that is parsed many times is only lexically
+ * analyzed once. Every distinct lexeme, a token with its text, is stored once
+ * as a symbol, and every token of the input is a fixed size record of its
+ * symbol, end offset and line, which is read straight from the mapped file.
+ *
+ * Layout, with big endian ints:
+ *
+ *   header   MAGIC, Parser.VERSION, tokens, symbols, line at the end, symbol text bytes, source bytes
+ *   symbols  token ordinal, text offset, text bytes          (one per symbol)
+ *   tokens   symbol, end offset, line number                 (one per token)
+ *   text     UTF-8 text of the symbols
+ *   source   UTF-8 source
+ *
+ * Usage: java parser.TokenFile <source file> <token file>
+ */
+
+package parser;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import types.Lexeme;
+import types.Token;
+
+public class TokenFile {
+
+	private static final int MAGIC = 0x4a544b31; // "JTK1"
+	private static final int HEADER_BYTES = 28;
+	private static final int SYMBOL_BYTES = 12;
+	private static final int TOKEN_BYTES = 12;
+
+	private final ByteBuffer buffer;
+	private final int size;
+	private final int endLineNumber;
+	private final int tokensStart;
+	private final int sourceStart;
+	private final int sourceBytes;
+	private final Lexeme[] symbols; // one shared lexeme per symbol
+	private String source; // decoded when first asked for
+
+	/**
+	 * Constructor reads the header and symbols of a token file in a buffer.
+	 * The tokens are read from the buffer when they are asked for.
+	 *
+	 * @param buffer Contents of a token file
+	 * @throws IOException if the buffer is not a token file of this version of the parser
+	 */
+	public TokenFile(ByteBuffer buffer) throws IOException {
+		this.buffer = buffer;
+
+		if (buffer.limit() < HEADER_BYTES || buffer.getInt(0) != MAGIC) throw new IOException("Not a token file");
+		if (buffer.getInt(4) != Parser.VERSION) throw new IOException("Token file of another parser version");
+
+		size = buffer.getInt(8);
+		int symbolCount = buffer.getInt(12);
+		endLineNumber = buffer.getInt(16);
+		int textBytes = buffer.getInt(20);
+		sourceBytes = buffer.getInt(24);
+
+		tokensStart = HEADER_BYTES + symbolCount * SYMBOL_BYTES;
+		int textStart = tokensStart + size * TOKEN_BYTES;
+		sourceStart = textStart + textBytes;
+		if (sourceStart + sourceBytes > buffer.limit()) throw new IOException("Token file is cut short");
+
+		Token[] tokens = Token.values();
+		symbols = new Lexeme[symbolCount];
+
+		for (int i = 0; i < symbolCount; i++) {
+			int at = HEADER_BYTES + i * SYMBOL_BYTES;
+			String text = decode(textStart + buffer.getInt(at + 4), buffer.getInt(at + 8));
+			symbols[i] = new Lexeme(tokens[buffer.getInt(at)], text);
+		} // end for
+	} // end constructor
+
+	/**
+	 * Memory maps a token file
+	 *
+	 * @param file Token file
+	 * @return The token file
+	 * @throws IOException if the file cannot be read or is not a token file
+	 */
+	public static TokenFile map(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			return new TokenFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		} // end try
+	} // end map()
+
+	/**
+	 * Lexically analyzes a source and writes its token file
+	 *
+	 * @param inputString The source
+	 * @param out Stream for the token file
+	 * @throws IOException if the stream cannot be written
+	 */
+	public static void write(String inputString, OutputStream out) throws IOException {
+		LexicalAnalyzer lex = new LexicalAnalyzer(inputString);
+		HashMap<Symbol, Integer> symbolIds = new HashMap<Symbol, Integer>();
+		List<Lexeme> symbols = new ArrayList<Lexeme>();
+		ByteBuffer tokens = ByteBuffer.allocate(1024 * TOKEN_BYTES);
+		int size = 0;
+
+		for (Lexeme lexeme = lex.nextLexeme(); lexeme != null; lexeme = lex.nextLexeme()) {
+			Symbol symbol = new Symbol(lexeme);
+			Integer id = symbolIds.get(symbol);
+
+			if (id == null) {
+				id = symbols.size();
+				symbolIds.put(symbol, id);
+				symbols.add(lexeme);
+			} // end if
+
+			if (!tokens.hasRemaining()) tokens = ByteBuffer.allocate(tokens.capacity() * 2).put(tokens.flip());
+			tokens.putInt(id).putInt(lex.getPosition()).putInt(lex.getLineNumber());
+			size++;
+		} // end for
+
+		// symbol table and text
+		ByteBuffer symbolTable = ByteBuffer.allocate(symbols.size() * SYMBOL_BYTES);
+		ByteBuffer text = ByteBuffer.allocate(64);
+
+		for (Lexeme symbol : symbols) {
+			byte[] bytes = symbol.getLexeme().getBytes(StandardCharsets.UTF_8);
+			symbolTable.putInt(symbol.getToken().ordinal()).putInt(text.position()).putInt(bytes.length);
+			if (text.remaining() < bytes.length) {
+				text = ByteBuffer.allocate(Math.max(text.capacity() * 2, text.position() + bytes.length)).put(text.flip());
+			} // end if
+			text.put(bytes);
+		} // end for
+
+		byte[] source = inputString.getBytes(StandardCharsets.UTF_8);
+		ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+		header.putInt(MAGIC).putInt(Parser.VERSION).putInt(size).putInt(symbols.size())
+				.putInt(lex.getLineNumber()).putInt(text.position()).putInt(source.length);
+
+		out.write(header.array());
+		out.write(symbolTable.array());
+		out.write(tokens.array(), 0, tokens.position());
+		out.write(text.array(), 0, text.position());
+		out.write(source);
+	} // end write()
+
+	/**
+	 * Gets the number of tokens
+	 * @return Number of tokens
+	 */
+	public int size() {
+		return size;
+	} // end size()
+
+	/**
+	 * Gets the lexeme at a token index. Tokens with the same text share a lexeme.
+	 * @param index Token index, starting at 0
+	 * @return The lexeme
+	 */
+	public Lexeme getLexeme(int index) {
+		return symbols[buffer.getInt(tokensStart + index * TOKEN_BYTES)];
+	} // end getLexeme()
+
+	/**
+	 * Gets the character offset after the end of a lexeme
+	 * @param index Token index, starting at 0
+	 * @return Offset in the source
+	 */
+	public int getEndOffset(int index) {
+		return buffer.getInt(tokensStart + index * TOKEN_BYTES + 4);
+	} // end getEndOffset()
+
+	/**
+	 * Gets the line number the lexical analyzer was on after reading a lexeme
+	 * @param index Token index, starting at 0
+	 * @return The line number
+	 */
+	public int getLineNumber(int index) {
+		return buffer.getInt(tokensStart + index * TOKEN_BYTES + 8);
+	} // end getLineNumber()
+
+	/**
+	 * Gets the line number the lexical analyzer was on at the end of the source
+	 * @return The line number
+	 */
+	public int getEndLineNumber() {
+		return endLineNumber;
+	} // end getEndLineNumber()
+
+	/**
+	 * Gets the source, decoding it the first time it is asked for
+	 * @return The source
+	 */
+	public synchronized String getSource() {
+		if (source == null) source = decode(sourceStart, sourceBytes);
+		return source;
+	} // end getSource()
+
+	// decodes UTF-8 text in the buffer
+	private String decode(int start, int length) {
+		byte[] bytes = new byte[length];
+		buffer.get(start, bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	} // end decode()
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 2) {
+			System.err.println("Usage: java parser.TokenFile <source file> <token file>");
+			System.exit(2);
+		} // end if
+
+		String inputString = new String(Files.readAllBytes(Paths.get(args[0])), StandardCharsets.UTF_8);
+
+		try (OutputStream out = Files.newOutputStream(Paths.get(args[1]))) {
+			write(inputString, out);
+		} // end try
+	} // end main()
+
+	// lexeme compared by its token and text, for finding the symbols
+	private static class Symbol extends Lexeme {
+
+		Symbol(Lexeme lexeme) {
+			super(lexeme.getToken(), lexeme.getLexeme());
+		} // end constructor
+
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof Symbol && ((Symbol) other).getToken() == getToken()
+					&& ((Symbol) other).getLexeme().equals(getLexeme());
+		}
+
+		@Override
+		public int hashCode() {
+			return getToken().hashCode() * 31 + getLexeme().hashCode();
+		}
+
+	} // end Symbol
+
+} // end TokenFile
@@ -0,0 +1,122 @@
+/**
+ * Single producer, single consumer ring of lexemes, with the line number and
+ * end offset of each, for a lexical analyzer running on its own thread ahead
+ * of a parser. The producer publishes lexemes in batches and the consumer
+ * takes every lexeme published so far at once, so the threads only touch the
+ * shared counters once per batch. Neither side takes a lock.
+ */
+
+package parser;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import types.Lexeme;
+
+final class TokenRing {
+
+	private static final int CAPACITY = 1 << 12; // must be a power of two
+	private static final int MASK = CAPACITY - 1;
+	private static final int BATCH = 64; // lexemes the producer reads before publishing them
+
+	private final Lexeme[] lexemes = new Lexeme[CAPACITY];
+	private final int[] lineNumbers = new int[CAPACITY];
+	private final int[] endOffsets = new int[CAPACITY];
+
+	private final AtomicLong written = new AtomicLong(); // lexemes published by the producer
+	private final AtomicLong taken = new AtomicLong(); // lexemes taken by the consumer
+
+	private volatile boolean done; // set by the producer after publishing the last lexeme
+	private volatile boolean closed; // set by the consumer when it stops reading
+	private int endLineNumber;
+	private RuntimeException failure; // thrown by the lexical analyzer
+
+	// producer: reads every lexeme of the input into the ring
+	void produce(LexicalAnalyzer lex) {
+		long tail = 0;
+		long free = 0; // tail can be written up to here without reading taken
+
+		try {
+			for (Lexeme lexeme = lex.nextLexeme(); lexeme != null; lexeme = lex.nextLexeme()) {
+				while (tail == free) {
+					free = taken.get() + CAPACITY;
+					if (tail < free) break;
+					written.lazySet(tail); // let the consumer empty the ring
+					if (closed) return;
+					idle();
+				} // end while
+
+				int slot = (int) tail & MASK;
+				lexemes[slot] = lexeme;
+				lineNumbers[slot] = lex.getLineNumber();
+				endOffsets[slot] = lex.getPosition();
+				tail++;
+
+				if ((tail & (BATCH - 1)) == 0) written.lazySet(tail);
+			} // end for
+
+			endLineNumber = lex.getLineNumber();
+		} catch (RuntimeException e) {
+			failure = e;
+		} finally {
+			written.lazySet(tail);
+			done = true;
+		} // end try/finally
+	} // end produce()
+
+	/**
+	 * Consumer: copies the lexemes published so far into arrays, waiting for
+	 * the producer if there are none
+	 *
+	 * @param lexemes Array for the lexemes
+	 * @param lineNumbers Array for the line numbers after each lexeme
+	 * @param endOffsets Array for the offsets after each lexeme
+	 * @param start Index of the arrays to copy to
+	 * @param max Most lexemes to copy
+	 * @return Number of lexemes copied, or -1 at the end of the input
+	 */
+	int take(Lexeme[] lexemes, int[] lineNumbers, int[] endOffsets, int start, int max) {
+		long head = taken.get();
+		long tail;
+
+		for (int spins = 0; (tail = written.get()) == head; spins++) {
+			if (done) {
+				// done is set after the last lexemes were published, so read written again
+				tail = written.get();
+				if (tail > head) break;
+				if (failure != null) throw failure;
+				return -1;
+			} // end if
+			if (spins >= 64) idle();
+			else Thread.onSpinWait();
+		} // end for
+
+		int count = (int) Math.min(tail - head, max);
+
+		for (int i = 0; i < count; i++) {
+			int slot = (int) (head + i) & MASK;
+			lexemes[start + i] = this.lexemes[slot];
+			lineNumbers[start + i] = this.lineNumbers[slot];
+			endOffsets[start + i] = this.endOffsets[slot];
+			this.lexemes[slot] = null;
+		} // end for
+
+		taken.lazySet(head + count);
+		return count;
+	} // end take()
+
+	// consumer: line number at the end of the input, once take() returned -1
+	int getEndLineNumber() {
+		return endLineNumber;
+	} // end getEndLineNumber()
+
+	// consumer: stops the producer if it is waiting for room in the ring
+	void close() {
+		closed = true;
+	} // end close()
+
+	// waits a little for the other thread, giving up the processor
+	private static void idle() {
+		Thread.yield();
+	} // end idle()
+
+} // end TokenRing
@@ -0,0 +1,408 @@
+/**
+ * Syntax tree stored in a compact binary file, read in place from a buffer or
+ * mapped file by a Cursor without creating an object for each node. Nodes are
+ * stored in the order they were entered, each with its kind as a byte, its
+ * number of children, the bytes of its descendants so they can be skipped,
+ * and its span of characters and source lines. Spans are varints relative to
+ * the start of the parent, so most of them take a single byte.
+ *
+ * Layout, with big endian ints:
+ *
+ *   header  MAGIC, Parser.VERSION, nodes, roots, kinds
+ *   kinds   byte length and ASCII rule name        (one per kind)
+ *   nodes   kind byte, then varints: children, descendant bytes, start
+ *           offset after the parent's, characters, start line after the
+ *           parent's, lines after the start line       (one per node)
+ *
+ * Usage: java parser.TreeFile <source file> <tree file>
+ */
+
+package parser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import types.InvalidInputException;
+
+public class TreeFile {
+
+	private static final int MAGIC = 0x4a535431; // "JST1"
+
+	private final ByteBuffer buffer;
+	private final int size;
+	private final int roots;
+	private final String[] kindNames;
+	private final int nodesStart;
+
+	/**
+	 * Constructor reads the header of a tree file in a buffer
+	 *
+	 * @param buffer Contents of a tree file
+	 * @throws IOException if the buffer is not a tree file of this version of the parser
+	 */
+	public TreeFile(ByteBuffer buffer) throws IOException {
+		this.buffer = buffer;
+
+		if (buffer.limit() < 20 || buffer.getInt(0) != MAGIC) throw new IOException("Not a tree file");
+		if (buffer.getInt(4) != Parser.VERSION) throw new IOException("Tree file of another parser version");
+
+		size = buffer.getInt(8);
+		roots = buffer.getInt(12);
+		kindNames = new String[buffer.getInt(16)];
+
+		int position = 20;
+		for (int i = 0; i < kindNames.length; i++) {
+			byte[] name = new byte[buffer.get(position++) & 0xff];
+			buffer.get(position, name);
+			kindNames[i] = new String(name, StandardCharsets.US_ASCII);
+			position += name.length;
+		} // end for
+
+		nodesStart = position;
+	} // end constructor
+
+	/**
+	 * Memory maps a tree file
+	 *
+	 * @param file Tree file
+	 * @return The tree file
+	 * @throws IOException if the file cannot be read or is not a tree file
+	 */
+	public static TreeFile map(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			return new TreeFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		} // end try
+	} // end map()
+
+	/**
+	 * Writes the tree file of the syntax tree of a parser
+	 *
+	 * @param parser Parser in tree mode that parsed its whole input
+	 * @param out Stream for the tree file
+	 * @throws IOException if the stream cannot be written
+	 */
+	public static void write(Parser parser, OutputStream out) throws IOException {
+		SyntaxTree tree = parser.getSyntaxTree();
+		if (tree == null) throw new IllegalStateException("parser is not in tree mode");
+
+		TokenBuffer tokens = parser.tokens;
+		int size = tree.size();
+		int tokenCount = tokens.size();
+		int endOfInput = tokenCount > 0 ? tokens.getEndOffset(tokenCount - 1) : 0;
+
+		// spans of the nodes in characters and source lines
+		int[] startOffsets = new int[size];
+		int[] endOffsets = new int[size];
+		int[] startLines = new int[size];
+		int[] endLines = new int[size];
+		int[] children = new int[size];
+		int roots = 0;
+
+		for (int node = 0; node < size; node++) {
+			int start = tree.getStartToken(node);
+			int end = tree.getEndToken(node);
+
+			startOffsets[node] = start < tokenCount ? tokens.getStartOffset(start) : endOfInput;
+			endOffsets[node] = end > start ? tokens.getEndOffset(end - 1) : startOffsets[node];
+			startLines[node] = tokens.getLineNumber(start);
+			endLines[node] = end > start ? tokens.getLineNumber(end - 1) : startLines[node];
+
+			if (tree.getParent(node) < 0) roots++;
+			else children[tree.getParent(node)]++;
+		} // end for
+
+		// bytes of the descendants of each node, from the last node back, so children come first
+		int[] descendantBytes = new int[size];
+
+		for (int node = size - 1; node >= 0; node--) {
+			int parent = tree.getParent(node);
+			if (parent < 0) continue;
+
+			descendantBytes[parent] += 1 + varintLength(children[node]) + varintLength(descendantBytes[node])
+					+ varintLength(startOffsets[node] - startOffsets[parent])
+					+ varintLength(endOffsets[node] - startOffsets[node])
+					+ varintLength(startLines[node] - startLines[parent])
+					+ varintLength(endLines[node] - startLines[node]) + descendantBytes[node];
+		} // end for
+
+		// kinds numbered in the order they first appear
+		HashMap<String, Integer> kinds = new HashMap<String, Integer>();
+		List<String> kindNames = new ArrayList<String>();
+		ByteArrayOutputStream nodes = new ByteArrayOutputStream();
+
+		for (int node = 0; node < size; node++) {
+			Integer kind = kinds.get(tree.getName(node));
+
+			if (kind == null) {
+				kind = kindNames.size();
+				if (kind > 255) throw new IllegalStateException("more than 256 kinds of nodes");
+				kinds.put(tree.getName(node), kind);
+				kindNames.add(tree.getName(node));
+			} // end if
+
+			int parent = tree.getParent(node);
+			int parentOffset = parent < 0 ? 0 : startOffsets[parent];
+			int parentLine = parent < 0 ? 0 : startLines[parent];
+
+			nodes.write(kind);
+			writeVarint(nodes, children[node]);
+			writeVarint(nodes, descendantBytes[node]);
+			writeVarint(nodes, startOffsets[node] - parentOffset);
+			writeVarint(nodes, endOffsets[node] - startOffsets[node]);
+			writeVarint(nodes, startLines[node] - parentLine);
+			writeVarint(nodes, endLines[node] - startLines[node]);
+		} // end for
+
+		ByteArrayOutputStream header = new ByteArrayOutputStream();
+		ByteBuffer counts = ByteBuffer.allocate(20);
+		counts.putInt(MAGIC).putInt(Parser.VERSION).putInt(size).putInt(roots).putInt(kindNames.size());
+		header.write(counts.array());
+
+		for (String name : kindNames) {
+			byte[] bytes = name.getBytes(StandardCharsets.US_ASCII);
+			header.write(bytes.length);
+			header.write(bytes);
+		} // end for
+
+		header.writeTo(out);
+		nodes.writeTo(out);
+	} // end write()
+
+	/**
+	 * Gets the number of nodes
+	 * @return Number of nodes
+	 */
+	public int size() {
+		return size;
+	} // end size()
+
+	/**
+	 * Gets a cursor before the first node
+	 * @return The cursor
+	 */
+	public Cursor cursor() {
+		return new Cursor();
+	} // end cursor()
+
+	/**
+	 * Gets a cursor before a node, that only visits the node and its
+	 * descendants. Spans are stored relative to the parent, so the absolute
+	 * span of the node is given.
+	 *
+	 * @param position Buffer index of the node, from Cursor.getPosition()
+	 * @param startOffset Character offset of the node
+	 * @param startLine Start line of the node
+	 * @return The cursor
+	 */
+	Cursor cursor(int position, int startOffset, int startLine) {
+		return new Cursor(position, startOffset, startLine);
+	} // end cursor()
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 2) {
+			System.err.println("Usage: java parser.TreeFile <source file> <tree file>");
+			System.exit(2);
+		} // end if
+
+		Parser parser = new Parser(new String(Files.readAllBytes(Paths.get(args[0])), StandardCharsets.UTF_8));
+		parser.setTraceMode(false);
+		parser.setTreeMode(true);
+
+		try {
+			parser.start();
+		} catch (InvalidInputException e) {
+			System.err.print(e.getMessage());
+			System.exit(1);
+		} // end try/catch
+
+		try (OutputStream out = Files.newOutputStream(Paths.get(args[1]))) {
+			write(parser, out);
+		} // end try
+	} // end main()
+
+	// number of bytes of a varint
+	private static int varintLength(int value) {
+		int length = 1;
+
+		while ((value >>>= 7) != 0) {
+			length++;
+		} // end while
+
+		return length;
+	} // end varintLength()
+
+	// writes an int in 7 bit groups, lowest first, with the high bit set on all but the last
+	private static void writeVarint(ByteArrayOutputStream out, int value) {
+		while ((value & ~0x7f) != 0) {
+			out.write((value & 0x7f) | 0x80);
+			value >>>= 7;
+		} // end while
+
+		out.write(value);
+	} // end writeVarint()
+
+	/**
+	 * Position in a tree file, moved over the nodes in the order they were
+	 * entered. The values of the node it is on are read when it moves there.
+	 */
+	public class Cursor {
+
+		private int position = nodesStart; // buffer index of the next node
+		private int nodePosition; // buffer index of the node
+		private boolean onNode;
+		private boolean skip; // true to skip the descendants of the node on the next move
+
+		// ancestors of the next node, with the number of their children still to visit
+		private int top;
+		private int[] remaining = new int[32];
+		private int[] baseOffsets = new int[32];
+		private int[] baseLines = new int[32];
+
+		// values of the node
+		private int kind;
+		private int childCount;
+		private int descendantBytes;
+		private int startOffset;
+		private int length;
+		private int startLine;
+		private int lineCount;
+
+		// absolute span of the first node of a cursor over a subtree, -1 otherwise
+		private int firstOffset = -1;
+		private int firstLine;
+
+		Cursor() {
+			// the roots are the children of an ancestor at offset 0 and line 0
+			remaining[0] = roots;
+			top = 1;
+		} // end constructor
+
+		Cursor(int position, int startOffset, int startLine) {
+			// the node is the only child of an ancestor whose span is not known
+			this.position = position;
+			remaining[0] = 1;
+			top = 1;
+			firstOffset = startOffset;
+			firstLine = startLine;
+		} // end constructor
+
+		/**
+		 * Moves to the next node, which is the first child of the node it is
+		 * on unless skipChildren() was called
+		 * @return False if there are no more nodes
+		 */
+		public boolean next() {
+			if (onNode) {
+				if (skip) {
+					position += descendantBytes;
+				} else if (childCount > 0) {
+					if (top == remaining.length) {
+						remaining = Arrays.copyOf(remaining, top * 2);
+						baseOffsets = Arrays.copyOf(baseOffsets, top * 2);
+						baseLines = Arrays.copyOf(baseLines, top * 2);
+					} // end if
+
+					remaining[top] = childCount;
+					baseOffsets[top] = startOffset;
+					baseLines[top] = startLine;
+					top++;
+				} // end if/else
+			} // end if
+
+			while (top > 1 && remaining[top - 1] == 0) {
+				top--;
+			} // end while
+
+			skip = false;
+			onNode = remaining[top - 1] > 0;
+			if (!onNode) return false;
+
+			remaining[top - 1]--;
+			nodePosition = position;
+			kind = buffer.get(position++) & 0xff;
+			childCount = readVarint();
+			descendantBytes = readVarint();
+			startOffset = baseOffsets[top - 1] + readVarint();
+			length = readVarint();
+			startLine = baseLines[top - 1] + readVarint();
+			lineCount = readVarint();
+
+			if (firstOffset >= 0) {
+				startOffset = firstOffset;
+				startLine = firstLine;
+				firstOffset = -1;
+			} // end if
+
+			return true;
+		} // end next()
+
+		/**
+		 * Makes the next move go past the descendants of the node, to its next
+		 * sibling or the next sibling of an ancestor
+		 */
+		public void skipChildren() {
+			skip = true;
+		} // end skipChildren()
+
+		public String getName() {
+			return kindNames[kind];
+		}
+
+		public int getChildCount() {
+			return childCount;
+		}
+
+		// number of ancestors, or of ancestors below the first node of a cursor over a subtree
+		public int getDepth() {
+			return top - 1;
+		}
+
+		// buffer index of the node, for a cursor over its subtree
+		int getPosition() {
+			return nodePosition;
+		}
+
+		// character offsets of the first character and after the last character
+		public int getStartOffset() {
+			return startOffset;
+		}
+
+		public int getEndOffset() {
+			return startOffset + length;
+		}
+
+		// source lines of the first and last lexeme
+		public int getStartLine() {
+			return startLine;
+		}
+
+		public int getEndLine() {
+			return startLine + lineCount;
+		}
+
+		// reads a varint at the position
+		private int readVarint() {
+			int value = 0;
+
+			for (int shift = 0; ; shift += 7) {
+				byte b = buffer.get(position++);
+				value |= (b & 0x7f) << shift;
+				if (b >= 0) return value;
+			} // end for
+		} // end readVarint()
+
+	} // end Cursor
+
+} // end TreeFile
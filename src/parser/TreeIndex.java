@@ -0,0 +1,538 @@
+/**
+ * Index of the syntax trees of many files for structural search. For every
+ * kind of node, the index keeps a posting list of the nodes of that kind in
+ * all files, so a query only looks at the nodes of the kind it asks for
+ * instead of walking every tree. Files are added after they are parsed in
+ * tree mode, and can be added from several threads.
+ *
+ * The trees and lexemes are not kept as objects. Each file is stored as a
+ * TokenFile and a TreeFile, and a posting is a record of ints: the file, the
+ * node, the kind of its parent, its position in the tree file and its span.
+ * Lexemes and source text are read from the token file when a query asks
+ * for them. An index made with a directory keeps the files there, memory
+ * mapped, and save() writes the posting lists there too, so load() can read
+ * the index back without parsing the files again.
+ */
+
+package parser;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+import types.InvalidInputException;
+import types.Token;
+
+public class TreeIndex {
+
+	private static final int MAGIC = 0x4a545831; // "JTX1"
+	private static final String INDEX_FILE = "index";
+
+	private static final int CLASS_ALLOCATOR = SyntaxTree.kind("class_allocator");
+	private static final int CLASS_BODY_DECLARATION = SyntaxTree.kind("class_body_declaration");
+	private static final int QUALIFIED_IDENTIFIER = SyntaxTree.kind("qualified_identifier");
+
+	// ints of a posting record
+	private static final int FILE = 0;
+	private static final int NODE = 1;
+	private static final int PARENT_KIND = 2; // -1 for a root
+	private static final int POSITION = 3; // buffer index of the node in the tree file
+	private static final int START = 4; // character offsets of the node
+	private static final int END = 5;
+	private static final int LINE = 6;
+	private static final int RECORD = 7;
+
+	private final Path directory; // where the token and tree files are kept, null to keep them in memory
+	private final List<Document> documents = new ArrayList<Document>();
+	private int nextId; // name of the next files in the directory
+	private int[][] postings = new int[0][]; // by kind, records in file then node order
+	private int[] postingCounts = new int[0]; // records of each kind
+
+	/**
+	 * Constructor for an index that keeps the token and tree files of its
+	 * files in memory
+	 */
+	public TreeIndex() {
+		directory = null;
+	} // end constructor
+
+	/**
+	 * Constructor for an empty index that keeps the token and tree files of
+	 * its files in a directory
+	 *
+	 * @param directory Directory for the files, made if needed
+	 * @throws IOException if the directory cannot be made
+	 */
+	public TreeIndex(Path directory) throws IOException {
+		this.directory = directory;
+		Files.createDirectories(directory);
+	} // end constructor
+
+	/**
+	 * Reads an index saved in a directory, mapping the token and tree files
+	 * of its files
+	 *
+	 * @param directory Directory of the index
+	 * @return The index, or an empty index if none was saved or it is for another parser version
+	 * @throws IOException if the index or the files cannot be read
+	 */
+	public static TreeIndex load(Path directory) throws IOException {
+		TreeIndex index = new TreeIndex(directory);
+
+		try (DataInputStream in = new DataInputStream(
+				new BufferedInputStream(Files.newInputStream(directory.resolve(INDEX_FILE))))) {
+			if (in.readInt() != MAGIC || in.readInt() != Parser.VERSION) return index;
+
+			for (int count = in.readInt(); count > 0; count--) {
+				Path path = Paths.get(in.readUTF());
+				int id = in.readInt();
+				index.documents.add(index.map(path, id));
+				index.nextId = Math.max(index.nextId, id + 1);
+			} // end for
+
+			// the numbers of the kinds in this run
+			int[] kinds = new int[in.readInt()];
+			for (int i = 0; i < kinds.length; i++) kinds[i] = SyntaxTree.kind(in.readUTF());
+
+			for (int saved = 0; saved < kinds.length; saved++) {
+				int count = in.readInt();
+				if (count == 0) continue;
+
+				int[] list = new int[count * RECORD];
+
+				for (int i = 0; i < list.length; i++) {
+					list[i] = in.readInt();
+				} // end for
+
+				for (int i = PARENT_KIND; i < list.length; i += RECORD) {
+					if (list[i] >= 0) list[i] = kinds[list[i]];
+				} // end for
+
+				index.growKinds(kinds[saved] + 1);
+				index.postings[kinds[saved]] = list;
+				index.postingCounts[kinds[saved]] = count;
+			} // end for
+		} catch (NoSuchFileException e) {
+			// a new index
+		} // end try/catch
+
+		return index;
+	} // end load()
+
+	/**
+	 * Writes the posting lists to the directory of the index, for load()
+	 *
+	 * @throws IOException if the file cannot be written
+	 * @throws IllegalStateException if the index keeps its files in memory
+	 */
+	public synchronized void save() throws IOException {
+		if (directory == null) throw new IllegalStateException("index has no directory");
+
+		Path temp = Files.createTempFile(directory, INDEX_FILE, ".tmp");
+
+		try {
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(Parser.VERSION);
+				out.writeInt(documents.size());
+
+				for (Document document : documents) {
+					out.writeUTF(document.path.toString());
+					out.writeInt(document.id);
+				} // end for
+
+				// kinds are numbered in the order a run first meets them, so their names are written
+				out.writeInt(postings.length);
+				for (int kind = 0; kind < postings.length; kind++) out.writeUTF(SyntaxTree.kindName(kind));
+
+				for (int kind = 0; kind < postings.length; kind++) {
+					out.writeInt(postingCounts[kind]);
+
+					for (int i = 0; i < postingCounts[kind] * RECORD; i++) {
+						out.writeInt(postings[kind][i]);
+					} // end for
+				} // end for
+			} // end try
+
+			Files.move(temp, directory.resolve(INDEX_FILE), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temp);
+		} // end try/finally
+	} // end save()
+
+	/**
+	 * Parses a file and adds its tree to the index
+	 *
+	 * @param path Path of the file, returned with its matches
+	 * @param source Source of the file
+	 * @throws InvalidInputException if the file does not parse
+	 * @throws IOException if the token and tree files cannot be written to the directory of the index
+	 */
+	public void add(Path path, String source) throws InvalidInputException, IOException {
+		// lexically analyzed once, into the token file the parser reads
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		TokenFile.write(source, bytes);
+		byte[] tokenBytes = bytes.toByteArray();
+
+		TokenFile tokens = new TokenFile(ByteBuffer.wrap(tokenBytes));
+		Parser parser = new Parser(tokens);
+		parser.setTraceMode(false);
+		parser.setTreeMode(true);
+		parser.start();
+
+		bytes.reset();
+		TreeFile.write(parser, bytes);
+		byte[] treeBytes = bytes.toByteArray();
+		TreeFile tree = new TreeFile(ByteBuffer.wrap(treeBytes));
+
+		// a record for each node, from the tree file, in node order
+		int size = tree.size();
+		int[] records = new int[size * RECORD];
+		int[] kinds = new int[size];
+		int[] ancestors = new int[32]; // kinds of the nodes the cursor is in, by depth
+		int kindCount = 0;
+		TreeFile.Cursor cursor = tree.cursor();
+
+		for (int node = 0; cursor.next(); node++) {
+			int kind = SyntaxTree.kind(cursor.getName());
+			int depth = cursor.getDepth();
+			int record = node * RECORD;
+
+			if (depth == ancestors.length) ancestors = Arrays.copyOf(ancestors, depth * 2);
+			ancestors[depth] = kind;
+			kinds[node] = kind;
+			kindCount = Math.max(kindCount, kind + 1);
+
+			records[record + NODE] = node;
+			records[record + PARENT_KIND] = depth > 0 ? ancestors[depth - 1] : -1;
+			records[record + POSITION] = cursor.getPosition();
+			records[record + START] = cursor.getStartOffset();
+			records[record + END] = cursor.getEndOffset();
+			records[record + LINE] = cursor.getStartLine();
+		} // end for
+
+		// the nodes of the file grouped by kind, ahead of taking the lock
+		int[] starts = new int[kindCount + 1];
+		for (int node = 0; node < size; node++) starts[kinds[node] + 1]++;
+		for (int kind = 0; kind < kindCount; kind++) starts[kind + 1] += starts[kind];
+
+		int[] byKind = new int[size];
+		int[] next = Arrays.copyOf(starts, kindCount);
+		for (int node = 0; node < size; node++) byKind[next[kinds[node]]++] = node;
+
+		Document document = directory == null
+				? new Document(path, -1, tree, tokens)
+				: store(path, tokenBytes, treeBytes);
+
+		synchronized (this) {
+			int file = documents.size();
+			documents.add(document);
+			growKinds(kindCount);
+
+			for (int kind = 0; kind < kindCount; kind++) {
+				int count = starts[kind + 1] - starts[kind];
+				if (count == 0) continue;
+
+				int[] list = postings[kind];
+				int length = postingCounts[kind] * RECORD;
+
+				if (list == null) list = new int[Math.max(16, count) * RECORD];
+				else if (length + count * RECORD > list.length) list = Arrays.copyOf(list, Math.max(list.length * 2, length + count * RECORD));
+
+				for (int i = starts[kind]; i < starts[kind + 1]; i++) {
+					System.arraycopy(records, byKind[i] * RECORD, list, length, RECORD);
+					list[length + FILE] = file;
+					length += RECORD;
+				} // end for
+
+				postings[kind] = list;
+				postingCounts[kind] += count;
+			} // end for
+		} // end synchronized
+	} // end add()
+
+	/**
+	 * Gets the number of files in the index
+	 * @return Number of files
+	 */
+	public synchronized int size() {
+		return documents.size();
+	} // end size()
+
+	/**
+	 * Finds the nodes of a kind
+	 * @param kind Rule name, without angle brackets, such as "catch"
+	 * @return The nodes, in file order and then input order
+	 */
+	public List<Match> find(String kind) {
+		return find(kind, match -> true);
+	} // end find()
+
+	/**
+	 * Finds the nodes of a kind that pass a filter
+	 *
+	 * @param kind Rule name, without angle brackets, such as "catch"
+	 * @param filter Test of each node of the kind
+	 * @return The nodes, in file order and then input order
+	 */
+	public List<Match> find(String kind, Predicate<Match> filter) {
+		int k = SyntaxTree.kind(kind);
+		List<Match> matches = new ArrayList<Match>();
+		int[] list;
+		int size;
+		List<Document> files;
+
+		synchronized (this) {
+			if (k >= postings.length || postings[k] == null) return matches;
+			list = postings[k];
+			size = postingCounts[k];
+			files = new ArrayList<Document>(documents);
+		} // end synchronized
+
+		for (int i = 0; i < size; i++) {
+			Match match = new Match(files.get(list[i * RECORD + FILE]), k, list, i * RECORD);
+			if (filter.test(match)) matches.add(match);
+		} // end for
+
+		return matches;
+	} // end find()
+
+	/**
+	 * Finds the calls of methods with a name, such as "print" in
+	 * "System.out.print(x)". Constructor calls are not included.
+	 *
+	 * @param name Method name
+	 * @return The argument lists of the calls
+	 */
+	public List<Match> findMethodInvocations(String name) {
+		return find("arguments", match -> {
+			int start = match.file.tokenAt(match.start);
+			if (start == 0 || match.parentKind == CLASS_ALLOCATOR) return false;
+
+			TokenFile tokens = match.file.tokens;
+			return tokens.getLexeme(start - 1).getToken() == Token.IDENTIFIER
+					&& tokens.getLexeme(start - 1).getLexeme().equals(name);
+		});
+	} // end findMethodInvocations()
+
+	/**
+	 * Finds the field declarations of a type, written as in the source without
+	 * spaces, such as "List<String>", or without its type arguments, such as "List"
+	 *
+	 * @param type Type of the fields
+	 * @return The declarations, from the type to the semicolon
+	 */
+	public List<Match> findFields(String type) {
+		List<Match> fields = new ArrayList<Match>();
+		List<Match> declarations = find("class_body_declaration");
+		int last = 0; // declarations are in the same order as the fields
+
+		// field declarations are the part of a class body declaration after the name
+		for (Match match : find("field_declaration", match -> match.parentKind == CLASS_BODY_DECLARATION)) {
+			// the parent is the last declaration before the field that contains it
+			while (last < declarations.size() && declarations.get(last).before(match)) last++;
+
+			int parent = last - 1;
+			while (parent >= 0 && !declarations.get(parent).contains(match)) parent--;
+			if (parent < 0) continue;
+
+			Match declaration = declarations.get(parent);
+			Document file = match.file;
+			String declared = file.lexemes(file.tokenAt(declaration.start), file.tokenAt(match.start) - 1);
+
+			if (declared.equals(type) || declared.replaceAll("<.*>", "").equals(type)) {
+				fields.add(declaration);
+			} // end if
+		} // end for
+
+		return fields;
+	} // end findFields()
+
+	/**
+	 * Finds the catch clauses of an exception type, given by its simple or
+	 * qualified name
+	 *
+	 * @param type Exception type, such as "IOException"
+	 * @return The catch clauses
+	 */
+	public List<Match> findCatches(String type) {
+		return find("catch", match -> {
+			TreeFile.Cursor caught = match.child(QUALIFIED_IDENTIFIER);
+			if (caught == null) return false;
+
+			Document file = match.file;
+			String name = file.lexemes(file.tokenAt(caught.getStartOffset()), file.tokenAt(caught.getEndOffset()));
+			return name.equals(type) || name.endsWith("." + type);
+		});
+	} // end findCatches()
+
+	// makes room in the posting lists for the kinds below a count
+	private void growKinds(int kindCount) {
+		if (postings.length < kindCount) {
+			postings = Arrays.copyOf(postings, kindCount);
+			postingCounts = Arrays.copyOf(postingCounts, kindCount);
+		} // end if
+	} // end growKinds()
+
+	// writes the token and tree files of a file to the directory, and maps them
+	private Document store(Path path, byte[] tokenBytes, byte[] treeBytes) throws IOException {
+		int id;
+		synchronized (this) {
+			id = nextId++;
+		} // end synchronized
+
+		try (OutputStream out = Files.newOutputStream(directory.resolve(id + ".tokens"))) {
+			out.write(tokenBytes);
+		} // end try
+
+		try (OutputStream out = Files.newOutputStream(directory.resolve(id + ".tree"))) {
+			out.write(treeBytes);
+		} // end try
+
+		return map(path, id);
+	} // end store()
+
+	// maps the token and tree files of a file in the directory
+	private Document map(Path path, int id) throws IOException {
+		return new Document(path, id, TreeFile.map(directory.resolve(id + ".tree")),
+				TokenFile.map(directory.resolve(id + ".tokens")));
+	} // end map()
+
+	// a file in the index
+	private static class Document {
+
+		final Path path;
+		final int id; // name of its files in the directory of the index, -1 if in memory
+		final TreeFile tree;
+		final TokenFile tokens;
+
+		Document(Path path, int id, TreeFile tree, TokenFile tokens) {
+			this.path = path;
+			this.id = id;
+			this.tree = tree;
+			this.tokens = tokens;
+		} // end constructor
+
+		// token index of the first lexeme that ends after a character offset
+		int tokenAt(int offset) {
+			int low = 0;
+			int high = tokens.size();
+
+			while (low < high) {
+				int middle = (low + high) >>> 1;
+				if (tokens.getEndOffset(middle) <= offset) low = middle + 1;
+				else high = middle;
+			} // end while
+
+			return low;
+		} // end tokenAt()
+
+		// the lexemes of a range of tokens, without the whitespace and comments between them
+		String lexemes(int start, int end) {
+			StringBuilder text = new StringBuilder();
+			for (int i = start; i < end; i++) text.append(tokens.getLexeme(i).getLexeme());
+			return text.toString();
+		} // end lexemes()
+
+	} // end Document
+
+	/**
+	 * A node found by a query
+	 */
+	public static class Match {
+
+		private final Document file;
+		private final int fileNumber;
+		private final int kind;
+		private final int node;
+		private final int parentKind;
+		private final int position;
+		private final int start;
+		private final int end;
+		private final int line;
+
+		Match(Document file, int kind, int[] list, int record) {
+			this.file = file;
+			this.kind = kind;
+			fileNumber = list[record + FILE];
+			node = list[record + NODE];
+			parentKind = list[record + PARENT_KIND];
+			position = list[record + POSITION];
+			start = list[record + START];
+			end = list[record + END];
+			line = list[record + LINE];
+		} // end constructor
+
+		public Path getPath() {
+			return file.path;
+		}
+
+		// node number in the SyntaxTree of the file
+		public int getNode() {
+			return node;
+		}
+
+		public String getName() {
+			return SyntaxTree.kindName(kind);
+		}
+
+		// source line of the first lexeme
+		public int getLine() {
+			return line;
+		}
+
+		/**
+		 * Gets the source text of the node, decoding the source of the file
+		 * the first time the text of one of its nodes is asked for
+		 * @return The text, including comments inside it
+		 */
+		public String getText() {
+			return end > start ? file.tokens.getSource().substring(start, end) : "";
+		} // end getText()
+
+		// checks if the node comes before another in the index
+		private boolean before(Match other) {
+			return fileNumber != other.fileNumber ? fileNumber < other.fileNumber : node < other.node;
+		} // end before()
+
+		// checks if another node of the same file is a descendant
+		private boolean contains(Match other) {
+			return file == other.file && node < other.node && start <= other.start && other.end <= end;
+		} // end contains()
+
+		// cursor on the first child of a kind, or null if there is none
+		private TreeFile.Cursor child(int kind) {
+			TreeFile.Cursor cursor = file.tree.cursor(position, start, line);
+			cursor.next();
+
+			while (cursor.next()) {
+				if (SyntaxTree.kind(cursor.getName()) == kind) return cursor;
+				cursor.skipChildren();
+			} // end while
+
+			return null;
+		} // end child()
+
+		@Override
+		public String toString() {
+			return String.format("%s:%d: %s", file.path, getLine(), getText().replaceAll("\\s+", " "));
+		}
+
+	} // end Match
+
+} // end TreeIndex
@@ -14,10 +14,12 @@ public enum Token {
 	INT_LITERAL,		// numbers
 	STRING_LITERAL,		// string of characters surrounded by double quotes
 	CHAR_LITERAL,		// character surrounded by single quotes
-	RESERVED_WORD,		// goto, const
+	RESERVED_WORD,		// goto, const, or a comment or literal the input ends inside of
 	PRIMITIVE_TYPE,		// boolean, byte, char, short, int, long, float, double
-	MODIFIER,			/* public, private, protected, static, abstract, final, native,
-						synchronized, transient, volatile, scrictfp, @IDENTIFIER */
+	MODIFIER,			/* public, private, protected, abstract, final, native,
+						transient, volatile, scrictfp, @IDENTIFIER */
+	MODIFIER_STATIC,		// static
+	MODIFIER_SYNCHRONIZED,	// synchronized
 
 	/* keywords */
 	KEYWORD_ASSERT,		// assert
@@ -65,7 +67,9 @@ public enum Token {
 
 	/* operators */
 	ASSIGNMENT_OPERATOR,// =, +=, -=, *=, /=, &=, |=, ^=, %=
-	INFIX_OPERATOR,		// ||, &&, |, ^, &, ==, !=, *, /, %
+	INFIX_OPERATOR,		// ||, &&, |, ^, ==, !=, /, %
+	OPERATOR_MULTIPLY,	// *
+	OPERATOR_AMPERSAND,	// &
 	PREFIX_OPERATOR,	// !, ~
 	OPERATOR_PLUS,		// +
 	OPERATOR_MINUS,		// -
@@ -79,5 +83,32 @@ public enum Token {
 	COLON,				// :
 	DOT,				// .
 	BACKSLASH,			// /
+	;
+
+	static {
+		// token sets are bitmasks in a long
+		if (values().length > Long.SIZE)
+			throw new IllegalStateException("Too many tokens for a token set");
+	} // end static
+
+	/**
+	 * Gets a token set containing the given tokens, to be tested with in()
+	 * @param tokens Tokens in the set
+	 * @return The set as a bitmask over the token ordinals
+	 */
+	public static long set(Token... tokens) {
+		long set = 0;
+		for (Token token : tokens) set |= 1L << token.ordinal();
+		return set;
+	} // end set()
+
+	/**
+	 * Checks if this token is in a token set
+	 * @param set Token set created by set()
+	 * @return True if the token is in the set
+	 */
+	public boolean in(long set) {
+		return (set & (1L << ordinal())) != 0;
+	} // end in()
 
 } // end enum